@@ -30,6 +30,15 @@ public class ArtifactsRefreshPolicyConfiguration
     @JsonProperty
     IncludeProjectPropertiesConfiguration includeProjectPropertiesConfiguration;
 
+    @JsonProperty
+    long dependenciesMemoMaximumSize = 10000;
+
+    @JsonProperty
+    long dependenciesMemoExpiryInMillis = ONE_HOUR;
+
+    @JsonProperty
+    int artifactsRefreshThreads = 3;
+
     @JsonCreator
     public ArtifactsRefreshPolicyConfiguration(@JsonProperty(value = "versionsUpdateIntervalInMillis") Long versionsUpdateIntervalInMillis,
                                                @JsonProperty(value = "includeProjectPropertiesConfiguration") IncludeProjectPropertiesConfiguration includeProjectPropertiesConfiguration)
@@ -52,4 +61,34 @@ public class ArtifactsRefreshPolicyConfiguration
     {
         return includeProjectPropertiesConfiguration;
     }
+
+    public long getDependenciesMemoMaximumSize()
+    {
+        return dependenciesMemoMaximumSize;
+    }
+
+    public void setDependenciesMemoMaximumSize(long dependenciesMemoMaximumSize)
+    {
+        this.dependenciesMemoMaximumSize = dependenciesMemoMaximumSize;
+    }
+
+    public long getDependenciesMemoExpiryInMillis()
+    {
+        return dependenciesMemoExpiryInMillis;
+    }
+
+    public void setDependenciesMemoExpiryInMillis(long dependenciesMemoExpiryInMillis)
+    {
+        this.dependenciesMemoExpiryInMillis = dependenciesMemoExpiryInMillis;
+    }
+
+    public int getArtifactsRefreshThreads()
+    {
+        return artifactsRefreshThreads;
+    }
+
+    public void setArtifactsRefreshThreads(int artifactsRefreshThreads)
+    {
+        this.artifactsRefreshThreads = artifactsRefreshThreads;
+    }
 }
@@ -36,6 +36,11 @@ public class ProjectArtifactHandlerFactory
         instance.artifactHandlers.put(artifactType, provider);
     }
 
+    public static void latestVersionUpdated(String groupId, String artifactId, String versionId)
+    {
+        instance.artifactHandlers.values().forEach(handler -> handler.latestVersionUpdated(groupId, artifactId, versionId));
+    }
+
     public static ProjectArtifactsHandler getArtifactHandler(ArtifactType artifactType)
     {
         return instance.artifactHandlers.get(artifactType);
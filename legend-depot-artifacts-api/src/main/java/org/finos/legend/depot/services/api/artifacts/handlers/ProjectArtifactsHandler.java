@@ -26,4 +26,8 @@ public interface ProjectArtifactsHandler
     MetadataNotificationResponse refreshProjectVersionArtifacts(String groupId, String artifactId, String versionId, List<File> files);
 
     void delete(String groupId, String artifactId, String versionId);
+
+    default void latestVersionUpdated(String groupId, String artifactId, String versionId)
+    {
+    }
 }
@@ -84,7 +84,12 @@ public abstract class AbstractEntityRefreshHandlerImpl
                     response.addMessage("deleted " + getEntitiesApi().delete(groupId, artifactId,versionId));
                     LOGGER.info(message);
                 }
-                getEntitiesApi().createOrUpdate(groupId, artifactId, versionId, entityList);
+                List<String> errors = getEntitiesApi().createOrUpdate(groupId, artifactId, versionId, entityList);
+                errors.forEach(error ->
+                {
+                    response.addError(error);
+                    LOGGER.error(error);
+                });
             }
             else
             {
@@ -43,4 +43,10 @@ public class EntitiesHandlerImpl extends AbstractEntityRefreshHandlerImpl implem
     {
         super.deleteByVersion(groupId,artifactId,versionId);
     }
+
+    @Override
+    public void latestVersionUpdated(String groupId, String artifactId, String versionId)
+    {
+        getEntitiesApi().markLatestVersion(groupId, artifactId, versionId);
+    }
 }
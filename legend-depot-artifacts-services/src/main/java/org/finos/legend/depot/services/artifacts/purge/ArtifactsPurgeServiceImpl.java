@@ -123,10 +123,32 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
             });
             PrometheusMetricsFactory.getInstance().incrementCount(VERSION_DELETE_COUNTER);
             LOGGER.info(String.format("%s-%s-%s artifacts deleted", groupId, artifactId, versionId));
-            return projects.delete(groupId, artifactId, versionId);
+            long deleted = projects.delete(groupId, artifactId, versionId);
+            latestVersionDeleted(groupId, artifactId, versionId);
+            return deleted;
         },decorateSpanWithVersionInfo(groupId, artifactId, versionId));
     }
 
+    private void latestVersionDeleted(String groupId, String artifactId, String versionId)
+    {
+        // the latest version flag kept with the artifacts moves to the release that takes over as latest
+        Optional<StoreProjectData> found = projects.findCoordinates(groupId, artifactId);
+        if (found.isEmpty() || !versionId.equals(found.get().getLatestVersion()))
+        {
+            return;
+        }
+        StoreProjectData project = found.get();
+        // same rule as the latest version sync, so purge and reconciliation agree on the latest release
+        String latestVersion = projects.getVersionsIndex(groupId, artifactId).getLatestActiveRelease().orElse(null);
+        project.setLatestVersion(latestVersion);
+        projects.createOrUpdate(project);
+        LOGGER.info(String.format("%s-%s latest version moved from %s to %s", groupId, artifactId, versionId, latestVersion));
+        if (latestVersion != null)
+        {
+            ProjectArtifactHandlerFactory.latestVersionUpdated(groupId, artifactId, latestVersion);
+        }
+    }
+
     @Override
     public String deleteSnapshotVersions(String groupId, String artifactId, List<String> versions)
     {
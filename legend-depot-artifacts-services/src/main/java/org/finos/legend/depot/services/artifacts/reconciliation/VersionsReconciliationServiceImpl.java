@@ -16,13 +16,13 @@
 package org.finos.legend.depot.services.artifacts.reconciliation;
 
 import org.eclipse.collections.impl.parallel.ParallelIterate;
+import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
-import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionMismatch;
-import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 
@@ -31,10 +31,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
-import static java.util.Collections.max;
 import static java.util.Collections.synchronizedList;
 
 public class VersionsReconciliationServiceImpl implements VersionsReconciliationService
@@ -79,15 +79,15 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
         {
             try
             {
-                final List<StoreProjectVersionData> projectVersions = projects.find(p.getGroupId(), p.getArtifactId());
-                List<String> storeVersions = projectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
+                final ProjectVersionsIndex projectVersions = projects.getVersionsIndex(p.getGroupId(), p.getArtifactId());
+                List<String> storeVersions = projectVersions.getReleases().stream().map(ProjectVersionsIndex.Entry::getVersionId).collect(Collectors.toList());
                 storeVersionsCount.addAndGet(storeVersions.size());
                 final List<String> repositoryVersions = repository.findVersions(p.getGroupId(), p.getArtifactId()).stream().map(v -> v.toVersionIdString()).collect(Collectors.toList());
                 repoVersions.addAndGet(repositoryVersions.size());
 
                 //check evicted versions
-                long noOfEvictedVersions = projectVersions.stream().filter(pv -> pv.isEvicted()).count();
-                long noOfExcludedVersions = projectVersions.stream().filter(pv -> pv.getVersionData().isExcluded()).count();
+                long noOfEvictedVersions = projectVersions.getEntries().stream().filter(ProjectVersionsIndex.Entry::isEvicted).count();
+                long noOfExcludedVersions = projectVersions.getEntries().stream().filter(ProjectVersionsIndex.Entry::isExcluded).count();
                 evictedVersionsCount.addAndGet(noOfEvictedVersions);
                 excludedVersionsCount.addAndGet(noOfExcludedVersions);
 
@@ -144,14 +144,12 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
         {
             try
             {
-                final List<StoreProjectVersionData> activeProjectVersions = projects.find(p.getGroupId(), p.getArtifactId()).stream()
-                        .filter(pv -> !pv.getVersionData().isExcluded() && !pv.isEvicted() && !pv.getVersionData().isDeprecated()).collect(Collectors.toList());
-
-                List<String> activeStoreVersions = activeProjectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
-                if (!activeStoreVersions.isEmpty() && p.evaluateLatestVersionAndUpdate(max(activeStoreVersions)))
+                Optional<String> latestActiveVersion = projects.getVersionsIndex(p.getGroupId(), p.getArtifactId()).getLatestActiveRelease();
+                if (latestActiveVersion.isPresent() && p.evaluateLatestVersionAndUpdate(latestActiveVersion.get()))
                 {
-                    LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), max(activeStoreVersions));
+                    LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), latestActiveVersion.get());
                     projects.createOrUpdate(p);
+                    ProjectArtifactHandlerFactory.latestVersionUpdated(p.getGroupId(), p.getArtifactId(), p.getLatestVersion());
                     projectsWithUpdatedLatestVersion.add(p);
                 }
             }
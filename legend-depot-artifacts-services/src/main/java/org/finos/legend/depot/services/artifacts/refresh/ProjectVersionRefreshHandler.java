@@ -52,11 +52,15 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 import java.util.jar.Manifest;
 import java.util.stream.Collectors;
@@ -69,6 +73,9 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     public static final String VERSION_REFRESH_DURATION = "versionRefresh_duration";
     public static final String VERSION_REFRESH_DURATION_HELP = "version refresh duration";
     public static final String TOTAL_NUMBER_OF_VERSIONS_REFRESH = "total number of versions refresh";
+    public static final String VERSION_REFRESH_ARTIFACTS_DURATION = "versionRefresh_artifacts_duration";
+    public static final String VERSION_REFRESH_ARTIFACTS_DURATION_HELP = "version refresh duration per artifact type";
+    public static final String ARTIFACT_TYPE_LABEL = "artifactType";
 
 
     private static final String PROCESS_EVENT = "processNotification";
@@ -85,11 +92,18 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private final Queue workQueue;
     private final RefreshDependenciesService refreshDependenciesService;
     private final int maximumSnapshotsAllowed;
+    private final Executor artifactsRefreshExecutor;
 
 
+    public ProjectVersionRefreshHandler(ManageProjectsService projects, ArtifactRepository repositoryServices, Queue workQueue, ArtifactsFilesStore artifacts, IncludeProjectPropertiesConfiguration includePropertyConfig, RefreshDependenciesService refreshDependenciesService, int maximumSnapshotsAllowed)
+    {
+        this(projects, repositoryServices, workQueue, artifacts, includePropertyConfig, refreshDependenciesService, maximumSnapshotsAllowed, Runnable::run);
+    }
+
     @Inject
-    public ProjectVersionRefreshHandler(ManageProjectsService projects, ArtifactRepository repositoryServices, Queue workQueue, ArtifactsFilesStore artifacts, IncludeProjectPropertiesConfiguration includePropertyConfig, RefreshDependenciesService refreshDependenciesService, @Named("maximumSnapshotsAllowed") int maximumSnapshotsAllowed)
+    public ProjectVersionRefreshHandler(ManageProjectsService projects, ArtifactRepository repositoryServices, Queue workQueue, ArtifactsFilesStore artifacts, IncludeProjectPropertiesConfiguration includePropertyConfig, RefreshDependenciesService refreshDependenciesService, @Named("maximumSnapshotsAllowed") int maximumSnapshotsAllowed, @Named("artifactsRefreshExecutor") Executor artifactsRefreshExecutor)
     {
+        this.artifactsRefreshExecutor = artifactsRefreshExecutor;
         this.projects = projects;
         this.workQueue = workQueue;
         this.artifacts = artifacts;
@@ -235,7 +249,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
                 {
                     LOGGER.info("Processing artifacts for [{}-{}-{}]", event.getGroupId(), event.getArtifactId(), event.getVersionId());
 
-                    ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType -> response.combine(handleArtifacts(artifactType, project, event.getVersionId(), event.isFullUpdate())));
+                    response.combine(handleArtifacts(project, event.getVersionId(), event.isFullUpdate()));
                     LOGGER.info("Finished processing artifacts for [{}-{}-{}]", event.getGroupId(), event.getArtifactId(), event.getVersionId());
                     if (!response.hasErrors())
                     {
@@ -310,6 +324,10 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         {
             projects.createOrUpdate(projectData);
         }
+        if (versionId.equals(projectData.getLatestVersion()))
+        {
+            ProjectArtifactHandlerFactory.latestVersionUpdated(projectData.getGroupId(), projectData.getArtifactId(), versionId);
+        }
     }
 
     private String queueWorkToRefreshProjectVersion(StoreProjectData projectData, String versionId, boolean fullUpdate, boolean transitive, String parentEvent)
@@ -391,6 +409,53 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         return response;
     }
 
+    private MetadataNotificationResponse handleArtifacts(StoreProjectData project, String versionId, boolean fullUpdate)
+    {
+        // artifact types are loaded from their own files and stored independently, so they can be refreshed concurrently;
+        // responses are then combined in artifact type order, whatever order the refreshes complete in
+        Map<ArtifactType, CompletableFuture<MetadataNotificationResponse>> refreshes = new EnumMap<>(ArtifactType.class);
+        ProjectArtifactHandlerFactory.getSupportedTypes().forEach(artifactType ->
+                refreshes.put(artifactType, CompletableFuture.supplyAsync(TracerFactory.get().withActiveSpan(() -> handleArtifactsWithMetrics(artifactType, project, versionId, fullUpdate)), artifactsRefreshExecutor)));
+
+        // wait for every refresh to finish, failed or not, before reporting
+        CompletableFuture.allOf(refreshes.values().toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+
+        MetadataNotificationResponse response = new MetadataNotificationResponse();
+        refreshes.values().forEach(refresh ->
+        {
+            try
+            {
+                response.combine(refresh.join());
+            }
+            catch (CompletionException e)
+            {
+                if (e.getCause() instanceof RuntimeException)
+                {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error)
+                {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        });
+        return response;
+    }
+
+    private MetadataNotificationResponse handleArtifactsWithMetrics(ArtifactType artifactType, StoreProjectData project, String versionId, boolean fullUpdate)
+    {
+        long startTime = System.currentTimeMillis();
+        try
+        {
+            return handleArtifacts(artifactType, project, versionId, fullUpdate);
+        }
+        finally
+        {
+            PrometheusMetricsFactory.getInstance().observeHistogram(VERSION_REFRESH_ARTIFACTS_DURATION, startTime, System.currentTimeMillis(), artifactType.name());
+        }
+    }
+
     private MetadataNotificationResponse handleArtifacts(ArtifactType artifactType, StoreProjectData project, String versionId, boolean fullUpdate)
     {
         MetadataNotificationResponse response = new MetadataNotificationResponse();
@@ -43,13 +43,20 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
     private final ManageProjectsService projects;
     private final ArtifactRepository repositoryServices;
     private final DependencyOverride dependencyOverride;
+    private final TransitiveDependenciesMemo memo;
 
     @Inject
-    public RefreshDependenciesServiceImpl(ManageProjectsService projects, ArtifactRepository repositoryServices,@Named("dependencyOverride") DependencyOverride dependencyOverride)
+    public RefreshDependenciesServiceImpl(ManageProjectsService projects, ArtifactRepository repositoryServices, @Named("dependencyOverride") DependencyOverride dependencyOverride, TransitiveDependenciesMemo memo)
     {
         this.projects = projects;
         this.repositoryServices = repositoryServices;
         this.dependencyOverride = dependencyOverride;
+        this.memo = memo;
+    }
+
+    public RefreshDependenciesServiceImpl(ManageProjectsService projects, ArtifactRepository repositoryServices, DependencyOverride dependencyOverride)
+    {
+        this(projects, repositoryServices, dependencyOverride, TransitiveDependenciesMemo.disabled());
     }
 
     @Override
@@ -65,6 +72,11 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
 
 
     private VersionDependencyReport calculateTransitiveDependencies(List<ProjectVersion> projectVersions)
+    {
+        return this.memo.getReport(projectVersions, () -> this.doCalculateTransitiveDependencies(projectVersions));
+    }
+
+    private VersionDependencyReport doCalculateTransitiveDependencies(List<ProjectVersion> projectVersions)
     {
         Set<ProjectVersion> projectDependencies = new HashSet<>();
         try
@@ -90,7 +102,7 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
                 else
                 {
                     LOGGER.info(String.format("Finding dependencies for %s-%s-%s as no data is present in the store", deps.getGroupId(), deps.getArtifactId(), deps.getVersionId()));
-                    List<ProjectVersion> dependencies = this.retrieveDependenciesFromRepository(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId());
+                    List<ProjectVersion> dependencies = this.memo.getRepositoryDependencies(deps, () -> this.retrieveDependenciesFromRepository(deps.getGroupId(), deps.getArtifactId(), deps.getVersionId()));
                     projectDependencies.addAll(dependencies);
                     VersionDependencyReport report = calculateTransitiveDependencies(dependencies);
                     if (!report.isValid())
@@ -157,6 +169,8 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
 
     public void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData)
     {
+        // the version is being refreshed, calculations that went through its previous data are stale
+        this.memo.invalidate(new ProjectVersion(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId()));
         projectData.setTransitiveDependenciesReport(calculateTransitiveDependencies(projectData.getVersionData().getDependencies()));
     }
 }
@@ -0,0 +1,114 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.artifacts.refresh;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
+import org.finos.legend.depot.domain.version.VersionValidator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded memo of transitive dependency calculations shared by every refresh this instance runs. Only calculations over
+ * released versions are kept, as snapshot dependencies can change between two events, and invalid reports are never
+ * kept so that a later event can retry them. Refreshing a version drops every calculation it took part in; entries
+ * also expire so that versions refreshed or purged through another instance are eventually picked up.
+ */
+public class TransitiveDependenciesMemo
+{
+    private static final String NAME = "transitive_dependencies_memo";
+    private static final String HITS = "_hits";
+    private static final String MISSES = "_misses";
+
+    private final Cache<List<ProjectVersion>, VersionDependencyReport> reports;
+    private final Cache<ProjectVersion, List<ProjectVersion>> repositoryDependencies;
+
+    public TransitiveDependenciesMemo(long maximumSize, long expiryInMillis)
+    {
+        this.reports = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expiryInMillis, TimeUnit.MILLISECONDS).build() : null;
+        this.repositoryDependencies = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expiryInMillis, TimeUnit.MILLISECONDS).build() : null;
+    }
+
+    public static TransitiveDependenciesMemo disabled()
+    {
+        return new TransitiveDependenciesMemo(0, 0);
+    }
+
+    public VersionDependencyReport getReport(List<ProjectVersion> projectVersions, Supplier<VersionDependencyReport> calculation)
+    {
+        if (reports == null || !projectVersions.stream().allMatch(pv -> VersionValidator.isValidReleaseVersion(pv.getVersionId())))
+        {
+            return calculation.get();
+        }
+        List<ProjectVersion> key = Collections.unmodifiableList(new ArrayList<>(projectVersions));
+        VersionDependencyReport report = reports.getIfPresent(key);
+        if (report != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(NAME + HITS);
+            return copy(report);
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(NAME + MISSES);
+        report = calculation.get();
+        if (report.isValid())
+        {
+            reports.put(key, copy(report));
+        }
+        return report;
+    }
+
+    public List<ProjectVersion> getRepositoryDependencies(ProjectVersion projectVersion, Supplier<List<ProjectVersion>> retrieval)
+    {
+        if (repositoryDependencies == null || !VersionValidator.isValidReleaseVersion(projectVersion.getVersionId()))
+        {
+            return retrieval.get();
+        }
+        List<ProjectVersion> dependencies = repositoryDependencies.getIfPresent(projectVersion);
+        if (dependencies == null)
+        {
+            dependencies = retrieval.get();
+            repositoryDependencies.put(projectVersion, Collections.unmodifiableList(new ArrayList<>(dependencies)));
+            return dependencies;
+        }
+        return new ArrayList<>(dependencies);
+    }
+
+    public void invalidate(ProjectVersion projectVersion)
+    {
+        if (reports == null || !VersionValidator.isValidReleaseVersion(projectVersion.getVersionId()))
+        {
+            return;
+        }
+        reports.asMap().entrySet().removeIf(entry -> entry.getKey().contains(projectVersion) || entry.getValue().getTransitiveDependencies().contains(projectVersion));
+        repositoryDependencies.invalidate(projectVersion);
+    }
+
+    private static VersionDependencyReport copy(VersionDependencyReport report)
+    {
+        return new VersionDependencyReport(new ArrayList<>(report.getTransitiveDependencies()), report.isValid());
+    }
+
+    long size()
+    {
+        return reports == null ? 0 : reports.size() + repositoryDependencies.size();
+    }
+}
@@ -36,7 +36,9 @@ import org.finos.legend.depot.services.artifacts.refresh.ArtifactsRefreshService
 import org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler;
 import org.finos.legend.depot.services.artifacts.reconciliation.VersionsReconciliationServiceImpl;
 import org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl;
+import org.finos.legend.depot.services.artifacts.refresh.TransitiveDependenciesMemo;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
+import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRefreshPolicyConfiguration;
 import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntitiesArtifactsHandler;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntityArtifactsProvider;
@@ -46,7 +48,16 @@ import org.finos.legend.depot.services.api.artifacts.handlers.generations.FileGe
 import org.finos.legend.depot.services.api.artifacts.handlers.generations.FileGenerationsArtifactsProvider;
 import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
 
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.ARTIFACT_TYPE_LABEL;
+
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.TOTAL_NUMBER_OF_VERSIONS_REFRESH;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_ARTIFACTS_DURATION;
+import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_ARTIFACTS_DURATION_HELP;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_COUNTER;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION_HELP;
@@ -129,9 +140,35 @@ public class ArtifactsServicesModule extends PrivateModule
     {
         metricsHandler.registerCounter(VERSION_REFRESH_COUNTER, TOTAL_NUMBER_OF_VERSIONS_REFRESH);
         metricsHandler.registerHistogram(VERSION_REFRESH_DURATION, VERSION_REFRESH_DURATION_HELP);
+        metricsHandler.registerHistogram(VERSION_REFRESH_ARTIFACTS_DURATION, VERSION_REFRESH_ARTIFACTS_DURATION_HELP, Collections.singletonList(ARTIFACT_TYPE_LABEL));
         return true;
     }
 
+    @Provides
+    @Singleton
+    @Named("artifactsRefreshExecutor")
+    Executor getArtifactsRefreshExecutor(ArtifactsRefreshPolicyConfiguration configuration)
+    {
+        if (configuration.getArtifactsRefreshThreads() <= 1)
+        {
+            return Runnable::run;
+        }
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(configuration.getArtifactsRefreshThreads(), runnable ->
+        {
+            Thread thread = new Thread(runnable, "artifacts-refresh-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Provides
+    @Singleton
+    TransitiveDependenciesMemo getTransitiveDependenciesMemo(ArtifactsRefreshPolicyConfiguration configuration)
+    {
+        return new TransitiveDependenciesMemo(configuration.getDependenciesMemoMaximumSize(), configuration.getDependenciesMemoExpiryInMillis());
+    }
+
     @Provides
     @Singleton
     @Named("maximumSnapshotsAllowed")
@@ -28,6 +28,8 @@ import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.entities.EntitiesCache;
 import org.finos.legend.depot.services.entities.ManageEntitiesServiceImpl;
 import org.finos.legend.depot.services.generations.impl.ManageFileGenerationsServiceImpl;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
@@ -53,6 +55,7 @@ import org.finos.legend.depot.store.mongo.projects.ProjectsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.store.mongo.generations.TestGenerationsStoreMongo;
+import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -63,6 +66,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Date;
 import java.util.Collections;
+import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 import static org.mockito.Mockito.mock;
@@ -131,6 +135,86 @@ public class TestArtifactsPurgeService extends TestBaseServices
         Assertions.assertEquals(2, entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0").size());
     }
 
+    @Test
+    public void evictAndDeleteInvalidateCachedEntities()
+    {
+        EntitiesCache cache = new EntitiesCache("test_entities_cache", 10_000_000);
+        ManageEntitiesService cachedService = new ManageEntitiesServiceImpl(entitiesStore, projectsService, new EntitiesConfiguration(), cache);
+        ProjectArtifactHandlerFactory.registerArtifactHandler(ArtifactType.ENTITIES, new EntitiesHandlerImpl(cachedService, mock(EntityProvider.class)));
+
+        Assertions.assertEquals(2, cachedService.getEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").size());
+        Assertions.assertEquals(2, cachedService.getEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0").size());
+        Assertions.assertTrue(cache.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", null).isPresent());
+
+        purgeService.evict(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0");
+        Assertions.assertFalse(cache.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", null).isPresent());
+
+        purgeService.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0");
+        Assertions.assertFalse(cache.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0", null).isPresent());
+    }
+
+    @Test
+    public void deletingTheLatestVersionMovesTheLatestVersionFlag()
+    {
+        String CPATH = "meta::pure::metamodel::type::Class";
+        projectsStore.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID);
+        projectsStore.createOrUpdate(new StoreProjectData("PROD-1", TEST_GROUP_ID, TEST_ARTIFACT_ID, null, "2.3.0"));
+
+        ProjectArtifactHandlerFactory.latestVersionUpdated(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0");
+        Assertions.assertEquals(Collections.singletonList("2.3.0"), latestVersionIds(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null)));
+
+        purgeService.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0");
+        Assertions.assertEquals("2.2.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+        Assertions.assertEquals(Collections.singletonList("2.2.0"), latestVersionIds(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null)));
+
+        // deleting a version that is not the latest leaves the flag where it is
+        purgeService.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0");
+        Assertions.assertEquals("2.2.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+        Assertions.assertEquals(Collections.singletonList("2.2.0"), latestVersionIds(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null)));
+    }
+
+    @Test
+    public void deletingTheLatestVersionSkipsEvictedReleases()
+    {
+        projectsStore.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID);
+        projectsStore.createOrUpdate(new StoreProjectData("PROD-1", TEST_GROUP_ID, TEST_ARTIFACT_ID, null, "2.3.0"));
+        purgeService.evict(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0");
+        purgeService.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0");
+        Assertions.assertEquals("2.0.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+    }
+
+    @Test
+    public void syncingTheLatestVersionMovesTheLatestVersionFlag()
+    {
+        String CPATH = "meta::pure::metamodel::type::Class";
+        projectsStore.delete(TEST_GROUP_ID, TEST_ARTIFACT_ID);
+        projectsStore.createOrUpdate(new StoreProjectData("PROD-1", TEST_GROUP_ID, TEST_ARTIFACT_ID, null, "2.2.0"));
+        ProjectArtifactHandlerFactory.latestVersionUpdated(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0");
+        Assertions.assertEquals(Collections.singletonList("2.2.0"), latestVersionIds(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null)));
+
+        versionsMismatchService.syncLatestProjectVersions();
+        Assertions.assertEquals("2.3.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+        Assertions.assertEquals(Collections.singletonList("2.3.0"), latestVersionIds(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null)));
+    }
+
+    @Test
+    public void evictingTheLatestVersionClearsItsFlaggedEntities()
+    {
+        String CPATH = "meta::pure::metamodel::type::Class";
+        ProjectArtifactHandlerFactory.latestVersionUpdated(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0");
+        Assertions.assertEquals(1, ((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null).size());
+
+        // the evicted version stays the latest one and is marked again when it gets restored
+        purgeService.evict(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.3.0");
+        Assertions.assertEquals("2.3.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+        Assertions.assertTrue(((EntitiesMongo) entitiesStore).findLatestVersionClassifierEntities(CPATH, null, null).isEmpty());
+    }
+
+    private List<String> latestVersionIds(List<DepotEntity> entities)
+    {
+        return entities.stream().map(DepotEntity::getVersionId).distinct().collect(Collectors.toList());
+    }
+
     @Test
     public void canEvictOldVersionsKeepMoreThanExists()
     {
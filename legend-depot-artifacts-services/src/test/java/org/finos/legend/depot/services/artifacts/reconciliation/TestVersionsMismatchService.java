@@ -19,6 +19,7 @@ import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReco
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionMismatch;
@@ -55,10 +56,10 @@ public class TestVersionsMismatchService
         StoreProjectVersionData p2v1 = new StoreProjectVersionData("examples.metadata", "test2", "1.0.0");
         StoreProjectVersionData p3v1 = new StoreProjectVersionData("examples.metadata", "test3", "2.0.1");
         StoreProjectVersionData p4v1 = new StoreProjectVersionData("examples.metadata", "test4", "0.0.1");
-        when(projects.find("examples.metadata", "test1")).thenReturn(Arrays.asList(p1v1, p1v2));
-        when(projects.find("examples.metadata", "test2")).thenReturn(Arrays.asList(p2v1));
-        when(projects.find("examples.metadata", "test3")).thenReturn(Arrays.asList(p3v1));
-        when(projects.find("examples.metadata", "test4")).thenReturn(Arrays.asList(p4v1));
+        when(projects.getVersionsIndex("examples.metadata", "test1")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p1v1, p1v2)));
+        when(projects.getVersionsIndex("examples.metadata", "test2")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p2v1)));
+        when(projects.getVersionsIndex("examples.metadata", "test3")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p3v1)));
+        when(projects.getVersionsIndex("examples.metadata", "test4")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p4v1)));
         when(repository.findVersions("examples.metadata", "test1")).thenReturn(Arrays.asList(VersionId.parseVersionId("2.2.0"),VersionId.parseVersionId("2.3.0"), VersionId.parseVersionId("2.3.1")));
         when(repository.findVersions("examples.metadata", "test2")).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.1")));
         when(repository.findVersions("examples.metadata", "test3")).thenReturn(Collections.emptyList());
@@ -114,7 +115,7 @@ public class TestVersionsMismatchService
         StoreProjectVersionData p1v1 = new StoreProjectVersionData("examples.metadata", "test5", "1.0.0");
         p1v1.getVersionData().setExcluded(true);
         p1v1.getVersionData().setExclusionReason("unknown error");
-        when(projects.find("examples.metadata", "test5")).thenReturn(Arrays.asList(p1v1));
+        when(projects.getVersionsIndex("examples.metadata", "test5")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p1v1)));
         when(repository.findVersions("examples.metadata", "test5")).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.0")));
         List<VersionMismatch> counts = repositoryServices.findVersionsMismatches();
         Assertions.assertNotNull(counts);
@@ -151,9 +152,9 @@ public class TestVersionsMismatchService
         StoreProjectVersionData p2v1 = new StoreProjectVersionData("examples.metadata", "test2", "1.0.1");
         p2v1.setEvicted(true);
         StoreProjectVersionData p3v1 = new StoreProjectVersionData("examples.metadata", "test3", "2.0.3");
-        when(projects.find("examples.metadata", "test1")).thenReturn(Arrays.asList(p1v1, p1v2));
-        when(projects.find("examples.metadata", "test2")).thenReturn(Arrays.asList(p2v1));
-        when(projects.find("examples.metadata", "test3")).thenReturn(Arrays.asList(p3v1));
+        when(projects.getVersionsIndex("examples.metadata", "test1")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p1v1, p1v2)));
+        when(projects.getVersionsIndex("examples.metadata", "test2")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p2v1)));
+        when(projects.getVersionsIndex("examples.metadata", "test3")).thenReturn(ProjectVersionsIndex.build(Arrays.asList(p3v1)));
 
         List<StoreProjectData> projectsWithUpdatedLatestVersions = repositoryServices.syncLatestProjectVersions();
         Assertions.assertEquals(1, projectsWithUpdatedLatestVersions.stream().filter(p -> p.getProjectId().equals("PROD-A")).count());
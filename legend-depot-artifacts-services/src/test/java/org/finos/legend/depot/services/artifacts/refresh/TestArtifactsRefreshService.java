@@ -50,6 +50,7 @@ import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.depot.store.mongo.artifacts.ArtifactsFilesMongo;
+import org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.generations.FileGenerationsMongo;
 import org.finos.legend.depot.store.mongo.notifications.NotificationsMongo;
@@ -72,10 +73,16 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 import static org.finos.legend.depot.services.artifacts.refresh.TestArtifactsRefreshServiceExceptionEscenarios.PARENT_EVENT_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ARTIFACT_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.VERSION_ID;
 import static org.mockito.Mockito.mock;
 
 public class TestArtifactsRefreshService extends TestStoreMongo
@@ -221,6 +228,29 @@ public class TestArtifactsRefreshService extends TestStoreMongo
         Assertions.assertEquals("My Output1",  fileGenerationsStore.findByFilePath(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", "/examples/metadata/test/ClientBasic/my-ext/Output1.txt").get().getFile().getContent());
     }
 
+    @Test
+    public void canRefreshArtifactTypesConcurrently()
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try
+        {
+            ProjectVersionRefreshHandler concurrentHandler = new ProjectVersionRefreshHandler(projectsService, repository, queue, artifacts, new IncludeProjectPropertiesConfiguration(properties, manifestProperties), refreshDependenciesService, 10, executor);
+            MetadataNotification event = new MetadataNotification(PROJECT_A, TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", true, false, PARENT_EVENT_ID);
+
+            MetadataNotificationResponse sequential = versionHandler.doRefresh(event);
+            MetadataNotificationResponse concurrent = concurrentHandler.doRefresh(event);
+
+            Assertions.assertEquals(sequential.getErrors(), concurrent.getErrors());
+            Assertions.assertEquals(sequential.getMessages(), concurrent.getMessages());
+            Assertions.assertEquals(9, entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").size());
+            Assertions.assertEquals(3, fileGenerationsStore.findByElementPath(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", "examples::avrogen").size());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void canRefreshExcludedProjectVersionIfLoadable()
     {
@@ -335,6 +365,19 @@ public class TestArtifactsRefreshService extends TestStoreMongo
 
     }
 
+    @Test
+    public void canFlagLatestVersionEntitiesOnRefresh()
+    {
+        artifactsRefreshService.refreshVersionForProject(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", true, PARENT_EVENT_ID);
+        notificationsQueueManager.handleAll();
+        Assertions.assertEquals("2.0.0", projectsService.findCoordinates(TEST_GROUP_ID, TEST_ARTIFACT_ID).get().getLatestVersion());
+        Assertions.assertEquals(9, mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments(and(eq(ARTIFACT_ID, TEST_ARTIFACT_ID), eq(AbstractEntitiesMongo.LATEST_VERSION, true))));
+
+        artifactsRefreshService.refreshVersionForProject(TEST_GROUP_ID, TEST_ARTIFACT_ID, "1.0.0", true, PARENT_EVENT_ID);
+        notificationsQueueManager.handleAll();
+        Assertions.assertEquals(0, mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments(and(eq(VERSION_ID, "1.0.0"), eq(ARTIFACT_ID, TEST_ARTIFACT_ID), eq(AbstractEntitiesMongo.LATEST_VERSION, true))));
+    }
+
     @Test
     public void partialRefreshAllVersionForProjectOnlyRefreshLatest()
     {
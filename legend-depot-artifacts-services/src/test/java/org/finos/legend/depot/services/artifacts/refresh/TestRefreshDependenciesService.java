@@ -14,6 +14,7 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
+import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.services.api.artifacts.refresh.RefreshDependenciesService;
@@ -41,6 +42,9 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class TestRefreshDependenciesService extends CoreDataMongoStoreTests
 {
@@ -253,4 +257,49 @@ public class TestRefreshDependenciesService extends CoreDataMongoStoreTests
         Assertions.assertEquals(4, project.getTransitiveDependenciesReport().getTransitiveDependencies().size());
         Assertions.assertEquals(Arrays.asList(dependency3, dependency2, pv2, pv1), project.getTransitiveDependenciesReport().getTransitiveDependencies());
     }
+
+    @Test
+    public void canMemoizeTransitiveDependenciesAcrossVersions()
+    {
+        TransitiveDependenciesMemo memo = new TransitiveDependenciesMemo(100, 60000);
+        RefreshDependenciesService memoizedService = new RefreshDependenciesServiceImpl(projectsService, repository, new DependencyUtil(), memo);
+        ProjectVersion notStored = new ProjectVersion(GROUPID, "art107", "1.0.0");
+        when(repository.findDependencies(GROUPID, "art107", "1.0.0")).thenReturn(Collections.singleton(new ArtifactDependency(GROUPID, "test", "3.0.0")));
+
+        StoreProjectVersionData project1 = new StoreProjectVersionData(GROUPID, "test-master", "4.0.0");
+        project1.getVersionData().setDependencies(Collections.singletonList(notStored));
+        projectsVersionsStore.createOrUpdate(project1);
+        StoreProjectVersionData project2 = new StoreProjectVersionData(GROUPID, "test-master", "5.0.0");
+        project2.getVersionData().setDependencies(Collections.singletonList(notStored));
+        projectsVersionsStore.createOrUpdate(project2);
+
+        project1 = memoizedService.updateTransitiveDependencies(GROUPID, "test-master", "4.0.0");
+        Assertions.assertTrue(memo.size() > 0);
+        project2 = memoizedService.updateTransitiveDependencies(GROUPID, "test-master", "5.0.0");
+
+        Assertions.assertTrue(project2.getTransitiveDependenciesReport().isValid());
+        Assertions.assertEquals(project1.getTransitiveDependenciesReport().getTransitiveDependencies(), project2.getTransitiveDependenciesReport().getTransitiveDependencies());
+        Assertions.assertTrue(project2.getTransitiveDependenciesReport().getTransitiveDependencies().contains(new ProjectVersion(GROUPID, "test", "3.0.0")));
+        verify(repository, times(1)).findDependencies(GROUPID, "art107", "1.0.0");
+    }
+
+    @Test
+    public void refreshingAVersionDropsTheCalculationsItTookPartIn()
+    {
+        TransitiveDependenciesMemo memo = new TransitiveDependenciesMemo(100, 60000);
+        RefreshDependenciesService memoizedService = new RefreshDependenciesServiceImpl(projectsService, repository, new DependencyUtil(), memo);
+        ProjectVersion notStored = new ProjectVersion(GROUPID, "art107", "1.0.0");
+        when(repository.findDependencies(GROUPID, "art107", "1.0.0")).thenReturn(Collections.singleton(new ArtifactDependency(GROUPID, "test", "3.0.0")));
+
+        StoreProjectVersionData project = new StoreProjectVersionData(GROUPID, "test-master", "4.0.0");
+        project.getVersionData().setDependencies(Collections.singletonList(notStored));
+        projectsVersionsStore.createOrUpdate(project);
+        memoizedService.updateTransitiveDependencies(GROUPID, "test-master", "4.0.0");
+        Assertions.assertTrue(memo.size() > 0);
+
+        // refreshing art107 drops what was calculated from its previous dependencies
+        memoizedService.setProjectDataTransitiveDependencies(new StoreProjectVersionData(GROUPID, "art107", "1.0.0"));
+        memoizedService.updateTransitiveDependencies(GROUPID, "test-master", "4.0.0");
+        verify(repository, times(2)).findDependencies(GROUPID, "art107", "1.0.0");
+    }
 }
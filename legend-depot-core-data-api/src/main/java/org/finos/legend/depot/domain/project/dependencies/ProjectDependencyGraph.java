@@ -22,6 +22,11 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 
 import java.util.Set;
 
+/**
+ * @deprecated dependency reports are built with {@code org.finos.legend.depot.services.dependencies.DependencyGraph}
+ * in legend-depot-core-data-services; this class is no longer used by depot and is kept for existing callers.
+ */
+@Deprecated
 public class ProjectDependencyGraph
 {
     private final Set<ProjectVersion> nodes = Sets.mutable.empty();
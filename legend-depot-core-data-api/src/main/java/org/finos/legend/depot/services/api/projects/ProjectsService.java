@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.api.projects;
 
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.domain.project.ProjectVersion;
@@ -23,6 +24,7 @@ import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithP
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -40,6 +42,8 @@ public interface ProjectsService
 
     List<String> getVersions(String groupId, String artifactId,boolean includeSnapshots);
 
+    ProjectVersionsIndex getVersionsIndex(String groupId, String artifactId);
+
     @Deprecated
     List<StoreProjectData> findByProjectId(String projectId);
 
@@ -53,6 +57,13 @@ public interface ProjectsService
 
     String resolveAliasesAndCheckVersionExists(String groupId, String artifactId, String versionId);
 
+    List<ProjectVersion> resolveAliasesAndCheckVersionsExist(Collection<ProjectVersion> projectVersions);
+
+    /**
+     * Same checks as resolveAliasesAndCheckVersionsExist, returning the version documents that were loaded for them.
+     */
+    List<StoreProjectVersionData> resolveAliasesAndFindVersions(Collection<ProjectVersion> projectVersions);
+
     Optional<StoreProjectData> findCoordinates(String groupId, String artifactId);
 
     default Set<ProjectVersion> getDependencies(String groupId, String artifactId, String versionId, boolean transitive)
@@ -0,0 +1,39 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.api.projects;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+
+import java.util.List;
+
+/**
+ * Polls for project versions updated since the last poll and hands them to every registered listener. Versions evicted,
+ * purged or refreshed again by another instance all show up as updated versions, so one query serves every cache on a node.
+ */
+public interface UpdatedVersionsPoller
+{
+    void register(Listener listener);
+
+    long poll();
+
+    interface Listener
+    {
+        /**
+         * Drops whatever is held for the given updated versions, returning the number of invalidations.
+         */
+        long evictUpdatedVersions(List<ProjectVersion> updated);
+    }
+}
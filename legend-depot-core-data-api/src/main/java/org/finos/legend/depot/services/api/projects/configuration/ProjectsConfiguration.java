@@ -26,6 +26,21 @@ public class ProjectsConfiguration
     @JsonProperty
     private final String defaultBranch;
 
+    @JsonProperty
+    private long cacheMaximumSize = 0;
+
+    @JsonProperty
+    private long cacheExpiryInSeconds = 600;
+
+    @JsonProperty
+    private long cacheRefreshIntervalInSeconds = 30;
+
+    @JsonProperty
+    private long resolverCacheMaximumSize = 10000;
+
+    @JsonProperty
+    private long resolverTimeoutInMillis = 0;
+
     @JsonCreator
     public ProjectsConfiguration(@JsonProperty("defaultBranch") String defaultBranch)
     {
@@ -36,4 +51,54 @@ public class ProjectsConfiguration
     {
         return defaultBranch;
     }
+
+    public long getCacheMaximumSize()
+    {
+        return cacheMaximumSize;
+    }
+
+    public void setCacheMaximumSize(long cacheMaximumSize)
+    {
+        this.cacheMaximumSize = cacheMaximumSize;
+    }
+
+    public long getCacheExpiryInSeconds()
+    {
+        return cacheExpiryInSeconds;
+    }
+
+    public void setCacheExpiryInSeconds(long cacheExpiryInSeconds)
+    {
+        this.cacheExpiryInSeconds = cacheExpiryInSeconds;
+    }
+
+    public long getCacheRefreshIntervalInSeconds()
+    {
+        return cacheRefreshIntervalInSeconds;
+    }
+
+    public void setCacheRefreshIntervalInSeconds(long cacheRefreshIntervalInSeconds)
+    {
+        this.cacheRefreshIntervalInSeconds = cacheRefreshIntervalInSeconds;
+    }
+
+    public long getResolverCacheMaximumSize()
+    {
+        return resolverCacheMaximumSize;
+    }
+
+    public void setResolverCacheMaximumSize(long resolverCacheMaximumSize)
+    {
+        this.resolverCacheMaximumSize = resolverCacheMaximumSize;
+    }
+
+    public long getResolverTimeoutInMillis()
+    {
+        return resolverTimeoutInMillis;
+    }
+
+    public void setResolverTimeoutInMillis(long resolverTimeoutInMillis)
+    {
+        this.resolverTimeoutInMillis = resolverTimeoutInMillis;
+    }
 }
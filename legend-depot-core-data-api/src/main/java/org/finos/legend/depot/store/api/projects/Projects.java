@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
 import java.util.List;
@@ -26,6 +27,8 @@ public interface Projects
 
     Optional<StoreProjectData> find(String groupId, String artifactId);
 
+    List<StoreProjectData> find(List<? extends CoordinateData> coordinates);
+
     @Deprecated
     List<StoreProjectData> findByProjectId(String projectId);
 }
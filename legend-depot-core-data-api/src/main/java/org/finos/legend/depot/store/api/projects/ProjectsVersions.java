@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
 import java.util.List;
@@ -26,10 +27,31 @@ public interface ProjectsVersions
 
     List<StoreProjectVersionData> findByUpdatedDate(long updatedFrom, long updatedTo);
 
+    /**
+     * Versions updated within the given range, with only their group, artifact and version ids populated.
+     */
+    List<StoreProjectVersionData> findUpdatedCoordinates(long updatedFrom, long updatedTo);
+
     List<StoreProjectVersionData> find(String groupId, String artifactId);
 
+    /**
+     * Versions of a project with only their version id, evicted, excluded and deprecated flags populated.
+     */
+    List<StoreProjectVersionData> findVersionsSummary(String groupId, String artifactId);
+
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    List<StoreProjectVersionData> find(List<ProjectVersion> projectVersions);
+
+    /**
+     * Those of the given versions that are stored, with only their group, artifact and version ids populated.
+     */
+    List<StoreProjectVersionData> findCoordinates(List<ProjectVersion> projectVersions);
+
+    List<StoreProjectVersionData> findDependants(String groupId, String artifactId);
+
+    List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId);
+
     long getVersionCount(String groupId, String artifactId);
 
     List<StoreProjectVersionData> findVersion(Boolean excluded);
@@ -0,0 +1,195 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.model.projects;
+
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.sdlc.domain.model.version.VersionId;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of the versions of a project: releases ordered by their parsed version id, followed by snapshots
+ * ordered by name, each with the flags needed to filter them without loading the full version documents.
+ */
+public final class ProjectVersionsIndex
+{
+    private static final Comparator<Entry> ORDER = Comparator.comparing((Entry entry) -> entry.parsedVersionId == null)
+            .thenComparing(entry -> entry.parsedVersionId, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::getVersionId);
+
+    private final List<Entry> entries;
+    private final int releases;
+
+    private ProjectVersionsIndex(List<Entry> entries)
+    {
+        this.entries = Collections.unmodifiableList(entries);
+        this.releases = (int) entries.stream().filter(Entry::isRelease).count();
+    }
+
+    public static ProjectVersionsIndex build(Collection<StoreProjectVersionData> versions)
+    {
+        List<Entry> entries = versions.stream().map(Entry::new).sorted(ORDER).collect(Collectors.toList());
+        return new ProjectVersionsIndex(entries);
+    }
+
+    public ProjectVersionsIndex update(StoreProjectVersionData version)
+    {
+        List<Entry> updated = new ArrayList<>(entries.size() + 1);
+        entries.stream().filter(entry -> !entry.versionId.equals(version.getVersionId())).forEach(updated::add);
+        Entry entry = new Entry(version);
+        int position = Collections.binarySearch(updated, entry, ORDER);
+        updated.add(position < 0 ? -position - 1 : position, entry);
+        return new ProjectVersionsIndex(updated);
+    }
+
+    public ProjectVersionsIndex remove(String versionId)
+    {
+        return new ProjectVersionsIndex(entries.stream().filter(entry -> !entry.versionId.equals(versionId)).collect(Collectors.toList()));
+    }
+
+    public List<Entry> getEntries()
+    {
+        return entries;
+    }
+
+    public List<Entry> getReleases()
+    {
+        return entries.subList(0, releases);
+    }
+
+    public List<Entry> getSnapshots()
+    {
+        return entries.subList(releases, entries.size());
+    }
+
+    public List<String> getVersions(boolean includeSnapshots)
+    {
+        return (includeSnapshots ? entries : getReleases()).stream().filter(entry -> !entry.excluded).map(Entry::getVersionId).collect(Collectors.toList());
+    }
+
+    public List<String> getLatestReleases(int count)
+    {
+        List<String> latest = new ArrayList<>();
+        for (int i = releases - 1; i >= 0 && latest.size() < count; i--)
+        {
+            if (!entries.get(i).excluded)
+            {
+                latest.add(entries.get(i).versionId);
+            }
+        }
+        return latest;
+    }
+
+    public List<String> getReleasesSince(VersionId versionId)
+    {
+        int from = 0;
+        int to = releases;
+        while (from < to)
+        {
+            int middle = (from + to) >>> 1;
+            if (entries.get(middle).parsedVersionId.compareTo(versionId) <= 0)
+            {
+                from = middle + 1;
+            }
+            else
+            {
+                to = middle;
+            }
+        }
+        return getReleases().subList(from, releases).stream().filter(entry -> !entry.excluded).map(Entry::getVersionId).collect(Collectors.toList());
+    }
+
+    public Optional<String> getLatestActiveRelease()
+    {
+        for (int i = releases - 1; i >= 0; i--)
+        {
+            if (entries.get(i).isActive())
+            {
+                return Optional.of(entries.get(i).versionId);
+            }
+        }
+        return Optional.empty();
+    }
+
+    public int size()
+    {
+        return entries.size();
+    }
+
+    public static final class Entry
+    {
+        private final String versionId;
+        private final VersionId parsedVersionId;
+        private final boolean excluded;
+        private final boolean evicted;
+        private final boolean deprecated;
+
+        private Entry(StoreProjectVersionData version)
+        {
+            this.versionId = version.getVersionId();
+            this.parsedVersionId = !VersionValidator.isSnapshotVersion(versionId) && VersionValidator.isValidReleaseVersion(versionId) ? VersionId.parseVersionId(versionId) : null;
+            this.excluded = version.getVersionData().isExcluded();
+            this.evicted = version.isEvicted();
+            this.deprecated = version.getVersionData().isDeprecated();
+        }
+
+        public String getVersionId()
+        {
+            return versionId;
+        }
+
+        public VersionId getParsedVersionId()
+        {
+            return parsedVersionId;
+        }
+
+        public boolean isRelease()
+        {
+            return parsedVersionId != null;
+        }
+
+        public boolean isSnapshot()
+        {
+            return VersionValidator.isSnapshotVersion(versionId);
+        }
+
+        public boolean isExcluded()
+        {
+            return excluded;
+        }
+
+        public boolean isEvicted()
+        {
+            return evicted;
+        }
+
+        public boolean isDeprecated()
+        {
+            return deprecated;
+        }
+
+        public boolean isActive()
+        {
+            return !excluded && !evicted && !deprecated;
+        }
+    }
+}
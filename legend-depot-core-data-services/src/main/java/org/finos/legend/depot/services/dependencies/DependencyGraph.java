@@ -0,0 +1,178 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.eclipse.collections.api.factory.Lists;
+import org.eclipse.collections.api.list.MutableList;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Dependency graph over project versions. Every version is interned to an int id and edges are kept as primitive
+ * adjacency lists in both directions, so traversals never hash {@link ProjectVersion} instances or build string keys.
+ * Nodes are only considered loaded once their dependencies are set; dependencies can be replaced at any time, which
+ * lets the graph be maintained incrementally as versions are refreshed.
+ */
+public class DependencyGraph
+{
+    private static final int NOT_FOUND = -1;
+
+    private final MutableObjectIntMap<ProjectVersion> versionIds = new ObjectIntHashMap<>();
+    private final MutableList<ProjectVersion> versions = Lists.mutable.empty();
+    private final MutableList<MutableIntList> forwardEdges = Lists.mutable.empty();
+    private final MutableList<MutableIntList> backEdges = Lists.mutable.empty();
+    private final BitSet loaded = new BitSet();
+    private final MutableIntList rootNodes = new IntArrayList();
+
+    public int size()
+    {
+        return versions.size();
+    }
+
+    public boolean hasNode(ProjectVersion projectVersion)
+    {
+        return versionIds.containsKey(projectVersion);
+    }
+
+    public boolean isLoaded(ProjectVersion projectVersion)
+    {
+        int id = versionIds.getIfAbsent(projectVersion, NOT_FOUND);
+        return id != NOT_FOUND && loaded.get(id);
+    }
+
+    public void addRootNode(ProjectVersion projectVersion)
+    {
+        int id = addNode(projectVersion);
+        if (!rootNodes.contains(id))
+        {
+            rootNodes.add(id);
+        }
+    }
+
+    public void setDependencies(ProjectVersion projectVersion, Collection<ProjectVersion> dependencies)
+    {
+        int id = addNode(projectVersion);
+        MutableIntList current = forwardEdges.get(id);
+        current.forEach(dependency -> backEdges.get(dependency).remove(id));
+        current.clear();
+        IntHashSet seen = new IntHashSet(dependencies.size());
+        dependencies.forEach(dependency ->
+        {
+            int dependencyId = addNode(dependency);
+            if (seen.add(dependencyId))
+            {
+                current.add(dependencyId);
+                backEdges.get(dependencyId).add(id);
+            }
+        });
+        loaded.set(id);
+    }
+
+    public Set<ProjectVersion> getNodes()
+    {
+        return new LinkedHashSet<>(versions);
+    }
+
+    public Set<ProjectVersion> getRootNodes()
+    {
+        return toVersions(rootNodes);
+    }
+
+    public Set<ProjectVersion> getDependencies(ProjectVersion projectVersion)
+    {
+        int id = versionIds.getIfAbsent(projectVersion, NOT_FOUND);
+        return id == NOT_FOUND ? new LinkedHashSet<>() : toVersions(forwardEdges.get(id));
+    }
+
+    public Set<ProjectVersion> getDependants(ProjectVersion projectVersion)
+    {
+        int id = versionIds.getIfAbsent(projectVersion, NOT_FOUND);
+        return id == NOT_FOUND ? new LinkedHashSet<>() : toVersions(backEdges.get(id));
+    }
+
+    public Set<ProjectVersion> getTransitiveDependencies(Collection<ProjectVersion> projectVersions)
+    {
+        return toVersions(reach(projectVersions, forwardEdges));
+    }
+
+    public Set<ProjectVersion> getTransitiveDependants(Collection<ProjectVersion> projectVersions)
+    {
+        return toVersions(reach(projectVersions, backEdges));
+    }
+
+    private int addNode(ProjectVersion projectVersion)
+    {
+        int id = versionIds.getIfAbsent(projectVersion, NOT_FOUND);
+        if (id == NOT_FOUND)
+        {
+            id = versions.size();
+            versionIds.put(projectVersion, id);
+            versions.add(projectVersion);
+            forwardEdges.add(new IntArrayList());
+            backEdges.add(new IntArrayList());
+        }
+        return id;
+    }
+
+    private BitSet reach(Collection<ProjectVersion> projectVersions, MutableList<MutableIntList> edges)
+    {
+        BitSet visited = new BitSet(versions.size());
+        MutableIntList queue = new IntArrayList();
+        projectVersions.forEach(pv ->
+        {
+            int id = versionIds.getIfAbsent(pv, NOT_FOUND);
+            if (id != NOT_FOUND)
+            {
+                queue.add(id);
+            }
+        });
+        for (int i = 0; i < queue.size(); i++)
+        {
+            edges.get(queue.get(i)).forEach(next ->
+            {
+                if (!visited.get(next))
+                {
+                    visited.set(next);
+                    queue.add(next);
+                }
+            });
+        }
+        return visited;
+    }
+
+    private Set<ProjectVersion> toVersions(MutableIntList ids)
+    {
+        Set<ProjectVersion> result = new LinkedHashSet<>(ids.size());
+        ids.forEach(id -> result.add(versions.get(id)));
+        return result;
+    }
+
+    private Set<ProjectVersion> toVersions(BitSet ids)
+    {
+        Set<ProjectVersion> result = new LinkedHashSet<>(ids.cardinality());
+        ids.stream().forEach(id -> result.add(versions.get(id)));
+        return result;
+    }
+}
@@ -0,0 +1,172 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.handlers.TimeoutMaxSATHandler;
+import org.logicng.solvers.MaxSATSolver;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the most recent compatible versions of a set of projects with a MaxSAT solver. Transitive dependencies of
+ * released versions never change, so they are kept across requests, and the dependencies of all the candidate
+ * versions are loaded in a single batch before the problem is encoded.
+ */
+public class DependencyResolver
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(DependencyResolver.class);
+    private static final String SOLVE_DURATION = "dependency_resolution_solve";
+    private static final String SOLVE_TIMEOUTS = "dependency_resolution_timeouts";
+    private static final String CACHE_HITS = "dependency_resolution_cache_hits";
+    private static final String CACHE_MISSES = "dependency_resolution_cache_misses";
+
+    private final Cache<ProjectVersion, Set<ProjectVersion>> releaseDependencies;
+    private final long solveTimeoutInMillis;
+
+    public DependencyResolver(long cacheMaximumSize, long solveTimeoutInMillis)
+    {
+        this.releaseDependencies = cacheMaximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(cacheMaximumSize).build() : null;
+        this.solveTimeoutInMillis = solveTimeoutInMillis;
+    }
+
+    public List<ProjectVersion> resolve(List<ProjectVersion> requiredProjects, Map<String, Set<ProjectVersion>> alternativeVersions, Function<List<ProjectVersion>, Map<ProjectVersion, Set<ProjectVersion>>> dependenciesLoader)
+    {
+        List<ProjectVersion> candidates = alternativeVersions.values().stream().flatMap(Set::stream).collect(Collectors.toList());
+        Map<ProjectVersion, Set<ProjectVersion>> dependencies = new HashMap<>(getDependencies(candidates, dependenciesLoader));
+
+        MaxSATSolver maxSatSolver = MaxSATSolver.wbo(new FormulaFactory());
+        DependencySATConverter converter = new DependencySATConverter(maxSatSolver.factory());
+        LogicNGSATResult satResult = converter.convertToLogicNGFormulas(alternativeVersions, pv -> dependencies.computeIfAbsent(pv, key -> getDependencies(Collections.singletonList(key), dependenciesLoader).get(key)));
+        satResult.getClauses().forEach(maxSatSolver::addHardFormula);
+        satResult.getWeights().forEach(maxSatSolver::addSoftFormula);
+
+        long start = System.currentTimeMillis();
+        BestEffortHandler handler = solveTimeoutInMillis > 0 ? new BestEffortHandler(solveTimeoutInMillis) : null;
+        MaxSAT.MaxSATResult result = handler == null ? maxSatSolver.solve() : maxSatSolver.solve(handler);
+        PrometheusMetricsFactory.getInstance().observe(SOLVE_DURATION, start, System.currentTimeMillis());
+        if (result == MaxSAT.MaxSATResult.OPTIMUM)
+        {
+            return extractSolutionFromModel(maxSatSolver.model(), satResult, requiredProjects);
+        }
+        if (handler != null && handler.aborted())
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(SOLVE_TIMEOUTS);
+            if (handler.bestModel != null)
+            {
+                LOGGER.warn("dependency resolution did not finish within {} ms, returning best solution found", solveTimeoutInMillis);
+                return extractSolutionFromModel(handler.bestModel, satResult, requiredProjects);
+            }
+            LOGGER.warn("dependency resolution did not finish within {} ms without finding a solution", solveTimeoutInMillis);
+        }
+        return Collections.emptyList();
+    }
+
+    private Map<ProjectVersion, Set<ProjectVersion>> getDependencies(List<ProjectVersion> projectVersions, Function<List<ProjectVersion>, Map<ProjectVersion, Set<ProjectVersion>>> dependenciesLoader)
+    {
+        Map<ProjectVersion, Set<ProjectVersion>> result = new HashMap<>();
+        List<ProjectVersion> missing = new ArrayList<>();
+        projectVersions.forEach(pv ->
+        {
+            Set<ProjectVersion> cached = isCacheable(pv) ? releaseDependencies.getIfPresent(pv) : null;
+            if (cached != null)
+            {
+                result.put(pv, cached);
+            }
+            else
+            {
+                missing.add(pv);
+            }
+        });
+        if (releaseDependencies != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(missing.isEmpty() ? CACHE_HITS : CACHE_MISSES);
+        }
+        if (!missing.isEmpty())
+        {
+            dependenciesLoader.apply(missing).forEach((pv, pvDependencies) ->
+            {
+                Set<ProjectVersion> loaded = Collections.unmodifiableSet(new HashSet<>(pvDependencies));
+                if (isCacheable(pv))
+                {
+                    releaseDependencies.put(pv, loaded);
+                }
+                result.put(pv, loaded);
+            });
+        }
+        return result;
+    }
+
+    private boolean isCacheable(ProjectVersion projectVersion)
+    {
+        return releaseDependencies != null && VersionValidator.isValidReleaseVersion(projectVersion.getVersionId());
+    }
+
+    private List<ProjectVersion> extractSolutionFromModel(Assignment model, LogicNGSATResult satResult, List<ProjectVersion> requiredProjects)
+    {
+        List<ProjectVersion> solution = new ArrayList<>();
+        Set<String> requiredProjectCoordinates = requiredProjects.stream().map(ProjectVersion::getGa).collect(Collectors.toSet());
+        satResult.getReverseVariableMap().forEach((variable, projectVersion) ->
+        {
+            if (model.evaluateLit(variable) && requiredProjectCoordinates.contains(projectVersion.getGa()))
+            {
+                solution.add(projectVersion);
+            }
+        });
+        return solution;
+    }
+
+    long size()
+    {
+        return releaseDependencies == null ? 0 : releaseDependencies.size();
+    }
+
+    private static final class BestEffortHandler extends TimeoutMaxSATHandler
+    {
+        private Assignment bestModel;
+
+        private BestEffortHandler(long timeoutInMillis)
+        {
+            super(timeoutInMillis);
+        }
+
+        @Override
+        public boolean foundUpperBound(int upperBound, Assignment model)
+        {
+            if (model != null)
+            {
+                this.bestModel = model;
+            }
+            return super.foundUpperBound(upperBound, model);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -48,15 +49,20 @@ public class DependencySATConverter
     }
 
     public LogicNGSATResult convertToLogicNGFormulas(Map<String, Set<ProjectVersion>> alternativeVersions, ProjectsService projectsService)
+    {
+        return convertToLogicNGFormulas(alternativeVersions, pv -> projectsService.getDependencies(Collections.singletonList(pv), true));
+    }
+
+    public LogicNGSATResult convertToLogicNGFormulas(Map<String, Set<ProjectVersion>> alternativeVersions, Function<ProjectVersion, Set<ProjectVersion>> transitiveDependencies)
     {
         List<Formula> clauses = new ArrayList<>();
         Map<Variable, Integer> weights = new HashMap<>();
 
-        createVariables(alternativeVersions, projectsService);
+        createVariables(alternativeVersions, transitiveDependencies);
         assignVersionWeights(weights);
 
         // Add dependency constraints with override handling
-        addDependencyConstraintsWithOverrides(clauses, alternativeVersions, projectsService);
+        addDependencyConstraintsWithOverrides(clauses, alternativeVersions, transitiveDependencies);
 
         // Add mutual exclusion constraints
         addMutualExclusionConstraints(clauses);
@@ -101,14 +107,14 @@ public class DependencySATConverter
         });
     }
 
-    private void createVariables(Map<String, Set<ProjectVersion>> alternativeVersions, ProjectsService projectsService)
+    private void createVariables(Map<String, Set<ProjectVersion>> alternativeVersions, Function<ProjectVersion, Set<ProjectVersion>> transitiveDependencies)
     {
         Set<ProjectVersion> allVersions = new HashSet<>();
 
         alternativeVersions.values().stream().flatMap(Set::stream).forEach(alt ->
         {
             allVersions.add(alt);
-            Set<ProjectVersion> altDependencies = projectsService.getDependencies(Collections.singletonList(alt), true);
+            Set<ProjectVersion> altDependencies = transitiveDependencies.apply(alt);
             this.transitiveDependenciesMap.put(alt, altDependencies);
             allVersions.addAll(altDependencies.stream().filter(dep -> !alternativeVersions.containsKey(dep.getGa()) || alternativeVersions.get(dep.getGa()).contains(dep)).collect(Collectors.toSet()));
         });
@@ -126,7 +132,7 @@ public class DependencySATConverter
         });
     }
 
-    private void addDependencyConstraintsWithOverrides(List<Formula> clauses, Map<String, Set<ProjectVersion>> alternativeVersions, ProjectsService projectsService)
+    private void addDependencyConstraintsWithOverrides(List<Formula> clauses, Map<String, Set<ProjectVersion>> alternativeVersions, Function<ProjectVersion, Set<ProjectVersion>> transitiveDependencies)
     {
         alternativeVersions.values().stream().flatMap(Set::stream).forEach(pv ->
         {
@@ -134,7 +140,7 @@ public class DependencySATConverter
             Set<ProjectVersion> dependencies = this.transitiveDependenciesMap.get(pv);
             Set<ProjectVersion> potentiallyOverriddenDependencies = dependencies.stream().filter(dep -> !variableMap.containsKey(dep.getGav()) || alternativeVersions.containsKey(dep.getGa())).collect(Collectors.toSet());
             Set<ProjectVersion> dependenciesNotGuaranteed = potentiallyOverriddenDependencies.stream()
-                    .flatMap(dep -> this.transitiveDependenciesMap.computeIfAbsent(dep, key -> projectsService.getDependencies(Collections.singletonList(key), true)).stream())
+                    .flatMap(dep -> this.transitiveDependenciesMap.computeIfAbsent(dep, transitiveDependencies).stream())
                     .collect(Collectors.toSet());
             dependenciesNotGuaranteed.addAll(potentiallyOverriddenDependencies);
             dependencies.forEach(dep ->
@@ -21,8 +21,15 @@ import com.google.inject.Singleton;
 import com.google.inject.name.Names;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.services.api.schedules.SchedulesFactory;
+import org.finos.legend.depot.services.dependencies.DependencyResolver;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.services.projects.ProjectsCache;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.UpdatedVersionsPollerImpl;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 
 import javax.inject.Named;
 
@@ -34,6 +41,7 @@ public class CoreDataServicesModule extends PrivateModule
         bind(ProjectsService.class).to(ProjectsServiceImpl.class);
 
         expose(ProjectsService.class);
+        expose(UpdatedVersionsPoller.class);
         expose(DependencyOverride.class).annotatedWith(Names.named("dependencyOverride"));
     }
 
@@ -45,4 +53,35 @@ public class CoreDataServicesModule extends PrivateModule
         return new DependencyUtil();
     }
 
+    @Provides
+    @Singleton
+    UpdatedVersionsPoller getUpdatedVersionsPoller(ProjectsConfiguration configuration, ProjectsVersions projectsVersions, SchedulesFactory schedulesFactory)
+    {
+        return new UpdatedVersionsPollerImpl(projectsVersions, schedulesFactory, configuration.getCacheRefreshIntervalInSeconds() * 1000);
+    }
+
+    @Provides
+    @Singleton
+    ProjectsCache getProjectsCache(ProjectsConfiguration configuration, ProjectsVersions projectsVersions, UpdatedVersionsPoller poller)
+    {
+        ProjectsCache projectsCache = buildProjectsCache(configuration);
+        if (projectsCache.isEnabled())
+        {
+            poller.register(updated -> projectsCache.evictUpdatedVersions(updated, projectsVersions));
+        }
+        return projectsCache;
+    }
+
+    protected ProjectsCache buildProjectsCache(ProjectsConfiguration configuration)
+    {
+        return new ProjectsCache("projects_cache", configuration.getCacheMaximumSize(), configuration.getCacheExpiryInSeconds());
+    }
+
+    @Provides
+    @Singleton
+    DependencyResolver getDependencyResolver(ProjectsConfiguration configuration)
+    {
+        return new DependencyResolver(configuration.getResolverCacheMaximumSize(), configuration.getResolverTimeoutInMillis());
+    }
+
 }
@@ -16,6 +16,8 @@
 package org.finos.legend.depot.services.guice;
 
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.services.projects.ProjectsCache;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
 
 public class ManageCoreDataServicesModule extends CoreDataServicesModule
@@ -30,4 +32,11 @@ public class ManageCoreDataServicesModule extends CoreDataServicesModule
         expose(ManageProjectsService.class);
     }
 
+    @Override
+    protected ProjectsCache buildProjectsCache(ProjectsConfiguration configuration)
+    {
+        // the store server changes version data in place before writing it back, so it must never share cached instances
+        return ProjectsCache.disabled();
+    }
+
 }
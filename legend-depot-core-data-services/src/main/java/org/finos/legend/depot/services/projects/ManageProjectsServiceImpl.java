@@ -17,6 +17,7 @@ package org.finos.legend.depot.services.projects;
 
 import org.finos.legend.depot.domain.project.ProjectSummary;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
+import org.finos.legend.depot.services.dependencies.DependencyResolver;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
@@ -37,13 +38,15 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
 
     private final UpdateProjectsVersions projectsVersions;
     private final UpdateProjects projects;
+    private final ProjectsCache projectsCache;
 
     @Inject
-    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil)
+    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil, ProjectsCache projectsCache, DependencyResolver dependencyResolver)
     {
-        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil);
+        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil, projectsCache, dependencyResolver);
         this.projects = projects;
         this.projectsVersions = projectsVersions;
+        this.projectsCache = projectsCache;
     }
 
     public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -51,6 +54,7 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
         super(projectsVersions,projects, metricsRegistry, queue, configuration);
         this.projects = projects;
         this.projectsVersions = projectsVersions;
+        this.projectsCache = ProjectsCache.disabled();
     }
 
     @Override
@@ -62,26 +66,34 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
     @Override
     public StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectData)
     {
-        return projectsVersions.createOrUpdate(projectData);
+        StoreProjectVersionData result = projectsVersions.createOrUpdate(projectData);
+        projectsCache.versionUpdated(result);
+        return result;
     }
 
     @Override
     public StoreProjectData createOrUpdate(StoreProjectData projectData)
     {
-        return projects.createOrUpdate(projectData);
+        StoreProjectData result = projects.createOrUpdate(projectData);
+        projectsCache.projectUpdated(projectData.getGroupId(), projectData.getArtifactId());
+        return result;
     }
 
     @Override
     public long delete(String groupId, String artifactId)
     {
         projects.delete(groupId, artifactId);
-        return projectsVersions.delete(groupId, artifactId);
+        long deleted = projectsVersions.delete(groupId, artifactId);
+        projectsCache.invalidate(groupId, artifactId);
+        return deleted;
     }
 
     @Override
     public long delete(String groupId, String artifactId, String versionId)
     {
-        return projectsVersions.delete(groupId, artifactId, versionId);
+        long deleted = projectsVersions.delete(groupId, artifactId, versionId);
+        projectsCache.versionDeleted(groupId, artifactId, versionId);
+        return deleted;
     }
 
     @Override
@@ -0,0 +1,281 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
+import org.finos.legend.depot.store.model.projects.StoreProjectData;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+public class ProjectsCache
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ProjectsCache.class);
+    private static final String HITS = "_hits";
+    private static final String MISSES = "_misses";
+    private static final String INVALIDATIONS = "_invalidations";
+    private static final long MISSING_EXPIRY_IN_SECONDS = 30;
+    private static final int DELETION_CHECK_BATCH_SIZE = 500;
+
+    private final String name;
+    private final Cache<String, StoreProjectData> projects;
+    private final Cache<String, StoreProjectVersionData> versions;
+    private final Cache<String, ProjectVersionsIndex> indexes;
+    // lookups that found nothing are kept apart and only briefly, so that they cannot crowd out real entries
+    private final Cache<String, Boolean> missing;
+
+    public ProjectsCache(String name, long maximumSize, long expiryInSeconds)
+    {
+        this(name, maximumSize, expiryInSeconds, Ticker.systemTicker());
+    }
+
+    ProjectsCache(String name, long maximumSize, long expiryInSeconds, Ticker ticker)
+    {
+        this.name = name;
+        this.projects = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expiryInSeconds, TimeUnit.SECONDS).ticker(ticker).build() : null;
+        this.versions = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expiryInSeconds, TimeUnit.SECONDS).ticker(ticker).build() : null;
+        this.indexes = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(expiryInSeconds, TimeUnit.SECONDS).ticker(ticker).build() : null;
+        this.missing = maximumSize > 0 ? CacheBuilder.newBuilder().maximumSize(maximumSize).expireAfterWrite(Math.min(expiryInSeconds, MISSING_EXPIRY_IN_SECONDS), TimeUnit.SECONDS).ticker(ticker).build() : null;
+    }
+
+    public static ProjectsCache disabled()
+    {
+        return new ProjectsCache(null, 0, 0);
+    }
+
+    public boolean isEnabled()
+    {
+        return projects != null;
+    }
+
+    public Optional<StoreProjectData> findCoordinates(String groupId, String artifactId, Supplier<Optional<StoreProjectData>> loader)
+    {
+        if (!isEnabled())
+        {
+            return loader.get();
+        }
+        return get(projects, key(groupId, artifactId), loader);
+    }
+
+    public Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId, Supplier<Optional<StoreProjectVersionData>> loader)
+    {
+        if (!isEnabled())
+        {
+            return loader.get();
+        }
+        return get(versions, key(groupId, artifactId, versionId), loader);
+    }
+
+    public List<StoreProjectVersionData> find(List<ProjectVersion> projectVersions, Function<List<ProjectVersion>, List<StoreProjectVersionData>> loader)
+    {
+        if (!isEnabled())
+        {
+            return loader.apply(projectVersions);
+        }
+        List<StoreProjectVersionData> found = new ArrayList<>();
+        List<ProjectVersion> missing = new ArrayList<>();
+        projectVersions.forEach(pv ->
+        {
+            String key = key(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+            StoreProjectVersionData cached = versions.getIfPresent(key);
+            if (cached != null)
+            {
+                found.add(cached);
+            }
+            else if (this.missing.getIfPresent(key) == null)
+            {
+                missing.add(pv);
+            }
+        });
+        PrometheusMetricsFactory.getInstance().incrementCount(name + (missing.isEmpty() ? HITS : MISSES));
+        if (!missing.isEmpty())
+        {
+            loader.apply(missing).forEach(versionData ->
+            {
+                versions.put(key(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()), versionData);
+                found.add(versionData);
+            });
+        }
+        return found;
+    }
+
+    public ProjectVersionsIndex getVersionsIndex(String groupId, String artifactId, Supplier<ProjectVersionsIndex> loader)
+    {
+        if (!isEnabled())
+        {
+            return loader.get();
+        }
+        String key = key(groupId, artifactId);
+        ProjectVersionsIndex cached = indexes.getIfPresent(key);
+        if (cached != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(name + HITS);
+            return cached;
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(name + MISSES);
+        ProjectVersionsIndex loaded = loader.get();
+        indexes.put(key, loaded);
+        return loaded;
+    }
+
+    public void projectUpdated(String groupId, String artifactId)
+    {
+        if (isEnabled())
+        {
+            projects.invalidate(key(groupId, artifactId));
+            missing.invalidate(key(groupId, artifactId));
+        }
+    }
+
+    public void versionUpdated(StoreProjectVersionData versionData)
+    {
+        if (isEnabled())
+        {
+            String key = key(versionData.getGroupId(), versionData.getArtifactId());
+            projects.invalidate(key);
+            versions.invalidate(key(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()));
+            missing.invalidateAll(Arrays.asList(key, key(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId())));
+            indexes.asMap().computeIfPresent(key, (k, index) -> index.update(versionData));
+        }
+    }
+
+    public void versionDeleted(String groupId, String artifactId, String versionId)
+    {
+        if (isEnabled())
+        {
+            String key = key(groupId, artifactId);
+            projects.invalidate(key);
+            versions.invalidate(key(groupId, artifactId, versionId));
+            indexes.asMap().computeIfPresent(key, (k, index) -> index.remove(versionId));
+        }
+    }
+
+    private <T> Optional<T> get(Cache<String, T> cache, String key, Supplier<Optional<T>> loader)
+    {
+        T cached = cache.getIfPresent(key);
+        if (cached != null || missing.getIfPresent(key) != null)
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(name + HITS);
+            return Optional.ofNullable(cached);
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(name + MISSES);
+        Optional<T> loaded = loader.get();
+        if (loaded.isPresent())
+        {
+            cache.put(key, loaded.get());
+        }
+        else
+        {
+            missing.put(key, Boolean.TRUE);
+        }
+        return loaded;
+    }
+
+    public void invalidate(String groupId, String artifactId)
+    {
+        if (isEnabled())
+        {
+            projects.invalidate(key(groupId, artifactId));
+            indexes.invalidate(key(groupId, artifactId));
+            missing.invalidate(key(groupId, artifactId));
+            String prefix = key(groupId, artifactId) + ":";
+            versions.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+            missing.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    public void invalidate(String groupId, String artifactId, String versionId)
+    {
+        if (isEnabled())
+        {
+            projects.invalidate(key(groupId, artifactId));
+            versions.invalidate(key(groupId, artifactId, versionId));
+            indexes.invalidate(key(groupId, artifactId));
+            missing.invalidateAll(Arrays.asList(key(groupId, artifactId), key(groupId, artifactId, versionId)));
+        }
+    }
+
+    public long evictUpdatedVersions(List<ProjectVersion> updated, ProjectsVersions projectsVersions)
+    {
+        if (!isEnabled())
+        {
+            return 0;
+        }
+        updated.forEach(pv ->
+        {
+            invalidate(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+            PrometheusMetricsFactory.getInstance().incrementCount(name + INVALIDATIONS);
+        });
+        long deleted = evictDeletedVersions(projectsVersions);
+        if (!updated.isEmpty() || deleted > 0)
+        {
+            LOGGER.info("invalidated {} updated and {} deleted project versions from {}", updated.size(), deleted, name);
+        }
+        return updated.size() + deleted;
+    }
+
+    private long evictDeletedVersions(ProjectsVersions projectsVersions)
+    {
+        // deleted versions leave no updated document behind, so cached versions are checked against the store by their coordinates alone
+        List<ProjectVersion> cached = versions.asMap().values().stream().map(pv -> new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toList());
+        long deleted = 0;
+        for (int start = 0; start < cached.size(); start += DELETION_CHECK_BATCH_SIZE)
+        {
+            List<ProjectVersion> batch = cached.subList(start, Math.min(start + DELETION_CHECK_BATCH_SIZE, cached.size()));
+            Set<String> stored = projectsVersions.findCoordinates(batch).stream().map(pv -> key(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toSet());
+            for (ProjectVersion pv : batch)
+            {
+                if (!stored.contains(key(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())))
+                {
+                    versionDeleted(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+                    PrometheusMetricsFactory.getInstance().incrementCount(name + INVALIDATIONS);
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    long size()
+    {
+        return isEnabled() ? projects.size() + versions.size() + indexes.size() + missing.size() : 0;
+    }
+
+    private static String key(String groupId, String artifactId)
+    {
+        return groupId + ":" + artifactId;
+    }
+
+    private static String key(String groupId, String artifactId, String versionId)
+    {
+        return key(groupId, artifactId) + ":" + versionId;
+    }
+}
@@ -31,21 +31,18 @@ import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
-import org.finos.legend.depot.services.dependencies.DependencySATConverter;
+import org.finos.legend.depot.services.dependencies.DependencyGraph;
+import org.finos.legend.depot.services.dependencies.DependencyResolver;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
-import org.finos.legend.depot.services.dependencies.LogicNGSATResult;
 import org.finos.legend.depot.services.dependencies.ProjectDependencyGraphWalkerContext;
 import org.finos.legend.depot.store.api.projects.Projects;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
-import org.logicng.datastructures.Assignment;
-import org.logicng.formulas.FormulaFactory;
-import org.logicng.solvers.MaxSATSolver;
-import org.logicng.solvers.maxsat.algorithms.MaxSAT;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -56,10 +53,10 @@ import java.util.Set;
 import java.util.Optional;
 import java.util.List;
 import java.util.HashSet;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -80,12 +77,16 @@ public class ProjectsServiceImpl implements ProjectsService
 
     private final DependencyOverride dependencyOverride;
 
+    private final ProjectsCache projectsCache;
+
+    private final DependencyResolver dependencyResolver;
+
     private static final String EXCLUSION_FOUND_IN_STORE = "project version not found for %s-%s-%s, exclusion reason: %s";
     private static final String NOT_FOUND_IN_STORE = "project version not found for %s-%s-%s";
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ProjectsServiceImpl.class);
 
     @Inject
-    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride)
+    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride, ProjectsCache projectsCache, DependencyResolver dependencyResolver)
     {
         this.projectsVersions = projectsVersions;
         this.projects = projects;
@@ -93,6 +94,13 @@ public class ProjectsServiceImpl implements ProjectsService
         this.queue = queue;
         this.configuration = configuration;
         this.dependencyOverride = dependencyOverride;
+        this.projectsCache = projectsCache;
+        this.dependencyResolver = dependencyResolver;
+    }
+
+    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, DependencyOverride dependencyOverride)
+    {
+        this(projectsVersions, projects, metricsRegistry, queue, configuration, dependencyOverride, ProjectsCache.disabled(), new DependencyResolver(configuration.getResolverCacheMaximumSize(), configuration.getResolverTimeoutInMillis()));
     }
 
     public ProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -103,6 +111,8 @@ public class ProjectsServiceImpl implements ProjectsService
         this.queue = queue;
         this.configuration = configuration;
         this.dependencyOverride = new DependencyUtil();
+        this.projectsCache = ProjectsCache.disabled();
+        this.dependencyResolver = new DependencyResolver(configuration.getResolverCacheMaximumSize(), configuration.getResolverTimeoutInMillis());
     }
 
     @Override
@@ -114,7 +124,13 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public List<String> getVersions(String groupId, String artifactId,boolean includeSnapshots)
     {
-        return this.find(groupId, artifactId).stream().filter(pv -> (includeSnapshots || !VersionValidator.isSnapshotVersion(pv.getVersionId())) && !pv.getVersionData().isExcluded()).map(pv -> pv.getVersionId()).collect(Collectors.toList());
+        return this.getVersionsIndex(groupId, artifactId).getVersions(includeSnapshots);
+    }
+
+    @Override
+    public ProjectVersionsIndex getVersionsIndex(String groupId, String artifactId)
+    {
+        return projectsCache.getVersionsIndex(groupId, artifactId, () -> ProjectVersionsIndex.build(projectsVersions.findVersionsSummary(groupId, artifactId)));
     }
 
     @Override
@@ -156,7 +172,7 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public Optional<StoreProjectData> findCoordinates(String groupId, String artifactId)
     {
-        return projects.find(groupId, artifactId);
+        return projectsCache.findCoordinates(groupId, artifactId, () -> projects.find(groupId, artifactId));
     }
 
     @Override
@@ -167,7 +183,7 @@ public class ProjectsServiceImpl implements ProjectsService
             Optional<StoreProjectData> projectData = this.findCoordinates(groupId, artifactId);
             if (projectData.isPresent() && projectData.get().getLatestVersion() != null)
             {
-                return projectsVersions.find(groupId, artifactId, projectData.get().getLatestVersion());
+                return this.findVersion(groupId, artifactId, projectData.get().getLatestVersion());
             }
             return Optional.empty();
         }
@@ -176,14 +192,19 @@ public class ProjectsServiceImpl implements ProjectsService
             Optional<StoreProjectData> project = this.findCoordinates(groupId, artifactId);
             if (project.isPresent())
             {
-                return projectsVersions.find(groupId, artifactId, BRANCH_SNAPSHOT(defaultBranch(project.get())));
+                return this.findVersion(groupId, artifactId, BRANCH_SNAPSHOT(defaultBranch(project.get())));
             }
             else
             {
                 return Optional.empty();
             }
         }
-        return projectsVersions.find(groupId, artifactId, versionId);
+        return this.findVersion(groupId, artifactId, versionId);
+    }
+
+    private Optional<StoreProjectVersionData> findVersion(String groupId, String artifactId, String versionId)
+    {
+        return projectsCache.find(groupId, artifactId, versionId, () -> projectsVersions.find(groupId, artifactId, versionId));
     }
 
     private void restoreEvictedProjectVersion(String groupId, String artifactId, String versionId)
@@ -194,9 +215,38 @@ public class ProjectsServiceImpl implements ProjectsService
 
     @Override
     public String resolveAliasesAndCheckVersionExists(String groupId, String artifactId, String versionId)
+    {
+        return checkVersionExists(groupId, artifactId, versionId, this.find(groupId, artifactId, versionId));
+    }
+
+    @Override
+    public List<ProjectVersion> resolveAliasesAndCheckVersionsExist(Collection<ProjectVersion> projectVersions)
+    {
+        return resolveAliasesAndFindVersions(projectVersions).stream().map(pv -> new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StoreProjectVersionData> resolveAliasesAndFindVersions(Collection<ProjectVersion> projectVersions)
+    {
+        List<ProjectVersion> versions = projectVersions.stream().filter(pv -> !isVersionAlias(pv.getVersionId())).collect(Collectors.toList());
+        Map<String, StoreProjectVersionData> found = new HashMap<>();
+        projectsCache.find(versions, projectsVersions::find).forEach(pv -> found.put(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).getGav(), pv));
+        return projectVersions.stream().map(pv ->
+        {
+            Optional<StoreProjectVersionData> versionData = found.containsKey(pv.getGav()) ? Optional.of(found.get(pv.getGav())) : this.find(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+            checkVersionExists(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId(), versionData);
+            return versionData.get();
+        }).collect(Collectors.toList());
+    }
+
+    private boolean isVersionAlias(String versionId)
+    {
+        return VersionAlias.LATEST.getName().equals(versionId) || VersionAlias.HEAD.getName().equals(versionId);
+    }
+
+    private String checkVersionExists(String groupId, String artifactId, String versionId, Optional<StoreProjectVersionData> projectVersion)
     {
         String version;
-        Optional<StoreProjectVersionData> projectVersion = this.find(groupId, artifactId, versionId);
         if (projectVersion.isPresent())
         {
             version = projectVersion.get().getVersionId();
@@ -222,7 +272,7 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public void checkExists(String groupId, String artifactId) throws IllegalArgumentException
     {
-        if (!this.projects.find(groupId, artifactId).isPresent())
+        if (!this.findCoordinates(groupId, artifactId).isPresent())
         {
             throw new IllegalArgumentException(String.format("No project found for %s-%s",groupId,artifactId));
         }
@@ -236,48 +286,99 @@ public class ProjectsServiceImpl implements ProjectsService
         {
             String version = this.resolveAliasesAndCheckVersionExists(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
             StoreProjectVersionData projectData = this.getProject(pv.getGroupId(), pv.getArtifactId(), version);
-            List<ProjectVersion> projectVersionDependencies = projectData.getVersionData().getDependencies();
-            dependencies.addAll(this.dependencyOverride.overrideWith(projectVersionDependencies, projectVersions, this::getDependencies));
-            if (transitive && !projectVersionDependencies.isEmpty())
+            dependencies.addAll(this.getDependencies(projectData, projectVersions, transitive));
+        });
+        return dependencies;
+    }
+
+    private Set<ProjectVersion> getDependencies(StoreProjectVersionData projectData, List<ProjectVersion> projectVersions, boolean transitive)
+    {
+        Set<ProjectVersion> dependencies = new HashSet<>();
+        // overrideWith modifies the list it is given, project data may be shared through the cache
+        List<ProjectVersion> projectVersionDependencies = projectData.getVersionData().getDependencies();
+        dependencies.addAll(this.dependencyOverride.overrideWith(new ArrayList<>(projectVersionDependencies), projectVersions, this::getDependencies));
+        if (transitive && !projectVersionDependencies.isEmpty())
+        {
+            if (projectData.getTransitiveDependenciesReport().isValid())
+            {
+                // Transitive dependencies report contains both direct and transitive dependencies
+                dependencies.addAll(this.dependencyOverride.overrideWith(new ArrayList<>(projectData.getTransitiveDependenciesReport().getTransitiveDependencies()), projectVersions, this::getDependencies));
+            }
+            else
             {
-                if (projectData.getTransitiveDependenciesReport().isValid())
-                {
-                    // Transitive dependencies report contains both direct and transitive dependencies
-                    dependencies.addAll(this.dependencyOverride.overrideWith(projectData.getTransitiveDependenciesReport().getTransitiveDependencies(), projectVersions, this::getDependencies));
-                }
-                else
-                {
-                    throw new IllegalStateException(String.format("Error calculating transitive dependencies for project version - %s-%s-%s", projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId()));
-                }
+                throw new IllegalStateException(String.format("Error calculating transitive dependencies for project version - %s-%s-%s", projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId()));
             }
+        }
+        return dependencies;
+    }
+
+    private Map<ProjectVersion, Set<ProjectVersion>> getTransitiveDependencies(List<ProjectVersion> projectVersions)
+    {
+        List<ProjectVersion> resolvedVersions = this.resolveAliasesAndCheckVersionsExist(projectVersions);
+        Map<ProjectVersion, Set<ProjectVersion>> dependencies = new HashMap<>();
+        projectsCache.find(resolvedVersions, projectsVersions::find).forEach(projectData ->
+        {
+            ProjectVersion projectVersion = new ProjectVersion(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
+            dependencies.put(projectVersion, this.getDependencies(checkNotExcluded(projectData), Collections.singletonList(projectVersion), true));
         });
         return dependencies;
     }
 
-    public void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context)
+    public void buildDependencyGraph(DependencyGraph graph, List<ProjectVersion> rootNodes, ProjectDependencyGraphWalkerContext context)
     {
-        children.forEach(projectVersion ->
+        List<ProjectVersion> frontier = rootNodes.stream().distinct().collect(Collectors.toList());
+        while (!frontier.isEmpty())
+        {
+            loadProjectVersions(frontier, context);
+            frontier.forEach(projectVersion -> graph.setDependencies(projectVersion, context.getProjectVersionToDependencyMap().get(projectVersion)));
+            frontier = frontier.stream().flatMap(projectVersion -> context.getProjectVersionToDependencyMap().get(projectVersion).stream()).filter(projectVersion -> !graph.isLoaded(projectVersion)).distinct().collect(Collectors.toList());
+        }
+        // a requested version is only a root if it is not a dependency of a version requested before it
+        List<ProjectVersion> previous = new ArrayList<>();
+        rootNodes.forEach(projectVersion ->
         {
-            if (!graph.hasNode(projectVersion))
+            if (!graph.getTransitiveDependencies(previous).contains(projectVersion))
             {
-                graph.addNode(projectVersion, parent);
-                if (!context.getProjectVersionToDependencyMap().containsKey(projectVersion))
-                {
-                    StoreProjectVersionData projectData =  context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
-                }
-                List<ProjectVersion> dependencies = context.getProjectVersionToDependencyMap().get(projectVersion);
-                dependencies.forEach(child -> graph.setEdges(projectVersion, child));
-                buildDependencyGraph(graph, projectVersion, dependencies, context);
+                graph.addRootNode(projectVersion);
             }
+            previous.add(projectVersion);
+        });
+    }
+
+    /**
+     * @deprecated use {@link #buildDependencyGraph(DependencyGraph, List, ProjectDependencyGraphWalkerContext)}
+     */
+    @Deprecated
+    public void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context)
+    {
+        DependencyGraph dependencyGraph = new DependencyGraph();
+        buildDependencyGraph(dependencyGraph, children, context);
+        Set<ProjectVersion> rootNodes = parent == null ? dependencyGraph.getRootNodes() : Collections.emptySet();
+        dependencyGraph.getNodes().forEach(projectVersion ->
+        {
+            graph.addNode(projectVersion, rootNodes.contains(projectVersion) ? null : dependencyGraph.getDependants(projectVersion).stream().findFirst().orElse(parent));
+            dependencyGraph.getDependencies(projectVersion).forEach(dependency -> graph.setEdges(projectVersion, dependency));
+        });
+    }
+
+    private void loadProjectVersions(List<ProjectVersion> projectVersions, ProjectDependencyGraphWalkerContext context)
+    {
+        List<ProjectVersion> missing = projectVersions.stream().filter(pv -> !context.getProjectVersionToDependencyMap().containsKey(pv)).collect(Collectors.toList());
+        Map<String, StoreProjectVersionData> found = new HashMap<>();
+        projectsCache.find(missing.stream().filter(pv -> !isVersionAlias(pv.getVersionId())).collect(Collectors.toList()), projectsVersions::find).forEach(pv -> found.put(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).getGav(), pv));
+        missing.forEach(projectVersion ->
+        {
+            StoreProjectVersionData projectData = context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> found.containsKey(projectVersion.getGav()) ? checkNotExcluded(found.get(projectVersion.getGav())) : getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
+            context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
         });
     }
 
     public ProjectDependencyReport getProjectDependencyReport(List<ProjectVersion> projectDependencyVersions)
     {
-        ProjectDependencyGraph graph = new ProjectDependencyGraph();
+        // the graph is scoped to this report: a shared one would need locking and a view limited to the requested roots
+        DependencyGraph graph = new DependencyGraph();
         ProjectDependencyGraphWalkerContext  graphWalkerContext =  new ProjectDependencyGraphWalkerContext();
-        buildDependencyGraph(graph, null, projectDependencyVersions, graphWalkerContext);
+        buildDependencyGraph(graph, projectDependencyVersions, graphWalkerContext);
         buildProjectVersionMap(projectDependencyVersions, graphWalkerContext);
         return buildReportFromGraph(graph, graphWalkerContext);
     }
@@ -290,6 +391,7 @@ public class ProjectsServiceImpl implements ProjectsService
             StoreProjectVersionData versionData = graphWalkerContext.getProjectData(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
             if (versionData.getTransitiveDependenciesReport().isValid())
             {
+                // overrides are answered from the stored reports, plain graph reachability would keep versions those reports override
                 dependencies.addAll(this.dependencyOverride.overrideWith(versionData.getTransitiveDependenciesReport().getTransitiveDependencies(), projectDependencyVersions, graphWalkerContext::getProjectDataDependencies));
             }
             else
@@ -300,10 +402,13 @@ public class ProjectsServiceImpl implements ProjectsService
         dependencies.forEach(dep -> graphWalkerContext.addVersionToProject(dep.getGroupId(), dep.getArtifactId(), dep));
     }
 
-    public ProjectDependencyReport buildReportFromGraph(ProjectDependencyGraph dependencyGraph, ProjectDependencyGraphWalkerContext graphWalkerContext)
+    public ProjectDependencyReport buildReportFromGraph(DependencyGraph dependencyGraph, ProjectDependencyGraphWalkerContext graphWalkerContext)
     {
         ProjectDependencyReport report = new ProjectDependencyReport();
         ProjectDependencyReport.SerializedGraph graph = report.getGraph();
+        Map<String, String> projectIds = new HashMap<>();
+        List<ProjectVersion> loadedVersions = dependencyGraph.getNodes().stream().filter(pv -> graphWalkerContext.getProjectData(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()) != null).collect(Collectors.toList());
+        this.projects.find(loadedVersions).forEach(project -> projectIds.put(project.getGroupId() + ":" + project.getArtifactId(), project.getProjectId()));
 
         dependencyGraph.getNodes().forEach(projectVersion ->
         {
@@ -313,13 +418,12 @@ public class ProjectsServiceImpl implements ProjectsService
             StoreProjectVersionData projectData = graphWalkerContext.getProjectData(versionNode.getGroupId(), versionNode.getArtifactId(), versionNode.getVersionId());
             if (projectData != null)
             {
-                StoreProjectData projectCoordinates = this.projects.find(projectData.getGroupId(), projectData.getArtifactId()).get();
-                versionNode.setProjectId(projectCoordinates.getProjectId());
+                versionNode.setProjectId(projectIds.get(projectData.getGroupId() + ":" + projectData.getArtifactId()));
             }
             // forward edges
-            dependencyGraph.getForwardEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
+            dependencyGraph.getDependencies(projectVersion).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
             // back edges
-            dependencyGraph.getBackEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(backEdge -> versionNode.getBackEdges().add(backEdge.getGav()));
+            dependencyGraph.getDependants(projectVersion).forEach(backEdge -> versionNode.getBackEdges().add(backEdge.getGav()));
         });
         // add root nodes
         dependencyGraph.getRootNodes().forEach(rootNode -> graph.getRootNodes().add(rootNode.getGav()));
@@ -337,34 +441,40 @@ public class ProjectsServiceImpl implements ProjectsService
         return report;
     }
 
+    /**
+     * @deprecated use {@link #buildReportFromGraph(DependencyGraph, ProjectDependencyGraphWalkerContext)}
+     */
+    @Deprecated
+    public ProjectDependencyReport buildReportFromGraph(ProjectDependencyGraph graph, ProjectDependencyGraphWalkerContext graphWalkerContext)
+    {
+        DependencyGraph dependencyGraph = new DependencyGraph();
+        graph.getNodes().forEach(projectVersion -> dependencyGraph.setDependencies(projectVersion, graph.getForwardEdges().getOrDefault(projectVersion, Collections.emptySet())));
+        graph.getRootNodes().forEach(dependencyGraph::addRootNode);
+        return buildReportFromGraph(dependencyGraph, graphWalkerContext);
+    }
+
     @Override
     public List<ProjectDependencyWithPlatformVersions> getDependantProjects(String groupId, String artifactId, String versionId, boolean latestOnly)
     {
-        ConcurrentLinkedQueue<ProjectDependencyWithPlatformVersions> result = new ConcurrentLinkedQueue<>();
+        List<ProjectDependencyWithPlatformVersions> result = new ArrayList<>();
         if (versionId.equalsIgnoreCase("ALL"))
         {
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
+            projectsVersions.findDependants(groupId, artifactId).forEach(projectData ->
             {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
+                Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
+                dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
             });
         }
         else
         {
             String version =  this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
+            projectsVersions.findDependants(groupId, artifactId, version).forEach(projectData ->
             {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
+                Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
+                dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
             });
         }
-        return latestOnly ? filterProjectByLatest(result.stream().collect(Collectors.toList())) : result.stream().collect(Collectors.toList());
+        return latestOnly ? filterProjectByLatest(result) : result;
     }
 
     @Override
@@ -384,45 +494,7 @@ public class ProjectsServiceImpl implements ProjectsService
             alternativeVersions.put(pv.getGa(), alternatives);
         });
 
-        MaxSATSolver maxSatSolver = MaxSATSolver.wbo(new FormulaFactory());
-
-        // Convert to LogicNG formulas
-        DependencySATConverter converter = new DependencySATConverter(maxSatSolver.factory());
-        LogicNGSATResult satResult = converter.convertToLogicNGFormulas(alternativeVersions, this);
-
-        satResult.getClauses().forEach(maxSatSolver::addHardFormula);
-
-        satResult.getWeights().forEach(maxSatSolver::addSoftFormula);
-        MaxSAT.MaxSATResult result = maxSatSolver.solve();
-        // Solve and extract solution
-        if (result == MaxSAT.MaxSATResult.OPTIMUM)
-        {
-            return extractSolutionFromModel(maxSatSolver.model(), satResult, actualRequiredProjects);
-        }
-
-        return Collections.emptyList();
-    }
-
-    private List<ProjectVersion> extractSolutionFromModel(Assignment model, LogicNGSATResult satResult, List<ProjectVersion> originalRequiredProjects)
-    {
-        List<ProjectVersion> solution = new ArrayList<>();
-        Set<String> requiredProjectCoordinates = originalRequiredProjects.stream()
-                .map(pv -> pv.getGroupId() + ":" + pv.getArtifactId())
-                .collect(Collectors.toSet());
-
-        satResult.getReverseVariableMap().forEach((variable, projectVersion) ->
-        {
-            if (model.evaluateLit(variable))
-            {
-                String projectCoordinate = projectVersion.getGroupId() + ":" + projectVersion.getArtifactId();
-                if (requiredProjectCoordinates.contains(projectCoordinate))
-                {
-                    solution.add(projectVersion);
-                }
-            }
-        });
-
-        return solution;
+        return dependencyResolver.resolve(actualRequiredProjects, alternativeVersions, this::getTransitiveDependencies);
     }
 
     private List<ProjectVersion> getActualRequiredProjects(List<ProjectVersion> requiredProjects)
@@ -453,12 +525,9 @@ public class ProjectsServiceImpl implements ProjectsService
         if (backtrackVersions > 0 && !VersionValidator.isSnapshotVersion(pv.getVersionId()))
         {
             LOGGER.info("Finding alternative versions for {}-{}-{} with backtrack {}", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId(), backtrackVersions);
-            List<String> versionStrings = this.getVersions(pv.getGroupId(), pv.getArtifactId(), false);
-            versionStrings.sort((v1, v2) -> VersionId.parseVersionId(v2).compareTo(VersionId.parseVersionId(v1)));
+            List<String> versionStrings = this.getVersionsIndex(pv.getGroupId(), pv.getArtifactId()).getLatestReleases(backtrackVersions);
             LOGGER.info("Found {} versions for {}-{}, latest is {}", versionStrings.size(), pv.getGroupId(), pv.getArtifactId(), versionStrings.isEmpty() ? "N/A" : versionStrings.get(0));
-            versionStrings.stream()
-                    .limit(backtrackVersions)
-                    .forEach(v -> alternatives.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), v)));
+            versionStrings.forEach(v -> alternatives.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), v)));
         }
         else
         {
@@ -471,8 +540,20 @@ public class ProjectsServiceImpl implements ProjectsService
 
     private List<ProjectDependencyWithPlatformVersions> filterProjectByLatest(List<ProjectDependencyWithPlatformVersions> projects)
     {
-        Map<String, List<ProjectDependencyWithPlatformVersions>> groupedProjectDependencyWithPlatformVersions = projects.stream().filter(p -> !VersionValidator.isSnapshotVersion(p.getVersionId())).collect(Collectors.groupingBy(p -> p.getGroupId() + p.getArtifactId()));
-        return groupedProjectDependencyWithPlatformVersions.entrySet().stream().map(set -> set.getValue().stream().max(Comparator.comparing(ProjectDependencyWithPlatformVersions::getVersionId)).get()).collect(Collectors.toList());
+        Map<String, ProjectDependencyWithPlatformVersions> latestProjects = new HashMap<>();
+        Map<String, VersionId> latestVersionIds = new HashMap<>();
+        projects.stream().filter(p -> !VersionValidator.isSnapshotVersion(p.getVersionId())).forEach(p ->
+        {
+            String key = p.getGroupId() + ":" + p.getArtifactId();
+            VersionId versionId = VersionId.parseVersionId(p.getVersionId());
+            VersionId latestVersionId = latestVersionIds.get(key);
+            if (latestVersionId == null || versionId.compareTo(latestVersionId) > 0)
+            {
+                latestVersionIds.put(key, versionId);
+                latestProjects.put(key, p);
+            }
+        });
+        return new ArrayList<>(latestProjects.values());
     }
 
     private StoreProjectVersionData getProject(String groupId, String artifactId, String versionId)
@@ -482,11 +563,16 @@ public class ProjectsServiceImpl implements ProjectsService
         {
             throw new IllegalArgumentException(String.format(NOT_FOUND_IN_STORE, groupId, artifactId, versionId));
         }
-        ProjectVersionData versionData = projectData.get().getVersionData();
+        return checkNotExcluded(projectData.get());
+    }
+
+    private StoreProjectVersionData checkNotExcluded(StoreProjectVersionData projectData)
+    {
+        ProjectVersionData versionData = projectData.getVersionData();
         if (versionData.isExcluded())
         {
-            throw new IllegalArgumentException(String.format(EXCLUSION_FOUND_IN_STORE, groupId, artifactId, versionId, versionData.getExclusionReason()));
+            throw new IllegalArgumentException(String.format(EXCLUSION_FOUND_IN_STORE, projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), versionData.getExclusionReason()));
         }
-        return projectData.get();
+        return projectData;
     }
 }
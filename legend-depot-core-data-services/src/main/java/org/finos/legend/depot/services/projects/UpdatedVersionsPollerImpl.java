@@ -0,0 +1,77 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import org.finos.legend.depot.domain.DatesHandler;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.services.api.schedules.SchedulesFactory;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+public class UpdatedVersionsPollerImpl implements UpdatedVersionsPoller
+{
+    private static final String SCHEDULE_NAME = "refresh-caches";
+    private static final long POLL_OVERLAP_IN_MILLIS = 60 * 1000L;
+
+    private final ProjectsVersions projectsVersions;
+    private final SchedulesFactory schedulesFactory;
+    private final long intervalInMillis;
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private volatile long lastRefresh = DatesHandler.toTime(LocalDateTime.now());
+
+    public UpdatedVersionsPollerImpl(ProjectsVersions projectsVersions)
+    {
+        this(projectsVersions, null, 0);
+    }
+
+    public UpdatedVersionsPollerImpl(ProjectsVersions projectsVersions, SchedulesFactory schedulesFactory, long intervalInMillis)
+    {
+        this.projectsVersions = projectsVersions;
+        this.schedulesFactory = schedulesFactory;
+        this.intervalInMillis = intervalInMillis;
+    }
+
+    @Override
+    public synchronized void register(Listener listener)
+    {
+        // the schedule only starts once a cache listens, so nodes without caches never poll
+        if (listeners.isEmpty() && schedulesFactory != null)
+        {
+            schedulesFactory.register(SCHEDULE_NAME, intervalInMillis, intervalInMillis, this::poll);
+        }
+        listeners.add(listener);
+    }
+
+    @Override
+    public long poll()
+    {
+        if (listeners.isEmpty())
+        {
+            return 0;
+        }
+        long now = DatesHandler.toTime(LocalDateTime.now());
+        // only the coordinates of updated versions are read, never their stored data
+        List<ProjectVersion> updated = projectsVersions.findUpdatedCoordinates(lastRefresh - POLL_OVERLAP_IN_MILLIS, now + 1).stream()
+                .map(pv -> new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())).collect(Collectors.toList());
+        lastRefresh = now;
+        return listeners.stream().mapToLong(listener -> listener.evictUpdatedVersions(updated)).sum();
+    }
+}
@@ -0,0 +1,77 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class TestDependencyGraph
+{
+    private static final ProjectVersion A = new ProjectVersion("org.finos.legend", "a", "1.0.0");
+    private static final ProjectVersion B1 = new ProjectVersion("org.finos.legend", "b", "1.0.0");
+    private static final ProjectVersion B2 = new ProjectVersion("org.finos.legend", "b", "2.0.0");
+    private static final ProjectVersion C = new ProjectVersion("org.finos.legend", "c", "1.0.0");
+    private static final ProjectVersion D = new ProjectVersion("org.finos.legend", "d", "1.0.0");
+
+    private DependencyGraph buildGraph()
+    {
+        DependencyGraph graph = new DependencyGraph();
+        graph.addRootNode(A);
+        graph.setDependencies(A, Arrays.asList(B1, C));
+        graph.setDependencies(C, Arrays.asList(B2, D));
+        graph.setDependencies(B1, Collections.emptyList());
+        graph.setDependencies(B2, Collections.singletonList(D));
+        graph.setDependencies(D, Collections.emptyList());
+        return graph;
+    }
+
+    @Test
+    public void canQueryEdgesInBothDirections()
+    {
+        DependencyGraph graph = buildGraph();
+        Assertions.assertEquals(5, graph.size());
+        Assertions.assertEquals(Collections.singleton(A), graph.getRootNodes());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(B1, C)), graph.getDependencies(A));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(C, B2)), graph.getDependants(D));
+        Assertions.assertTrue(graph.getDependencies(new ProjectVersion("org.finos.legend", "unknown", "1.0.0")).isEmpty());
+    }
+
+    @Test
+    public void canComputeTransitiveClosures()
+    {
+        DependencyGraph graph = buildGraph();
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(B1, B2, C, D)), graph.getTransitiveDependencies(Collections.singletonList(A)));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(A, C, B2)), graph.getTransitiveDependants(Collections.singletonList(D)));
+        Assertions.assertTrue(graph.getTransitiveDependencies(Collections.singletonList(D)).isEmpty());
+    }
+
+    @Test
+    public void canReplaceDependenciesIncrementally()
+    {
+        DependencyGraph graph = buildGraph();
+        graph.setDependencies(C, Collections.singletonList(B1));
+        Assertions.assertEquals(Collections.singleton(B1), graph.getDependencies(C));
+        Assertions.assertEquals(Collections.singleton(B2), graph.getDependants(D));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(A, C)), graph.getDependants(B1));
+        Assertions.assertTrue(graph.isLoaded(C));
+        Assertions.assertFalse(graph.isLoaded(new ProjectVersion("org.finos.legend", "e", "1.0.0")));
+    }
+}
@@ -0,0 +1,110 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+public class TestDependencyResolver
+{
+    private static final ProjectVersion A1 = new ProjectVersion("org.finos.legend", "a", "1.0.0");
+    private static final ProjectVersion B1 = new ProjectVersion("org.finos.legend", "b", "1.0.0");
+    private static final ProjectVersion B2 = new ProjectVersion("org.finos.legend", "b", "2.0.0");
+    private static final ProjectVersion B3 = new ProjectVersion("org.finos.legend", "b", "3.0.0");
+    private static final ProjectVersion C1 = new ProjectVersion("org.finos.legend", "c", "1.0.0");
+    private static final ProjectVersion C2 = new ProjectVersion("org.finos.legend", "c", "2.0.0");
+    private static final ProjectVersion B_SNAPSHOT = new ProjectVersion("org.finos.legend", "b", "master-SNAPSHOT");
+
+    private final List<List<ProjectVersion>> loads = new ArrayList<>();
+
+    private Map<ProjectVersion, Set<ProjectVersion>> load(List<ProjectVersion> projectVersions)
+    {
+        loads.add(projectVersions);
+        Map<ProjectVersion, Set<ProjectVersion>> dependencies = new HashMap<>();
+        projectVersions.forEach(pv ->
+        {
+            if (pv.equals(A1) || pv.equals(B3))
+            {
+                dependencies.put(pv, Collections.singleton(C2));
+            }
+            else if (pv.equals(B2) || pv.equals(B_SNAPSHOT))
+            {
+                dependencies.put(pv, Collections.singleton(C1));
+            }
+            else
+            {
+                dependencies.put(pv, Collections.emptySet());
+            }
+        });
+        return dependencies;
+    }
+
+    private Map<String, Set<ProjectVersion>> alternatives(ProjectVersion... versions)
+    {
+        Map<String, Set<ProjectVersion>> alternatives = new HashMap<>();
+        Arrays.stream(versions).forEach(pv -> alternatives.computeIfAbsent(pv.getGa(), ga -> new HashSet<>()).add(pv));
+        return alternatives;
+    }
+
+    @Test
+    public void canResolveWithBatchedAndCachedDependencies()
+    {
+        DependencyResolver resolver = new DependencyResolver(100, 0);
+        Function<List<ProjectVersion>, Map<ProjectVersion, Set<ProjectVersion>>> loader = this::load;
+        List<ProjectVersion> required = Arrays.asList(A1, B2);
+
+        List<ProjectVersion> result = resolver.resolve(required, alternatives(A1, B1, B2, B3), loader);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(A1, B3)), new HashSet<>(result));
+        Assertions.assertEquals(1, loads.size());
+        Assertions.assertEquals(4, resolver.size());
+
+        List<ProjectVersion> again = resolver.resolve(required, alternatives(A1, B1, B2, B3), loader);
+        Assertions.assertEquals(new HashSet<>(result), new HashSet<>(again));
+        Assertions.assertEquals(1, loads.size());
+    }
+
+    @Test
+    public void snapshotDependenciesAreNotCached()
+    {
+        DependencyResolver resolver = new DependencyResolver(100, 0);
+        List<ProjectVersion> required = Arrays.asList(A1, B_SNAPSHOT);
+
+        Assertions.assertTrue(resolver.resolve(required, alternatives(A1, B_SNAPSHOT), this::load).isEmpty());
+        Assertions.assertTrue(resolver.resolve(required, alternatives(A1, B_SNAPSHOT), this::load).isEmpty());
+        Assertions.assertEquals(Arrays.asList(Collections.singletonList(B_SNAPSHOT)), loads.subList(1, 2));
+        Assertions.assertEquals(1, resolver.size());
+    }
+
+    @Test
+    public void canResolveWithinTimeBudget()
+    {
+        DependencyResolver resolver = new DependencyResolver(0, 10000);
+        List<ProjectVersion> result = resolver.resolve(Arrays.asList(A1, B2), alternatives(A1, B1, B2), this::load);
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(A1, B1)), new HashSet<>(result));
+        Assertions.assertEquals(0, resolver.size());
+    }
+}
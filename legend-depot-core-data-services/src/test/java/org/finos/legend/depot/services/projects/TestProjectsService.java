@@ -15,13 +15,21 @@
 
 package org.finos.legend.depot.services.projects;
 
+import com.google.common.base.Ticker;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.map.MutableMap;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
 import org.finos.legend.depot.services.dependencies.DependencySATConverter;
+import org.finos.legend.depot.services.dependencies.DependencyResolver;
+import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.services.dependencies.ProjectDependencyGraphWalkerContext;
 import org.finos.legend.depot.services.dependencies.LogicNGSATResult;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.store.model.projects.ProjectVersionsIndex;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyGraph;
 import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionAlias;
@@ -47,6 +55,8 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -56,7 +66,12 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class TestProjectsService extends TestBaseServices
 {
@@ -154,6 +169,29 @@ public class TestProjectsService extends TestBaseServices
         Assertions.assertEquals(0, dependencyReport.getConflicts().size());
     }
 
+    @Test
+    @SuppressWarnings("deprecation")
+    public void deprecatedGraphOverloadsBuildTheSameReport()
+    {
+        List<ProjectVersion> rootNodes = Collections.singletonList(new ProjectVersion("examples.metadata", "test", "2.3.1"));
+        ProjectsServiceImpl service = (ProjectsServiceImpl) projectsService;
+        ProjectDependencyGraph graph = new ProjectDependencyGraph();
+        ProjectDependencyGraphWalkerContext context = new ProjectDependencyGraphWalkerContext();
+        service.buildDependencyGraph(graph, null, rootNodes, context);
+        Assertions.assertEquals(3, graph.getNodes().size());
+        Assertions.assertEquals(Collections.singleton(rootNodes.get(0)), graph.getRootNodes());
+
+        ProjectDependencyReport.SerializedGraph expected = projectsService.getProjectDependencyReport(rootNodes).getGraph();
+        ProjectDependencyReport.SerializedGraph actual = service.buildReportFromGraph(graph, context).getGraph();
+        Assertions.assertEquals(expected.getRootNodes(), actual.getRootNodes());
+        Assertions.assertEquals(expected.getNodes().keySet(), actual.getNodes().keySet());
+        expected.getNodes().forEachKeyValue((id, node) ->
+        {
+            Assertions.assertEquals(node.getForwardEdges(), actual.getNodes().get(id).getForwardEdges());
+            Assertions.assertEquals(node.getBackEdges(), actual.getNodes().get(id).getBackEdges());
+        });
+    }
+
     @Test
     public void canGetProjectDependenciesWithOutDuplicates()
     {
@@ -452,6 +490,19 @@ public class TestProjectsService extends TestBaseServices
         Assertions.assertEquals(BRANCH_SNAPSHOT("master"), projectsService.resolveAliasesAndCheckVersionExists("examples.metadata","test", "head"));
     }
 
+    @Test
+    public void canResolveSeveralProjectVersionsAtOnce()
+    {
+        List<ProjectVersion> resolved = projectsService.resolveAliasesAndCheckVersionsExist(Arrays.asList(new ProjectVersion("examples.metadata", "test", "latest"),
+                new ProjectVersion("examples.metadata", "test", "head"),
+                new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0")));
+        Assertions.assertEquals(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"),
+                new ProjectVersion("examples.metadata", "test", BRANCH_SNAPSHOT("master")),
+                new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0")), resolved);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> projectsService.resolveAliasesAndCheckVersionsExist(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"), new ProjectVersion("examples.metadata", "test1", "1.0.0"))), "project version not found for examples.metadata-test1-1.0.0");
+    }
+
     @Test
     public void canGetSnapshotVersions()
     {
@@ -1873,4 +1924,117 @@ public class TestProjectsService extends TestBaseServices
         Assertions.assertEquals("org.finos.legend:project_a:472.0.0", alternatives.get(8).getGav());
         Assertions.assertEquals("org.finos.legend:project_a:471.0.0", alternatives.get(9).getGav());
     }
+
+    @Test
+    public void canServeProjectMetadataFromCache()
+    {
+        ProjectsCache projectsCache = new ProjectsCache("test_projects_cache", 100, 600);
+        UpdatedVersionsPoller poller = new UpdatedVersionsPollerImpl(projectsVersionsStore);
+        poller.register(updated -> projectsCache.evictUpdatedVersions(updated, projectsVersionsStore));
+        ProjectsServiceImpl cachedService = new ProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, new ProjectsConfiguration("master"), new DependencyUtil(), projectsCache, new DependencyResolver(0, 0));
+
+        Assertions.assertEquals("2.3.1", cachedService.resolveAliasesAndCheckVersionExists("examples.metadata", "test", VersionAlias.LATEST.getName()));
+        Assertions.assertFalse(cachedService.find("examples.metadata", "test", "9.9.9").isPresent());
+        Assertions.assertEquals(3, projectsCache.size());
+
+        projectsStore.delete("examples.metadata", "test");
+        Assertions.assertTrue(cachedService.findCoordinates("examples.metadata", "test").isPresent());
+
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "9.9.9"));
+        Assertions.assertFalse(cachedService.find("examples.metadata", "test", "9.9.9").isPresent());
+
+        Assertions.assertTrue(poller.poll() > 0);
+        Assertions.assertTrue(cachedService.find("examples.metadata", "test", "9.9.9").isPresent());
+        Assertions.assertFalse(cachedService.findCoordinates("examples.metadata", "test").isPresent());
+
+        List<ProjectVersion> resolved = cachedService.resolveAliasesAndCheckVersionsExist(Arrays.asList(new ProjectVersion("examples.metadata", "test", "9.9.9"), new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0")));
+        Assertions.assertEquals(Arrays.asList("9.9.9", "1.0.0"), resolved.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void updatedVersionsArePolledOnceForEveryCache()
+    {
+        ProjectsVersions projectsVersions = spy(projectsVersionsStore);
+        UpdatedVersionsPoller poller = new UpdatedVersionsPollerImpl(projectsVersions);
+        Assertions.assertEquals(0, poller.poll());
+        verify(projectsVersions, never()).findUpdatedCoordinates(anyLong(), anyLong());
+
+        List<List<ProjectVersion>> received = new ArrayList<>();
+        poller.register(updated ->
+        {
+            received.add(updated);
+            return updated.size();
+        });
+        poller.register(updated ->
+        {
+            received.add(updated);
+            return updated.size();
+        });
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "9.9.9"));
+
+        long invalidated = poller.poll();
+        verify(projectsVersions, times(1)).findUpdatedCoordinates(anyLong(), anyLong());
+        verify(projectsVersions, never()).findByUpdatedDate(anyLong(), anyLong());
+        Assertions.assertEquals(2, received.size());
+        Assertions.assertEquals(received.get(0), received.get(1));
+        Assertions.assertTrue(received.get(0).contains(new ProjectVersion("examples.metadata", "test", "9.9.9")));
+        Assertions.assertEquals(2L * received.get(0).size(), invalidated);
+    }
+
+    @Test
+    public void cachedProjectMetadataDropsVersionsDeletedElsewhere()
+    {
+        AtomicLong nanos = new AtomicLong();
+        ProjectsCache projectsCache = new ProjectsCache("test_projects_cache", 100, 600, new Ticker()
+        {
+            @Override
+            public long read()
+            {
+                return nanos.get();
+            }
+        });
+        UpdatedVersionsPoller poller = new UpdatedVersionsPollerImpl(projectsVersionsStore);
+        poller.register(updated -> projectsCache.evictUpdatedVersions(updated, projectsVersionsStore));
+        ProjectsServiceImpl cachedService = new ProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, new ProjectsConfiguration("master"), new DependencyUtil(), projectsCache, new DependencyResolver(0, 0));
+
+        Assertions.assertTrue(cachedService.find("examples.metadata", "test", "2.3.1").isPresent());
+        projectsVersionsStore.delete("examples.metadata", "test", "2.3.1");
+        Assertions.assertTrue(cachedService.find("examples.metadata", "test", "2.3.1").isPresent());
+        Assertions.assertTrue(poller.poll() > 0);
+        Assertions.assertFalse(cachedService.find("examples.metadata", "test", "2.3.1").isPresent());
+
+        // versions that were not found are only remembered briefly
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "2.3.1"));
+        Assertions.assertFalse(cachedService.find("examples.metadata", "test", "2.3.1").isPresent());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        Assertions.assertTrue(cachedService.find("examples.metadata", "test", "2.3.1").isPresent());
+    }
+
+    @Test
+    public void canMaintainSortedVersionsIndex()
+    {
+        ProjectsCache projectsCache = new ProjectsCache("test_versions_index", 100, 600);
+        ManageProjectsService cachedService = new ManageProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, new ProjectsConfiguration("master"), new DependencyUtil(), projectsCache, new DependencyResolver(0, 0));
+        cachedService.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", "10.0.0"));
+        cachedService.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", "9.1.0"));
+        cachedService.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", BRANCH_SNAPSHOT("master")));
+        cachedService.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", "9.0.0"));
+
+        Assertions.assertEquals(Arrays.asList("9.0.0", "9.1.0", "10.0.0"), cachedService.getVersions("examples.metadata", "versions"));
+        Assertions.assertEquals(Arrays.asList("9.0.0", "9.1.0", "10.0.0", "master-SNAPSHOT"), cachedService.getVersions("examples.metadata", "versions", true));
+
+        cachedService.excludeProjectVersion("examples.metadata", "versions", "9.1.0", "unknown error");
+        cachedService.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", "11.0.0"));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "versions", "12.0.0"));
+
+        ProjectVersionsIndex index = cachedService.getVersionsIndex("examples.metadata", "versions");
+        Assertions.assertEquals(5, index.size());
+        Assertions.assertEquals(Arrays.asList("11.0.0", "10.0.0"), index.getLatestReleases(2));
+        Assertions.assertEquals(Arrays.asList("10.0.0", "11.0.0"), index.getReleasesSince(VersionId.parseVersionId("9.0.0")));
+        Assertions.assertEquals("11.0.0", index.getLatestActiveRelease().get());
+
+        cachedService.delete("examples.metadata", "versions", "11.0.0");
+        Assertions.assertEquals(Arrays.asList("9.0.0", "10.0.0", "12.0.0"), new ProjectsServiceImpl(projectsVersionsStore, projectsStore, metrics, queue, new ProjectsConfiguration("master")).getVersions("examples.metadata", "versions"));
+        Assertions.assertEquals(Arrays.asList("9.0.0", "10.0.0"), cachedService.getVersions("examples.metadata", "versions"));
+    }
 }
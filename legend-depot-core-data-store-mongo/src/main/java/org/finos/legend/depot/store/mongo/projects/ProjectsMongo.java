@@ -22,6 +22,7 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.ProjectValidator;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.StoreException;
@@ -31,6 +32,7 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -98,6 +100,18 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return findOne(Filters.and(Filters.eq(BaseMongo.GROUP_ID, groupId), Filters.eq(BaseMongo.ARTIFACT_ID, artifactId)));
     }
 
+    @Override
+    public List<StoreProjectData> find(List<? extends CoordinateData> coordinates)
+    {
+        if (coordinates.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        List<Bson> filters = new ArrayList<>();
+        coordinates.forEach(coordinate -> filters.add(getArtifactFilter(coordinate.getGroupId(), coordinate.getArtifactId())));
+        return find(Filters.or(filters));
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
@@ -21,8 +21,10 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Projections;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.CoordinateValidator;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
@@ -31,6 +33,7 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,11 +41,17 @@ import java.util.Optional;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.or;
 
 public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> implements ProjectsVersions, UpdateProjectsVersions
 {
     public static final String COLLECTION = "versions";
     private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+    private static final String VERSION_DATA_DEPRECATED = "versionData.deprecated";
+    private static final String EVICTED = "evicted";
+    private static final Bson VERSIONS_SUMMARY_PROJECTION = Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, EVICTED, VERSION_DATA_EXCLUDED, VERSION_DATA_DEPRECATED);
+    private static final Bson COORDINATES_PROJECTION = Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID);
 
     @Inject
     public ProjectsVersionsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
@@ -52,7 +61,8 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID));
+        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
+                BaseMongo.buildIndex("versionData-dependencies", VERSION_DATA_DEPENDENCIES + "." + BaseMongo.GROUP_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.ARTIFACT_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.VERSION_ID));
     }
 
     @Override
@@ -76,12 +86,24 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return find(and(gte(UPDATED, updatedFrom),(lt(UPDATED, updatedTo))));
     }
 
+    @Override
+    public List<StoreProjectVersionData> findUpdatedCoordinates(long updatedFrom, long updatedTo)
+    {
+        return convert(executeFind(and(gte(UPDATED, updatedFrom), lt(UPDATED, updatedTo))).projection(COORDINATES_PROJECTION));
+    }
+
     @Override
     public List<StoreProjectVersionData> find(String groupId, String artifactId)
     {
         return find(Filters.and(getArtifactFilter(groupId, artifactId)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> findVersionsSummary(String groupId, String artifactId)
+    {
+        return convert(executeFind(getArtifactFilter(groupId, artifactId)).projection(VERSIONS_SUMMARY_PROJECTION));
+    }
+
     @Override
     public Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId)
     {
@@ -92,6 +114,42 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return findOne(Filters.and(getArtifactAndVersionFilter(groupId, artifactId, versionId)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> find(List<ProjectVersion> projectVersions)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        List<Bson> filters = new ArrayList<>();
+        projectVersions.forEach(pv -> filters.add(getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
+        return find(or(filters));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findCoordinates(List<ProjectVersion> projectVersions)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        List<Bson> filters = new ArrayList<>();
+        projectVersions.forEach(pv -> filters.add(getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
+        return convert(executeFind(or(filters)).projection(COORDINATES_PROJECTION));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findDependants(String groupId, String artifactId)
+    {
+        return find(Filters.elemMatch(VERSION_DATA_DEPENDENCIES, getArtifactFilter(groupId, artifactId)));
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId)
+    {
+        return find(Filters.elemMatch(VERSION_DATA_DEPENDENCIES, getArtifactAndVersionFilter(groupId, artifactId, versionId)));
+    }
+
     @Override
     public List<StoreProjectVersionData> findVersion(Boolean excluded)
     {
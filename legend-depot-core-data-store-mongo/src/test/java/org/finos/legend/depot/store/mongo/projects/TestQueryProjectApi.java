@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.api.projects.Projects;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
@@ -22,6 +23,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -52,6 +55,14 @@ public class TestQueryProjectApi extends CoreDataMongoStoreTests
 
     }
 
+    @Test
+    public void canFindByListOfMavenCoordinates()
+    {
+        List<StoreProjectData> projects = projectsAPI.find(Arrays.asList(new ProjectVersion("examples.metadata", "test", "1.0.0"), new ProjectVersion("example.services.test", "test", "2.0.0"), new ProjectVersion("examples.metadata", "unknown", "1.0.0")));
+        Assertions.assertEquals(2, projects.size());
+        Assertions.assertTrue(projectsAPI.find(Collections.emptyList()).isEmpty());
+    }
+
     @Test
     public void canFindByProjectId()
     {
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
@@ -23,6 +24,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -64,6 +67,18 @@ public class TestQueryProjectVersionApi extends CoreDataMongoStoreTests
         Assertions.assertEquals(1, allConfigs.size());
     }
 
+    @Test
+    public void canFindUpdatedCoordinatesOnly()
+    {
+        List<StoreProjectVersionData> updated = projectsVersionsAPI.findUpdatedCoordinates(1687227600000L, toTime(LocalDateTime.now()));
+        Assertions.assertEquals(projectsVersionsAPI.findByUpdatedDate(1687227600000L, toTime(LocalDateTime.now())).size(), updated.size());
+        updated.forEach(pv ->
+        {
+            Assertions.assertNotNull(pv.getVersionId());
+            Assertions.assertTrue(pv.getVersionData().getDependencies().isEmpty());
+        });
+    }
+
     @Test
     public void testFindingByProjectVersionCoordinates()
     {
@@ -99,4 +114,25 @@ public class TestQueryProjectVersionApi extends CoreDataMongoStoreTests
         Assertions.assertEquals("3.0.0", storeProjectVersionData.get(0).getVersionId());
     }
 
+    @Test
+    public void canFindDependantProjectVersions()
+    {
+        List<StoreProjectVersionData> dependants = projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies");
+        Assertions.assertEquals(2, dependants.size());
+        Assertions.assertTrue(dependants.stream().allMatch(pv -> "test".equals(pv.getArtifactId())));
+        Assertions.assertEquals(2, projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "1.0.0").size());
+        Assertions.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "2.0.0").isEmpty());
+        Assertions.assertTrue(projectsVersionsAPI.findDependants("examples.metadata", "test").isEmpty());
+    }
+
+    @Test
+    public void canFindStoredCoordinatesOnly()
+    {
+        List<StoreProjectVersionData> stored = projectsVersionsAPI.findCoordinates(Arrays.asList(new ProjectVersion("examples.metadata", "test", "master-SNAPSHOT"), new ProjectVersion("examples.metadata", "test", "1.0.0")));
+        Assertions.assertEquals(1, stored.size());
+        Assertions.assertEquals("master-SNAPSHOT", stored.get(0).getVersionId());
+        Assertions.assertTrue(stored.get(0).getVersionData().getDependencies().isEmpty());
+        Assertions.assertTrue(projectsVersionsAPI.findCoordinates(Collections.emptyList()).isEmpty());
+    }
+
 }
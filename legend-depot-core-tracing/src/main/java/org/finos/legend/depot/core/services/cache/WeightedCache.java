@@ -0,0 +1,117 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+/**
+ * Cache bounded by the total weight in bytes of its entries, reporting hits, misses, evictions and the weight it holds
+ * as metrics prefixed with its name. A cache with no maximum weight is disabled and never holds anything.
+ */
+public class WeightedCache<K, V>
+{
+    private static final String HITS = "_hits";
+    private static final String MISSES = "_misses";
+    private static final String EVICTIONS = "_evictions";
+    private static final String BYTES = "_bytes";
+
+    private final String name;
+    private final ToIntFunction<V> weigher;
+    private final Cache<K, V> cache;
+    private final AtomicLong weightedBytes = new AtomicLong();
+
+    public WeightedCache(String name, long maximumBytes, ToIntFunction<V> weigher)
+    {
+        this.name = name;
+        this.weigher = weigher;
+        // a single segment, so that the weight bound applies to the whole cache and large entries are not evicted as soon as they are put
+        this.cache = maximumBytes > 0 ? CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(maximumBytes)
+                .weigher((K key, V value) -> weigher.applyAsInt(value))
+                .removalListener(this::onRemoval)
+                .build() : null;
+    }
+
+    public boolean isEnabled()
+    {
+        return cache != null;
+    }
+
+    public V getIfPresent(K key)
+    {
+        if (!isEnabled())
+        {
+            return null;
+        }
+        V cached = cache.getIfPresent(key);
+        PrometheusMetricsFactory.getInstance().incrementCount(name + (cached != null ? HITS : MISSES));
+        return cached;
+    }
+
+    public void put(K key, V value)
+    {
+        if (isEnabled())
+        {
+            weightedBytes.addAndGet(weigher.applyAsInt(value));
+            cache.put(key, value);
+            PrometheusMetricsFactory.getInstance().setGauge(name + BYTES, weightedBytes.get());
+        }
+    }
+
+    public void invalidate(K key)
+    {
+        if (isEnabled())
+        {
+            cache.invalidate(key);
+        }
+    }
+
+    public void invalidateIf(Predicate<K> predicate)
+    {
+        if (isEnabled())
+        {
+            cache.asMap().keySet().removeIf(predicate);
+        }
+    }
+
+    public long size()
+    {
+        return isEnabled() ? cache.size() : 0;
+    }
+
+    public long weight()
+    {
+        return weightedBytes.get();
+    }
+
+    private void onRemoval(RemovalNotification<K, V> notification)
+    {
+        weightedBytes.addAndGet(-weigher.applyAsInt(notification.getValue()));
+        PrometheusMetricsFactory.getInstance().setGauge(name + BYTES, weightedBytes.get());
+        if (notification.wasEvicted())
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(name + EVICTIONS);
+        }
+    }
+}
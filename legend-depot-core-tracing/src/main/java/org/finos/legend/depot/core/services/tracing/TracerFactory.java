@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.core.services.tracing;
 
+import io.opentracing.Scope;
 import io.opentracing.Span;
 import io.opentracing.Tracer;
 import io.opentracing.log.Fields;
@@ -127,6 +128,27 @@ public final class TracerFactory
         }
     }
 
+    /**
+     * Active spans are thread local: the returned supplier carries the span active on the calling thread over to
+     * whichever thread it runs on, so that spans started there keep their parent.
+     */
+    public <T> Supplier<T> withActiveSpan(Supplier<T> supplier)
+    {
+        Tracer globalTracer = GlobalTracer.get();
+        Span span = globalTracer.activeSpan();
+        if (span == null)
+        {
+            return supplier;
+        }
+        return () ->
+        {
+            try (Scope scope = globalTracer.activateSpan(span))
+            {
+                return supplier.get();
+            }
+        };
+    }
+
     public <T> T executeWithTrace(String label, Supplier<T> supplier)
     {
        return (T) executeWithTrace(label,supplier, Collections.EMPTY_MAP);
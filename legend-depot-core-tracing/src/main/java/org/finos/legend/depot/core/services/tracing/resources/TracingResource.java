@@ -15,15 +15,23 @@
 
 package org.finos.legend.depot.core.services.tracing.resources;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.function.Supplier;
 
 public class TracingResource
@@ -35,11 +43,23 @@ public class TracingResource
     private static final int PADDING = 29;
     private static final String FINISHED = "Finished ";
     private static final String MS = "ms)";
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    @Context
+    private Providers providers;
 
     public TracingResource()
     {
     }
 
+    protected ObjectMapper getObjectMapper(Class<?> type)
+    {
+        // use the same mapper the registered json provider would, so streamed and serialized responses agree
+        ContextResolver<ObjectMapper> resolver = providers != null ? providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE) : null;
+        ObjectMapper objectMapper = resolver != null ? resolver.getContext(type) : null;
+        return objectMapper != null ? objectMapper : DEFAULT_OBJECT_MAPPER;
+    }
+
     private Logger getLogger()
     {
         return LoggerFactory.getLogger(this.getClass());
@@ -100,6 +120,38 @@ public class TracingResource
     }
 
     protected <T> Response handle(String resourceAPIMetricName, String label, Supplier<T> supplier, Request request, Supplier<String> etagSupplier)
+    {
+        return buildResponse(() -> handle(resourceAPIMetricName, label, supplier), request, etagSupplier);
+    }
+
+    protected Response handleStreaming(String resourceAPIMetricName, String label, StreamingOutput streamingOutput, Request request, Supplier<String> etagSupplier)
+    {
+        StreamingOutput tracedOutput = outputStream ->
+        {
+            try
+            {
+                handle(resourceAPIMetricName, label, () ->
+                {
+                    try
+                    {
+                        streamingOutput.write(outputStream);
+                        return null;
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        };
+        return buildResponse(() -> tracedOutput, request, etagSupplier);
+    }
+
+    private Response buildResponse(Supplier<?> entitySupplier, Request request, Supplier<String> etagSupplier)
     {
         String eTagStringValue = etagSupplier.get();
         EntityTag serverTag =  eTagStringValue != null ? new EntityTag(eTagStringValue) : null;
@@ -108,7 +160,7 @@ public class TracingResource
             return Response.noContent().status(Response.Status.NOT_MODIFIED).build();
         }
         CacheControl cc = new CacheControl();
-        Response.ResponseBuilder responseBuilder = Response.ok(handle(resourceAPIMetricName, label, supplier));
+        Response.ResponseBuilder responseBuilder = Response.ok(entitySupplier.get());
         if (serverTag != null)
         {
             responseBuilder.tag(serverTag);
@@ -0,0 +1,54 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestWeightedCache
+{
+    @Test
+    public void tracksTheWeightOfEntriesAsTheyAreAddedAndRemoved()
+    {
+        WeightedCache<String, byte[]> cache = new WeightedCache<>("test_weighted_cache", 10, value -> value.length);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        Assertions.assertEquals(8, cache.weight());
+        Assertions.assertEquals(2, cache.size());
+
+        cache.put("a", new byte[2]);
+        Assertions.assertEquals(6, cache.weight());
+
+        cache.put("c", new byte[6]);
+        Assertions.assertTrue(cache.weight() <= 10);
+        Assertions.assertNotNull(cache.getIfPresent("c"));
+
+        cache.invalidateIf(key -> true);
+        Assertions.assertEquals(0, cache.weight());
+        Assertions.assertNull(cache.getIfPresent("c"));
+    }
+
+    @Test
+    public void disabledCacheHoldsNothing()
+    {
+        WeightedCache<String, byte[]> cache = new WeightedCache<>("test_disabled_cache", 0, value -> value.length);
+        Assertions.assertFalse(cache.isEnabled());
+        cache.put("a", new byte[4]);
+        Assertions.assertNull(cache.getIfPresent("a"));
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.weight());
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 
 public interface EntitiesService<T extends StoredEntity>
@@ -39,8 +40,17 @@ public interface EntitiesService<T extends StoredEntity>
 
     List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages);
 
+    Optional<String> getRawEntity(String groupId, String artifactId, String versionId, String entityPath);
+
+    // the raw streaming lookups expect an already resolved version, so callers can validate it before a response is committed
+    void forEachRawEntity(String groupId, String artifactId, String versionId, Consumer<String> consumer);
+
+    void forEachRawEntityByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Consumer<String> consumer);
+
     List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin);
 
+    void forEachRawDependencyEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin, RawDependencyEntitiesConsumer consumer);
+
     List<ProjectVersionEntities> getDependenciesEntitiesByClassifier(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin);
 
     default List<ProjectVersionEntities> getDependenciesEntities(String groupId, String artifactId, String versionId, boolean transitive, boolean includeOrigin)
@@ -48,6 +58,11 @@ public interface EntitiesService<T extends StoredEntity>
         return getDependenciesEntities(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), transitive, includeOrigin);
     }
 
+    default void forEachRawDependencyEntities(String groupId, String artifactId, String versionId, boolean transitive, boolean includeOrigin, RawDependencyEntitiesConsumer consumer)
+    {
+        forEachRawDependencyEntities(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), transitive, includeOrigin, consumer);
+    }
+
     default List<ProjectVersionEntities> getDependenciesEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier, boolean transitive, boolean includeOrigin)
     {
         return getDependenciesEntitiesByClassifier(Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)), classifier, transitive, includeOrigin);
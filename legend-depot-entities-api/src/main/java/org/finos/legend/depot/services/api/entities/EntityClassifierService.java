@@ -21,11 +21,14 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.Scope;
 
 import java.util.List;
+import java.util.function.BiConsumer;
 
 public interface EntityClassifierService
 {
     List<DepotEntity> getEntitiesByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, boolean latestVersion);
 
+    void forEachRawEntityByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, BiConsumer<ProjectVersion, String> consumer);
+
     List<DepotEntity> findClassifierEntities(String classifier, Scope scope);
 
     List<DepotEntity> findClassifierEntitiesByVersions(String classifier, List<ProjectVersion> projectVersions);
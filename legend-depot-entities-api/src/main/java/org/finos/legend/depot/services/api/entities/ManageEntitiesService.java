@@ -29,6 +29,8 @@ public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesS
 
     long delete(String groupId, String artifactId, String versionId);
 
-    void createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entities);
+    List<String> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entities);
+
+    long markLatestVersion(String groupId, String artifactId, String versionId);
 
 }
@@ -0,0 +1,29 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.api.entities;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+
+/**
+ * Receives dependency entities as they are read: each dependency is announced once, followed by all of its raw entities.
+ */
+public interface RawDependencyEntitiesConsumer
+{
+    void dependency(ProjectVersion projectVersion);
+
+    void entity(String rawEntity);
+}
@@ -0,0 +1,151 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.api.entities.configuration;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EntitiesConfiguration
+{
+    public static final int DEFAULT_WRITE_BATCH_SIZE = 1000;
+
+    @JsonProperty
+    private boolean streamEntities = false;
+
+    @JsonProperty
+    private int writeBatchSize = DEFAULT_WRITE_BATCH_SIZE;
+
+    @JsonProperty
+    private boolean deduplicateEntities = false;
+
+    @JsonProperty
+    private boolean compressEntities = false;
+
+    @JsonProperty
+    private long cacheMaximumBytes = 0;
+
+    @JsonProperty
+    private boolean indexedSearch = false;
+
+    @JsonProperty
+    private boolean latestVersionIndex = false;
+
+    @JsonProperty
+    private long pureModelContextFragmentsCacheMaximumBytes = 0;
+
+    @JsonProperty
+    private boolean renderPureModelContextData = false;
+
+    public EntitiesConfiguration()
+    {
+    }
+
+    public EntitiesConfiguration(boolean streamEntities)
+    {
+        this.streamEntities = streamEntities;
+    }
+
+    public boolean isStreamEntities()
+    {
+        return streamEntities;
+    }
+
+    public void setStreamEntities(boolean streamEntities)
+    {
+        this.streamEntities = streamEntities;
+    }
+
+    public int getWriteBatchSize()
+    {
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(int writeBatchSize)
+    {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public boolean isDeduplicateEntities()
+    {
+        return deduplicateEntities;
+    }
+
+    public void setDeduplicateEntities(boolean deduplicateEntities)
+    {
+        this.deduplicateEntities = deduplicateEntities;
+    }
+
+    public boolean isCompressEntities()
+    {
+        return compressEntities;
+    }
+
+    public void setCompressEntities(boolean compressEntities)
+    {
+        this.compressEntities = compressEntities;
+    }
+
+    public long getCacheMaximumBytes()
+    {
+        return cacheMaximumBytes;
+    }
+
+    public void setCacheMaximumBytes(long cacheMaximumBytes)
+    {
+        this.cacheMaximumBytes = cacheMaximumBytes;
+    }
+
+    public boolean isIndexedSearch()
+    {
+        return indexedSearch;
+    }
+
+    public void setIndexedSearch(boolean indexedSearch)
+    {
+        this.indexedSearch = indexedSearch;
+    }
+
+    public boolean isLatestVersionIndex()
+    {
+        return latestVersionIndex;
+    }
+
+    public void setLatestVersionIndex(boolean latestVersionIndex)
+    {
+        this.latestVersionIndex = latestVersionIndex;
+    }
+
+    public long getPureModelContextFragmentsCacheMaximumBytes()
+    {
+        return pureModelContextFragmentsCacheMaximumBytes;
+    }
+
+    public void setPureModelContextFragmentsCacheMaximumBytes(long pureModelContextFragmentsCacheMaximumBytes)
+    {
+        this.pureModelContextFragmentsCacheMaximumBytes = pureModelContextFragmentsCacheMaximumBytes;
+    }
+
+    public boolean isRenderPureModelContextData()
+    {
+        return renderPureModelContextData;
+    }
+
+    public void setRenderPureModelContextData(boolean renderPureModelContextData)
+    {
+        this.renderPureModelContextData = renderPureModelContextData;
+    }
+}
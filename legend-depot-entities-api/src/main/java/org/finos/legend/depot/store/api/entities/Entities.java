@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.api.entities;
 
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.DepotEntityOverview;
+import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -25,6 +26,8 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface Entities<T extends StoredEntity>
 {
@@ -34,8 +37,19 @@ public interface Entities<T extends StoredEntity>
 
     List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths);
 
+    List<ProjectVersionEntities> getEntitiesByVersions(List<ProjectVersion> projectVersions, String classifier);
+
+    // entities of the same version arrive together, versions ordered by groupId, artifactId and versionId
+    void forEachRawEntityByVersions(List<ProjectVersion> projectVersions, String classifier, BiConsumer<ProjectVersion, String> consumer);
+
     List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages);
 
+    Optional<String> getRawEntity(String groupId, String artifactId, String versionId, String path);
+
+    void forEachRawEntity(String groupId, String artifactId, String versionId, Consumer<String> consumer);
+
+    void forEachRawEntityByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Consumer<String> consumer);
+
     default List<DepotEntity> findEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier)
     {
         return findClassifierEntitiesByVersions(classifier, Arrays.asList(new ProjectVersion(groupId, artifactId, versionId)));
@@ -59,6 +73,14 @@ public interface Entities<T extends StoredEntity>
 
     List<DepotEntity> findClassifierEntitiesByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit);
 
+    List<DepotEntity> findLatestVersionClassifierEntities(String classifier, String search, Integer limit);
+
+    void forEachRawLatestClassifierEntity(String classifier, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer);
+
+    void forEachRawClassifierEntityByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer);
+
+    void forEachRawLatestVersionClassifierEntity(String classifier, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer);
+
     List<T> getStoredEntities(String groupId, String artifactId, String versionId);
 
 }
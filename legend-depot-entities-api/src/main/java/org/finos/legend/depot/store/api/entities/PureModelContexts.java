@@ -0,0 +1,42 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.api.entities;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+
+/**
+ * Serialized pure model context data rendered for a project version. A rendering is only returned for the validity it
+ * was stored with, the newest stored revision wins.
+ */
+public interface PureModelContexts
+{
+    Optional<InputStream> find(String groupId, String artifactId, String versionId, String rendering, String validity);
+
+    /**
+     * Starts a new revision of a rendering, it can only be found once the upload is closed.
+     */
+    Upload store(String groupId, String artifactId, String versionId, String rendering, String validity);
+
+    interface Upload extends Closeable
+    {
+        OutputStream getOutputStream();
+
+        void abort();
+    }
+}
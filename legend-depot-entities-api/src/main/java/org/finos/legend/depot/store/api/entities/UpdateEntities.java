@@ -26,10 +26,14 @@ public interface UpdateEntities<T extends StoredEntity> extends Entities<T>
 
     List<T> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions);
 
+    List<String> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions, int batchSize);
+
     long delete(String groupId, String artifactId);
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long markLatestVersion(String groupId, String artifactId, String versionId);
+
     List<T> getStoredEntities(String groupId, String artifactId);
 
     List<Pair<String, String>> getStoredEntitiesCoordinates();
@@ -22,6 +22,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.services.api.EtagBuilder;
 
@@ -49,11 +50,18 @@ import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTra
 public class EntitiesDependenciesResource extends TracingResource
 {
     private final EntitiesService entitiesService;
+    private final EntitiesConfiguration entitiesConfiguration;
 
     @Inject
-    public EntitiesDependenciesResource(EntitiesService entitiesService)
+    public EntitiesDependenciesResource(EntitiesService entitiesService, EntitiesConfiguration entitiesConfiguration)
     {
         this.entitiesService = entitiesService;
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
+
+    public EntitiesDependenciesResource(EntitiesService entitiesService)
+    {
+        this(entitiesService, new EntitiesConfiguration());
     }
 
     @GET
@@ -70,6 +78,10 @@ public class EntitiesDependenciesResource extends TracingResource
                                                 @ApiParam("Whether to return start of dependency tree") boolean includeOrigin,
                                                 @Context Request request)
     {
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            return handleStreaming(GET_VERSION_DEPENDENCY_ENTITIES, GET_VERSION_DEPENDENCY_ENTITIES, EntitiesStreamingOutput.rawDependencyEntities(getObjectMapper(List.class), consumer -> this.entitiesService.forEachRawDependencyEntities(groupId, artifactId, versionId, transitive, includeOrigin, consumer)), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        }
         return handle(GET_VERSION_DEPENDENCY_ENTITIES, () -> this.entitiesService.getDependenciesEntities(groupId, artifactId, versionId, transitive, includeOrigin), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
     }
 
@@ -121,6 +133,10 @@ public class EntitiesDependenciesResource extends TracingResource
                                                                        @QueryParam("includeOrigin") @DefaultValue("false")
                                                                        @ApiParam("Whether to return start of dependency tree") boolean includeOrigin)
     {
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            return handleStreaming(GET_VERSIONS_DEPENDENCY_ENTITIES, GET_VERSIONS_DEPENDENCY_ENTITIES, EntitiesStreamingOutput.rawDependencyEntities(getObjectMapper(List.class), consumer -> this.entitiesService.forEachRawDependencyEntities(projectDependencies, transitive, includeOrigin, consumer)), null, () -> null);
+        }
         return handleResponse(GET_VERSIONS_DEPENDENCY_ENTITIES, () -> this.entitiesService.getDependenciesEntities(projectDependencies, transitive, includeOrigin));
     }
 }
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.services.api.EtagBuilder;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
@@ -35,6 +36,9 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITIES;
@@ -47,12 +51,19 @@ public class EntitiesResource extends TracingResource
 {
     private final EntitiesService entitiesService;
     private final ProjectsService projectsService;
+    private final EntitiesConfiguration entitiesConfiguration;
 
     @Inject
-    public EntitiesResource(EntitiesService entitiesService, ProjectsService projectsService)
+    public EntitiesResource(EntitiesService entitiesService, ProjectsService projectsService, EntitiesConfiguration entitiesConfiguration)
     {
         this.entitiesService = entitiesService;
         this.projectsService = projectsService;
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
+
+    public EntitiesResource(EntitiesService entitiesService, ProjectsService projectsService)
+    {
+        this(entitiesService, projectsService, new EntitiesConfiguration());
     }
 
     @GET
@@ -65,6 +76,10 @@ public class EntitiesResource extends TracingResource
                                 @Context Request request)
     {
         String resolvedVersionId = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            return handleStreaming(GET_VERSION_ENTITIES, GET_VERSION_ENTITIES, EntitiesStreamingOutput.rawEntities(getObjectMapper(List.class), consumer -> this.entitiesService.forEachRawEntity(groupId, artifactId, resolvedVersionId, consumer)), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, resolvedVersionId).build());
+        }
         return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, resolvedVersionId), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, resolvedVersionId).build());
     }
 
@@ -95,9 +110,20 @@ public class EntitiesResource extends TracingResource
                                       @PathParam("path") String entityPath,
                                       @Context Request request)
     {
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            // an empty optional is still answered with a 404, as for the deserialized entity
+            return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> getRawEntity(groupId, artifactId, versionId, entityPath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        }
         return handle(GET_VERSION_ENTITY, GET_VERSION_ENTITY + entityPath, () -> this.entitiesService.getEntity(groupId, artifactId, versionId, entityPath), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
     }
 
+    private Optional<StreamingOutput> getRawEntity(String groupId, String artifactId, String versionId, String entityPath)
+    {
+        Optional<String> rawEntity = this.entitiesService.getRawEntity(groupId, artifactId, versionId, entityPath);
+        return rawEntity.map(EntitiesStreamingOutput::rawEntity);
+    }
+
     @GET
     @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/entities")
     @ApiOperation(GET_VERSION_ENTITIES_BY_FILTER)
@@ -114,6 +140,11 @@ public class EntitiesResource extends TracingResource
                                     @Context Request request
     )
     {
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            String resolvedVersionId = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+            return handleStreaming(GET_VERSION_ENTITIES_BY_FILTER, GET_VERSION_ENTITIES_BY_FILTER + packageName, EntitiesStreamingOutput.rawEntities(getObjectMapper(List.class), consumer -> entitiesService.forEachRawEntityByPackage(groupId, artifactId, resolvedVersionId, packageName, classifierPaths, includeSubPackages, consumer)), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
+        }
         return handle(GET_VERSION_ENTITIES_BY_FILTER, GET_VERSION_ENTITIES_BY_FILTER + packageName, () -> entitiesService.getEntitiesByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).build());
     }
 }
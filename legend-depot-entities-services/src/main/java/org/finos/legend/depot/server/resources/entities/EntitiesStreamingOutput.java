@@ -0,0 +1,171 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.server.resources.entities;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.services.api.entities.RawDependencyEntitiesConsumer;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+final class EntitiesStreamingOutput
+{
+    private static final String GROUP_ID = "groupId";
+    private static final String ARTIFACT_ID = "artifactId";
+    private static final String VERSION_ID = "versionId";
+    private static final String VERSIONED_ENTITY = "versionedEntity";
+    private static final String ENTITIES = "entities";
+    private static final String ENTITY = "entity";
+
+    private EntitiesStreamingOutput()
+    {
+    }
+
+    static StreamingOutput rawEntity(String rawEntity)
+    {
+        return outputStream -> outputStream.write(rawEntity.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static StreamingOutput rawEntities(ObjectMapper objectMapper, Consumer<Consumer<String>> entitiesProducer)
+    {
+        return outputStream ->
+        {
+            try (JsonGenerator generator = createGenerator(objectMapper, outputStream))
+            {
+                generator.writeStartArray();
+                entitiesProducer.accept(entity -> writeRawValue(generator, entity));
+                generator.writeEndArray();
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        };
+    }
+
+    static StreamingOutput rawDependencyEntities(ObjectMapper objectMapper, Consumer<RawDependencyEntitiesConsumer> dependenciesProducer)
+    {
+        return outputStream ->
+        {
+            try (JsonGenerator generator = createGenerator(objectMapper, outputStream))
+            {
+                generator.writeStartArray();
+                boolean[] open = {false};
+                dependenciesProducer.accept(new RawDependencyEntitiesConsumer()
+                {
+                    @Override
+                    public void dependency(ProjectVersion projectVersion)
+                    {
+                        try
+                        {
+                            if (open[0])
+                            {
+                                generator.writeEndArray();
+                                generator.writeEndObject();
+                            }
+                            generator.writeStartObject();
+                            generator.writeStringField(GROUP_ID, projectVersion.getGroupId());
+                            generator.writeStringField(ARTIFACT_ID, projectVersion.getArtifactId());
+                            generator.writeStringField(VERSION_ID, projectVersion.getVersionId());
+                            generator.writeBooleanField(VERSIONED_ENTITY, false);
+                            generator.writeArrayFieldStart(ENTITIES);
+                            open[0] = true;
+                        }
+                        catch (IOException e)
+                        {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+
+                    @Override
+                    public void entity(String rawEntity)
+                    {
+                        writeRawValue(generator, rawEntity);
+                    }
+                });
+                if (open[0])
+                {
+                    generator.writeEndArray();
+                    generator.writeEndObject();
+                }
+                generator.writeEndArray();
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        };
+    }
+
+    static StreamingOutput rawDepotEntities(ObjectMapper objectMapper, Consumer<BiConsumer<ProjectVersion, String>> entitiesProducer)
+    {
+        return outputStream ->
+        {
+            try (JsonGenerator generator = createGenerator(objectMapper, outputStream))
+            {
+                generator.writeStartArray();
+                entitiesProducer.accept((projectVersion, entity) ->
+                {
+                    try
+                    {
+                        generator.writeStartObject();
+                        generator.writeStringField(GROUP_ID, projectVersion.getGroupId());
+                        generator.writeStringField(ARTIFACT_ID, projectVersion.getArtifactId());
+                        generator.writeStringField(VERSION_ID, projectVersion.getVersionId());
+                        generator.writeBooleanField(VERSIONED_ENTITY, false);
+                        generator.writeFieldName(ENTITY);
+                        generator.writeRawValue(entity);
+                        generator.writeEndObject();
+                    }
+                    catch (IOException e)
+                    {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+            catch (UncheckedIOException e)
+            {
+                throw e.getCause();
+            }
+        };
+    }
+
+    private static JsonGenerator createGenerator(ObjectMapper objectMapper, OutputStream outputStream) throws IOException
+    {
+        // the container owns the response stream, so closing the generator must not close it
+        return objectMapper.getFactory().createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    private static void writeRawValue(JsonGenerator generator, String rawJson)
+    {
+        try
+        {
+            generator.writeRawValue(rawJson);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
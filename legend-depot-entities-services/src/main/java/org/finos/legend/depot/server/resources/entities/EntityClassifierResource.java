@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 
 import javax.inject.Inject;
@@ -31,6 +32,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.util.List;
 
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_ENTITIES_BY_CLASSIFIER_PATH;
 
@@ -39,11 +41,18 @@ import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTra
 public class EntityClassifierResource extends TracingResource
 {
     private final EntityClassifierService graphService;
+    private final EntitiesConfiguration entitiesConfiguration;
 
     @Inject
-    public EntityClassifierResource(EntityClassifierService graphService)
+    public EntityClassifierResource(EntityClassifierService graphService, EntitiesConfiguration entitiesConfiguration)
     {
         this.graphService = graphService;
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
+
+    public EntityClassifierResource(EntityClassifierService graphService)
+    {
+        this(graphService, new EntitiesConfiguration());
     }
 
     @GET
@@ -58,6 +67,10 @@ public class EntityClassifierResource extends TracingResource
                                 @QueryParam("scope") @ApiParam("Whether to return entities for the latest released version or snapshot") @DefaultValue("RELEASES") Scope scope,
                                 @QueryParam("limit") @ApiParam("Limit the number of entities returned") Integer limit)
     {
-        return handleResponse(GET_ENTITIES_BY_CLASSIFIER_PATH, () -> this.graphService.getEntitiesByClassifierPath(classifierPath, search, limit, scope, true));
+        if (!this.entitiesConfiguration.isStreamEntities())
+        {
+            return handleResponse(GET_ENTITIES_BY_CLASSIFIER_PATH, () -> this.graphService.getEntitiesByClassifierPath(classifierPath, search, limit, scope, true));
+        }
+        return handleStreaming(GET_ENTITIES_BY_CLASSIFIER_PATH, GET_ENTITIES_BY_CLASSIFIER_PATH, EntitiesStreamingOutput.rawDepotEntities(getObjectMapper(List.class), consumer -> this.graphService.forEachRawEntityByClassifierPath(classifierPath, search, limit, scope, consumer)), null, () -> null);
     }
 }
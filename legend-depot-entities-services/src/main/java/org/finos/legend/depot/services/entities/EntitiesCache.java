@@ -0,0 +1,213 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.entities;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.depot.core.services.cache.WeightedCache;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public class EntitiesCache implements UpdatedVersionsPoller.Listener
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntitiesCache.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String INVALIDATIONS = "_invalidations";
+
+    private final String name;
+    private final WeightedCache<Key, CachedEntities> cache;
+
+    public EntitiesCache(String name, long maximumBytes)
+    {
+        this.name = name;
+        this.cache = new WeightedCache<>(name, maximumBytes, cached -> cached.weight);
+    }
+
+    public static EntitiesCache disabled()
+    {
+        return new EntitiesCache(null, 0);
+    }
+
+    public boolean isEnabled()
+    {
+        return cache.isEnabled();
+    }
+
+    public List<Entity> get(String groupId, String artifactId, String versionId, String classifier, Consumer<Consumer<String>> rawLoader)
+    {
+        return find(groupId, artifactId, versionId, classifier).orElseGet(() ->
+        {
+            RawEntities loaded = new RawEntities();
+            rawLoader.accept(loaded);
+            put(groupId, artifactId, versionId, classifier, loaded);
+            return loaded.getEntities();
+        });
+    }
+
+    public Optional<List<Entity>> find(String groupId, String artifactId, String versionId, String classifier)
+    {
+        if (!isCacheable(versionId))
+        {
+            return Optional.empty();
+        }
+        CachedEntities cached = cache.getIfPresent(new Key(groupId, artifactId, versionId, classifier));
+        return cached == null ? Optional.empty() : Optional.of(new ArrayList<>(cached.entities));
+    }
+
+    public void put(String groupId, String artifactId, String versionId, String classifier, RawEntities loaded)
+    {
+        if (!isCacheable(versionId))
+        {
+            return;
+        }
+        // entries are weighed by the stored payload they were parsed from, never by serialising them again
+        int weight = (int) Math.min(loaded.payloadBytes, Integer.MAX_VALUE);
+        cache.put(new Key(groupId, artifactId, versionId, classifier), new CachedEntities(new ArrayList<>(loaded.entities), weight));
+    }
+
+    private boolean isCacheable(String versionId)
+    {
+        return isEnabled() && !VersionValidator.isSnapshotVersion(versionId);
+    }
+
+    public void invalidate(String groupId, String artifactId, String versionId)
+    {
+        cache.invalidateIf(key -> key.matches(groupId, artifactId) && key.versionId.equals(versionId));
+    }
+
+    public void invalidate(String groupId, String artifactId)
+    {
+        cache.invalidateIf(key -> key.matches(groupId, artifactId));
+    }
+
+    @Override
+    public long evictUpdatedVersions(List<ProjectVersion> updated)
+    {
+        if (!isEnabled() || updated.isEmpty())
+        {
+            return 0;
+        }
+        // entries are keyed by classifier as well, so every entry is checked once against all updated versions
+        Set<ProjectVersion> versions = new HashSet<>(updated);
+        cache.invalidateIf(key -> versions.contains(new ProjectVersion(key.groupId, key.artifactId, key.versionId)));
+        updated.forEach(pv -> PrometheusMetricsFactory.getInstance().incrementCount(name + INVALIDATIONS));
+        LOGGER.info("invalidated {} updated project versions from {}", updated.size(), name);
+        return updated.size();
+    }
+
+    long size()
+    {
+        return cache.size();
+    }
+
+    long weight()
+    {
+        return cache.weight();
+    }
+
+    public static final class RawEntities implements Consumer<String>
+    {
+        private final List<Entity> entities = new ArrayList<>();
+        private long payloadBytes;
+
+        @Override
+        public void accept(String rawEntity)
+        {
+            try
+            {
+                entities.add(objectMapper.readValue(rawEntity, EntityDefinition.class));
+                payloadBytes += rawEntity.length();
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new IllegalStateException("Error reading stored entity: " + e.getMessage());
+            }
+        }
+
+        public List<Entity> getEntities()
+        {
+            return entities;
+        }
+    }
+
+    private static final class CachedEntities
+    {
+        private final List<Entity> entities;
+        private final int weight;
+
+        private CachedEntities(List<Entity> entities, int weight)
+        {
+            this.entities = Collections.unmodifiableList(entities);
+            this.weight = weight;
+        }
+    }
+
+    private static final class Key
+    {
+        private final String groupId;
+        private final String artifactId;
+        private final String versionId;
+        private final String classifier;
+
+        private Key(String groupId, String artifactId, String versionId, String classifier)
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.versionId = versionId;
+            this.classifier = classifier;
+        }
+
+        private boolean matches(String groupId, String artifactId)
+        {
+            return this.groupId.equals(groupId) && this.artifactId.equals(artifactId);
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (this == other)
+            {
+                return true;
+            }
+            if (!(other instanceof Key))
+            {
+                return false;
+            }
+            Key that = (Key) other;
+            return groupId.equals(that.groupId) && artifactId.equals(that.artifactId) && versionId.equals(that.versionId) && Objects.equals(classifier, that.classifier);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(groupId, artifactId, versionId, classifier);
+        }
+    }
+}
@@ -15,14 +15,13 @@
 
 package org.finos.legend.depot.services.entities;
 
-import org.eclipse.collections.api.list.MutableList;
-import org.eclipse.collections.impl.list.mutable.FastList;
-import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.RawDependencyEntitiesConsumer;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.Entities;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
@@ -30,10 +29,16 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -45,20 +50,27 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     private static final String DEPENDENCIES_SIZE = "dependencies";
     private final Entities entities;
     protected final ProjectsService projects;
+    protected final EntitiesCache entitiesCache;
 
 
     @Inject
-    public EntitiesServiceImpl(Entities entities, ProjectsService projects)
+    public EntitiesServiceImpl(Entities entities, ProjectsService projects, EntitiesCache entitiesCache)
     {
         this.entities = entities;
         this.projects = projects;
+        this.entitiesCache = entitiesCache;
+    }
+
+    public EntitiesServiceImpl(Entities entities, ProjectsService projects)
+    {
+        this(entities, projects, EntitiesCache.disabled());
     }
 
     @Override
     public List<Entity> getEntities(String groupId, String artifactId, String versionId)
     {
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        return entities.getAllEntities(groupId, artifactId, version);
+        return entitiesCache.get(groupId, artifactId, version, null, loader -> entities.forEachRawEntity(groupId, artifactId, version, loader));
     }
 
     @Override
@@ -79,11 +91,12 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     public List<Entity> getEntityFromDependencies(String groupId, String artifactId, String versionId, List<String> entityPaths, boolean includeOrigin)
     {
         String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-        Set<ProjectVersion> projectVersions = projects.getDependencies(groupId, artifactId, version, true);
+        Set<ProjectVersion> projectVersions = new LinkedHashSet<>();
         if (includeOrigin)
         {
             projectVersions.add(new ProjectVersion(groupId, artifactId, version));
         }
+        projects.getDependencies(groupId, artifactId, version, true).stream().sorted(Comparator.comparing(ProjectVersion::getGav)).forEach(projectVersions::add);
         return entities.getEntityFromDependencies(projectVersions, entityPaths);
     }
 
@@ -94,7 +107,26 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         return entities.getEntitiesByPackage(groupId, artifactId, version, packageName, classifierPaths, includeSubPackages);
     }
 
-    public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin)
+    @Override
+    public Optional<String> getRawEntity(String groupId, String artifactId, String versionId, String entityPath)
+    {
+        String version = this.projects.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        return entities.getRawEntity(groupId, artifactId, version, entityPath);
+    }
+
+    @Override
+    public void forEachRawEntity(String groupId, String artifactId, String versionId, Consumer<String> consumer)
+    {
+        entities.forEachRawEntity(groupId, artifactId, versionId, consumer);
+    }
+
+    @Override
+    public void forEachRawEntityByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Consumer<String> consumer)
+    {
+        entities.forEachRawEntityByPackage(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages, consumer);
+    }
+
+    private Set<ProjectVersion> calculateDependencies(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin)
     {
         Set<ProjectVersion> dependencies = (Set<ProjectVersion>) executeWithTrace(CALCULATE_PROJECT_DEPENDENCIES, () ->
         {
@@ -108,32 +140,87 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         TracerFactory.get().log(String.format("dependencies: [%s] ",dependencies.size()));
         PrometheusMetricsFactory.getInstance().observeHistogram(DEPENDENCIES_SIZE,dependencies.size());
         LOGGER.info("finished calculating [{}] dependencies",dependencies.size());
+        return dependencies;
+    }
+
+    @Override
+    public void forEachRawDependencyEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin, RawDependencyEntitiesConsumer consumer)
+    {
+        Set<ProjectVersion> dependencies = calculateDependencies(projectDependencies, transitive, includeOrigin);
+        executeWithTrace(RETRIEVE_DEPENDENCY_ENTITIES, () ->
+        {
+            // a single query for all dependencies, announced in the order the store returns their entities
+            List<ProjectVersion> versions = new ArrayList<>(this.projects.resolveAliasesAndCheckVersionsExist(dependencies));
+            versions.sort(Comparator.comparing(ProjectVersion::getGroupId).thenComparing(ProjectVersion::getArtifactId).thenComparing(ProjectVersion::getVersionId));
+            Iterator<ProjectVersion> pending = versions.iterator();
+            ProjectVersion[] current = {null};
+            long[] totalEntities = {0};
+            entities.forEachRawEntityByVersions(versions, null, (dep, rawEntity) ->
+            {
+                while (!dep.equals(current[0]))
+                {
+                    current[0] = pending.next();
+                    consumer.dependency(current[0]);
+                }
+                consumer.entity((String) rawEntity);
+                totalEntities[0]++;
+            });
+            pending.forEachRemaining(consumer::dependency);
+            TracerFactory.get().log(String.format("Total [%s]: [%s] entities", versions.size(), totalEntities[0]));
+            return dependencies;
+        });
+    }
+
+    public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, String classifier, boolean transitive, boolean includeOrigin)
+    {
+        Set<ProjectVersion> dependencies = calculateDependencies(projectDependencies, transitive, includeOrigin);
 
         return  (List<ProjectVersionEntities>) executeWithTrace(RETRIEVE_DEPENDENCY_ENTITIES, () ->
         {
-            MutableList<ProjectVersionEntities> depEntities = FastList.newList();
-            final AtomicInteger totalEntities = new AtomicInteger();
-            ParallelIterate.forEach(dependencies, dep ->
+            List<ProjectVersionEntities> depEntities = new ArrayList<>();
+            List<ProjectVersion> notCached = new ArrayList<>();
+            this.projects.resolveAliasesAndCheckVersionsExist(dependencies).forEach(dep ->
             {
-                String version = this.projects.resolveAliasesAndCheckVersionExists(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
-                List<Entity> deps;
-                if (classifier != null)
+                Optional<List<Entity>> cached = entitiesCache.find(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), classifier);
+                if (cached.isPresent())
                 {
-                    deps = (List<Entity>) entities.findEntitiesByClassifier(dep.getGroupId(), dep.getArtifactId(), version, classifier).stream().collect(Collectors.toList());
+                    depEntities.add(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), withCoordinates(dep, classifier, cached.get())));
                 }
                 else
                 {
-                    deps = (List<Entity>) entities.getAllEntities(dep.getGroupId(), dep.getArtifactId(), version).stream().collect(Collectors.toList());
+                    notCached.add(dep);
                 }
-                depEntities.add(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), version, deps));
-                totalEntities.addAndGet(deps.size());
-                TracerFactory.get().log(String.format("Total [%s-%s-%s]: [%s] entities",dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(),deps.size()));
             });
+            Map<ProjectVersion, EntitiesCache.RawEntities> fetched = new LinkedHashMap<>();
+            notCached.forEach(dep -> fetched.put(dep, new EntitiesCache.RawEntities()));
+            entities.forEachRawEntityByVersions(notCached, classifier, (dep, rawEntity) -> fetched.get(dep).accept((String) rawEntity));
+            fetched.forEach((dep, loaded) ->
+            {
+                entitiesCache.put(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), classifier, loaded);
+                depEntities.add(new ProjectVersionEntities(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), withCoordinates(dep, classifier, loaded.getEntities())));
+            });
+            int totalEntities = 0;
+            for (ProjectVersionEntities dep : depEntities)
+            {
+                totalEntities += dep.getEntities().size();
+                TracerFactory.get().log(String.format("Total [%s-%s-%s]: [%s] entities",dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), dep.getEntities().size()));
+            }
             TracerFactory.get().log(String.format("Total [%s]: [%s] entities",depEntities.size(),totalEntities));
             return depEntities;
         });
     }
 
+    private List<Entity> withCoordinates(ProjectVersion dep, String classifier, List<Entity> found)
+    {
+        // classifier lookups have always answered with DepotEntity, each entity carrying its groupId, artifactId and versionId
+        if (classifier == null)
+        {
+            return found;
+        }
+        List depotEntities = found.stream().map(entity -> new DepotEntity(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), entity)).collect(Collectors.toList());
+        return (List<Entity>) depotEntities;
+    }
+
     @Override
     public List<ProjectVersionEntities> getDependenciesEntities(List<ProjectVersion> projectDependencies, boolean transitive, boolean includeOrigin)
     {
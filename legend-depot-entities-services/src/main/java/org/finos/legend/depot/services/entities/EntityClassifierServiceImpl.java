@@ -15,50 +15,50 @@
 
 package org.finos.legend.depot.services.entities;
 
+import com.google.common.collect.Lists;
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.DepotEntityOverview;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.Entities;
-import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 public class EntityClassifierServiceImpl implements EntityClassifierService
 {
     private final Entities entities;
     private final ProjectsService projects;
+    private final boolean latestVersionIndex;
     private static final int PAGE_SIZE = 100;
 
     @Inject
-    public EntityClassifierServiceImpl(ProjectsService projects, Entities versions)
+    public EntityClassifierServiceImpl(ProjectsService projects, Entities versions, EntitiesConfiguration entitiesConfiguration)
     {
         this.projects = projects;
         this.entities = versions;
+        this.latestVersionIndex = entitiesConfiguration.isLatestVersionIndex();
     }
 
-    private List<ProjectVersion> getLatestProjectVersionByPage(int page, int pageSize, List<StoreProjectData> allProjects)
+    public EntityClassifierServiceImpl(ProjectsService projects, Entities versions)
     {
-        int beginIndex = page * pageSize - pageSize;
-        int lastIndex = page * pageSize - 1;
-        if (beginIndex >= allProjects.size() || beginIndex < 0)
-        {
-            return Collections.emptyList();
-        }
-        else if (lastIndex >= allProjects.size())
-        {
-            lastIndex = allProjects.size() - 1;
-        }
-        return allProjects.subList(beginIndex, lastIndex).stream()
+        this(projects, versions, new EntitiesConfiguration());
+    }
+
+    private List<List<ProjectVersion>> getLatestProjectVersionPages()
+    {
+        List<ProjectVersion> latestVersions = projects.getAllProjectCoordinates().stream()
                 .filter(project -> project.getLatestVersion() != null)
                 .map(project -> new ProjectVersion(project.getGroupId(), project.getArtifactId(), project.getLatestVersion()))
                 .collect(Collectors.toList());
+        return Lists.partition(latestVersions, PAGE_SIZE);
     }
 
     @Override
@@ -68,26 +68,48 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
         {
             return this.findClassifierEntities(classifierPath, scope, search, limit);
         }
+        if (latestVersionIndex)
+        {
+            return entities.findLatestVersionClassifierEntities(classifierPath, search, limit);
+        }
         List<DepotEntity> result = new ArrayList<>();
-        int currentPage = 1;
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        List<ProjectVersion> projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
-        while (!projectVersions.isEmpty())
+        for (List<ProjectVersion> projectVersions : getLatestProjectVersionPages())
         {
-            List<DepotEntity> entities = this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit);
-            result.addAll(entities);
+            result.addAll(this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit));
             if (limit != null && result.size() >= limit)
             {
-                break;
+                return result.subList(0, limit);
             }
-            currentPage++;
-            projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
         }
-        if (limit != null)
+        return result;
+    }
+
+    @Override
+    public void forEachRawEntityByClassifierPath(String classifierPath, String search, Integer limit, Scope scope, BiConsumer<ProjectVersion, String> consumer)
+    {
+        if (Scope.SNAPSHOT.equals(scope))
         {
-            result = result.stream().limit(limit).collect(Collectors.toList());
+            entities.forEachRawLatestClassifierEntity(classifierPath, search, limit, consumer);
+            return;
+        }
+        if (latestVersionIndex)
+        {
+            entities.forEachRawLatestVersionClassifierEntity(classifierPath, search, limit, consumer);
+            return;
+        }
+        AtomicInteger written = new AtomicInteger();
+        for (List<ProjectVersion> projectVersions : getLatestProjectVersionPages())
+        {
+            if (limit != null && written.get() >= limit)
+            {
+                return;
+            }
+            entities.forEachRawClassifierEntityByVersions(classifierPath, projectVersions, search, limit != null ? limit - written.get() : null, (BiConsumer<ProjectVersion, String>) (projectVersion, entity) ->
+            {
+                written.incrementAndGet();
+                consumer.accept(projectVersion, entity);
+            });
         }
-        return result;
     }
 
     @Override
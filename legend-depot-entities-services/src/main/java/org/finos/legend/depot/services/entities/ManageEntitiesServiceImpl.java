@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.entities;
 
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
@@ -28,12 +29,24 @@ public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesS
 {
 
     private final UpdateEntities entities;
+    private final EntitiesConfiguration entitiesConfiguration;
 
     @Inject
-    public ManageEntitiesServiceImpl(UpdateEntities entities, ProjectsService projects)
+    public ManageEntitiesServiceImpl(UpdateEntities entities, ProjectsService projects, EntitiesConfiguration entitiesConfiguration, EntitiesCache entitiesCache)
     {
-        super(entities,projects);
+        super(entities, projects, entitiesCache);
         this.entities = entities;
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
+
+    public ManageEntitiesServiceImpl(UpdateEntities entities, ProjectsService projects, EntitiesConfiguration entitiesConfiguration)
+    {
+        this(entities, projects, entitiesConfiguration, EntitiesCache.disabled());
+    }
+
+    public ManageEntitiesServiceImpl(UpdateEntities entities, ProjectsService projects)
+    {
+        this(entities, projects, new EntitiesConfiguration());
     }
 
     @Override
@@ -47,20 +60,31 @@ public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesS
     public long delete(String groupId, String artifactId, String versionId)
     {
         this.projects.checkExists(groupId, artifactId);
-        return entities.delete(groupId, artifactId, versionId);
+        long deleted = entities.delete(groupId, artifactId, versionId);
+        entitiesCache.invalidate(groupId, artifactId, versionId);
+        return deleted;
     }
 
     @Override
     public long delete(String groupId, String artifactId)
     {
         this.projects.checkExists(groupId, artifactId);
-        return entities.delete(groupId, artifactId);
+        long deleted = entities.delete(groupId, artifactId);
+        entitiesCache.invalidate(groupId, artifactId);
+        return deleted;
     }
 
     @Override
-    public void createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityList)
+    public List<String> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityList)
     {
-        entities.createOrUpdate(groupId, artifactId, versionId, entityList);
+        List<String> errors = entities.createOrUpdate(groupId, artifactId, versionId, entityList, entitiesConfiguration.getWriteBatchSize());
+        entitiesCache.invalidate(groupId, artifactId, versionId);
+        return errors;
     }
 
+    @Override
+    public long markLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        return entities.markLatestVersion(groupId, artifactId, versionId);
+    }
 }
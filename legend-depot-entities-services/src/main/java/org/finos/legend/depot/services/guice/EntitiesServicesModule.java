@@ -16,11 +16,16 @@
 package org.finos.legend.depot.services.guice;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.services.entities.EntitiesCache;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.entities.EntityClassifierServiceImpl;
 
+import javax.inject.Singleton;
 
 public class EntitiesServicesModule extends PrivateModule
 {
@@ -35,4 +40,15 @@ public class EntitiesServicesModule extends PrivateModule
         expose(EntityClassifierService.class);
     }
 
+    @Provides
+    @Singleton
+    EntitiesCache getEntitiesCache(EntitiesConfiguration configuration, UpdatedVersionsPoller poller)
+    {
+        EntitiesCache entitiesCache = new EntitiesCache("entities_cache", configuration.getCacheMaximumBytes());
+        if (entitiesCache.isEnabled())
+        {
+            poller.register(entitiesCache);
+        }
+        return entitiesCache;
+    }
 }
@@ -16,9 +16,14 @@
 package org.finos.legend.depot.services.guice;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
 import org.finos.legend.depot.services.api.versionedEntities.VersionedEntitiesService;
+import org.finos.legend.depot.services.entities.EntitiesCache;
 import org.finos.legend.depot.services.versionedEntities.VersionedEntitiesServiceImpl;
 
+import javax.inject.Singleton;
 
 public class VersionedEntitiesServicesModule extends PrivateModule
 {
@@ -32,4 +37,15 @@ public class VersionedEntitiesServicesModule extends PrivateModule
 
     }
 
+    @Provides
+    @Singleton
+    EntitiesCache getEntitiesCache(EntitiesConfiguration configuration, UpdatedVersionsPoller poller)
+    {
+        EntitiesCache entitiesCache = new EntitiesCache("versioned_entities_cache", configuration.getCacheMaximumBytes());
+        if (entitiesCache.isEnabled())
+        {
+            poller.register(entitiesCache);
+        }
+        return entitiesCache;
+    }
 }
@@ -18,13 +18,25 @@ package org.finos.legend.depot.services.versionedEntities;
 import com.google.inject.Inject;
 import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntity;
 import org.finos.legend.depot.services.api.versionedEntities.ManageVersionedEntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.entities.EntitiesCache;
 import org.finos.legend.depot.services.entities.ManageEntitiesServiceImpl;
 import org.finos.legend.depot.store.api.versionedEntities.UpdateVersionedEntities;
 
 public class ManageVersionedEntitiesServiceImpl extends ManageEntitiesServiceImpl<StoredVersionedEntity> implements ManageVersionedEntitiesService
 {
     @Inject
+    public ManageVersionedEntitiesServiceImpl(UpdateVersionedEntities entities, ProjectsService projects, EntitiesConfiguration entitiesConfiguration, EntitiesCache entitiesCache)
+    {
+        super(entities, projects, entitiesConfiguration, entitiesCache);
+    }
+
+    public ManageVersionedEntitiesServiceImpl(UpdateVersionedEntities entities, ProjectsService projects, EntitiesConfiguration entitiesConfiguration)
+    {
+        super(entities, projects, entitiesConfiguration);
+    }
+
     public ManageVersionedEntitiesServiceImpl(UpdateVersionedEntities entities, ProjectsService projects)
     {
         super(entities, projects);
@@ -19,12 +19,18 @@ import com.google.inject.Inject;
 import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntity;
 import org.finos.legend.depot.services.api.versionedEntities.VersionedEntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.entities.EntitiesCache;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.store.api.versionedEntities.VersionedEntities;
 
 public class VersionedEntitiesServiceImpl extends EntitiesServiceImpl<StoredVersionedEntity> implements VersionedEntitiesService
 {
     @Inject
+    public VersionedEntitiesServiceImpl(VersionedEntities entities, ProjectsService projects, EntitiesCache entitiesCache)
+    {
+        super(entities, projects, entitiesCache);
+    }
+
     public VersionedEntitiesServiceImpl(VersionedEntities entities, ProjectsService projects)
     {
         super(entities, projects);
@@ -15,7 +15,12 @@
 
 package org.finos.legend.depot.server.resources;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.metrics.query.InMemoryQueryMetricsRegistry;
@@ -23,8 +28,11 @@ import org.finos.legend.depot.services.metrics.query.QueryMetricsServiceImpl;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.server.resources.entities.EntitiesResource;
+import org.finos.legend.depot.server.resources.entities.EntityClassifierResource;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.EntityClassifierService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
@@ -36,6 +44,7 @@ import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.depot.store.mongo.metrics.query.QueryMetricsMongo;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -43,6 +52,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Collections;
@@ -50,6 +62,8 @@ import java.util.concurrent.TimeUnit;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TestEntitiesResource extends TestBaseServices
@@ -96,6 +110,78 @@ public class TestEntitiesResource extends TestBaseServices
         Assertions.assertEquals(7, entityList.size());
     }
 
+    @Test
+    public void canStreamEntitiesForProjectAndVersion() throws IOException
+    {
+        EntitiesResource streamingResource = new EntitiesResource(entitiesService, projectsService, new EntitiesConfiguration(true));
+        Response response = streamingResource.getEntities("examples.metadata", "test", "2.3.0", null);
+        Assertions.assertEquals(Response.Status.OK.getStatusCode(), response.getStatus());
+        Assertions.assertNotNull(response.getEntityTag());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(outputStream);
+        List<EntityDefinition> entityList = new ObjectMapper().readValue(outputStream.toByteArray(), new TypeReference<List<EntityDefinition>>() {});
+        Assertions.assertEquals(7, entityList.size());
+        Assertions.assertEquals(entitiesService.getEntities("examples.metadata", "test", "2.3.0").size(), entityList.size());
+    }
+
+    @Test
+    public void canStreamRawEntitiesByPackageAndPath() throws IOException
+    {
+        EntitiesResource streamingResource = new EntitiesResource(entitiesService, projectsService, new EntitiesConfiguration(true));
+        Response response = streamingResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true, null);
+        Assertions.assertEquals(entitiesResource.getEntities("examples.metadata", "test", "2.3.0", "examples::metadata::test", null, true, null).getEntityTag(), response.getEntityTag());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(outputStream);
+        List<EntityDefinition> entityList = new ObjectMapper().readValue(outputStream.toByteArray(), new TypeReference<List<EntityDefinition>>() {});
+        Assertions.assertEquals(4, entityList.size());
+    }
+
+    @Test
+    public void canStreamRawEntityWithTheSameBodyAsTheEntity() throws IOException
+    {
+        EntitiesResource streamingResource = new EntitiesResource(entitiesService, projectsService, new EntitiesConfiguration(true));
+        Response streamedResponse = streamingResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", null);
+        Response response = entitiesResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::TestProfile", null);
+        Assertions.assertEquals(response.getStatus(), streamedResponse.getStatus());
+        Assertions.assertEquals(response.getEntityTag(), streamedResponse.getEntityTag());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((Optional<StreamingOutput>) streamedResponse.getEntity()).get().write(outputStream);
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode streamedBody = objectMapper.readTree(outputStream.toByteArray());
+        JsonNode body = objectMapper.valueToTree(((Optional<Entity>) response.getEntity()).get());
+        Assertions.assertTrue(streamedBody.isObject());
+        Assertions.assertEquals(body, streamedBody);
+        Assertions.assertEquals("meta::pure::metamodel::extension::Profile", streamedBody.get("classifierPath").asText());
+
+        Response missingResponse = streamingResource.getEntity("examples.metadata", "test", "2.3.0", "examples::metadata::test::DoesNotExist", null);
+        Assertions.assertFalse(((Optional<StreamingOutput>) missingResponse.getEntity()).isPresent());
+    }
+
+    @Test
+    public void classifierLookupsOnlyStreamWhenEnabled()
+    {
+        EntityClassifierService classifierService = mock(EntityClassifierService.class);
+        List<DepotEntity> entities = Collections.singletonList(new DepotEntity("examples.metadata", "test", "2.3.0"));
+        when(classifierService.getEntitiesByClassifierPath("meta::pure::metamodel::type::Class", null, null, Scope.RELEASES, true)).thenReturn(entities);
+
+        Response response = new EntityClassifierResource(classifierService).getEntities("meta::pure::metamodel::type::Class", null, Scope.RELEASES, null);
+        Assertions.assertEquals(entities, response.getEntity());
+
+        Response streamedResponse = new EntityClassifierResource(classifierService, new EntitiesConfiguration(true)).getEntities("meta::pure::metamodel::type::Class", null, Scope.RELEASES, null);
+        Assertions.assertTrue(streamedResponse.getEntity() instanceof StreamingOutput);
+        verify(classifierService, times(1)).getEntitiesByClassifierPath("meta::pure::metamodel::type::Class", null, null, Scope.RELEASES, true);
+    }
+
+    @Test
+    public void streamingUnknownVersionFailsBeforeTheResponseIsBuilt()
+    {
+        EntitiesResource streamingResource = new EntitiesResource(entitiesService, projectsService, new EntitiesConfiguration(true));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> streamingResource.getEntities("examples.metadata", "test", "9.9.9", null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> streamingResource.getEntities("examples.metadata", "test", "9.9.9", "examples::metadata::test", null, true, null));
+    }
+
     @Test
     public void canGetEntityByPathForProjectAndVersion()
     {
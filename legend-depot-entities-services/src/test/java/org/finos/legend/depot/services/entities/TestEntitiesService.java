@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.entities;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.eclipse.collections.api.factory.Lists;
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
@@ -24,11 +26,15 @@ import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
+import org.finos.legend.depot.services.api.entities.RawDependencyEntitiesConsumer;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.UpdatedVersionsPollerImpl;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
@@ -42,9 +48,13 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Predicate;
@@ -139,6 +149,38 @@ public class TestEntitiesService extends TestBaseServices
 
     }
 
+    @Test
+    public void canStreamDependenciesEntitiesWithOneQuery()
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test-empty", "1.0.0"));
+        List<ProjectVersion> projectVersions = Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"), new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"), new ProjectVersion("examples.metadata", "test-empty", "1.0.0"));
+        Map<String, Integer> expected = new HashMap<>();
+        List<ProjectVersionEntities> dependencies = entitiesService.getDependenciesEntities(projectVersions, true, true);
+        dependencies.forEach(dep -> expected.put(new ProjectVersion(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()).getGav(), dep.getEntities().size()));
+
+        Map<String, Integer> streamed = new HashMap<>();
+        List<String> announced = new ArrayList<>();
+        entitiesService.forEachRawDependencyEntities(projectVersions, true, true, new RawDependencyEntitiesConsumer()
+        {
+            @Override
+            public void dependency(ProjectVersion projectVersion)
+            {
+                announced.add(projectVersion.getGav());
+                streamed.put(projectVersion.getGav(), 0);
+            }
+
+            @Override
+            public void entity(String rawEntity)
+            {
+                streamed.merge(announced.get(announced.size() - 1), 1, Integer::sum);
+            }
+        });
+        Assertions.assertEquals(4, announced.size());
+        Assertions.assertEquals(new HashSet<>(announced).size(), announced.size());
+        Assertions.assertEquals(0, streamed.get(new ProjectVersion("examples.metadata", "test-empty", "1.0.0").getGav()));
+        Assertions.assertEquals(expected, streamed);
+    }
+
 
     @Test
     public void canQueryEntitiesWithVersionInPackage()
@@ -243,6 +285,49 @@ public class TestEntitiesService extends TestBaseServices
         Assertions.assertEquals(entities.size(), 3);
     }
 
+    @Test
+    public void canGetClassifiersFromLatestVersionIndex()
+    {
+        projectsService.getAllProjectCoordinates().stream().filter(project -> project.getLatestVersion() != null)
+                .forEach(project -> entitiesStore.markLatestVersion(project.getGroupId(), project.getArtifactId(), project.getLatestVersion()));
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setLatestVersionIndex(true);
+        EntityClassifierService indexedClassifierService = new EntityClassifierServiceImpl(projectsService, entitiesStore, configuration);
+
+        List<DepotEntity> expected = classifierService.getEntitiesByClassifierPath("meta::pure::metamodel::type::Class", null, null, Scope.RELEASES, true);
+        List<DepotEntity> entities = indexedClassifierService.getEntitiesByClassifierPath("meta::pure::metamodel::type::Class", null, null, Scope.RELEASES, true);
+        Assertions.assertEquals(3, entities.size());
+        Assertions.assertEquals(new HashSet<>(expected), new HashSet<>(entities));
+        Assertions.assertEquals(2, indexedClassifierService.getEntitiesByClassifierPath("meta::pure::metamodel::type::Class", null, 2, Scope.RELEASES, true).size());
+    }
+
+    @Test
+    public void canStreamClassifierEntities()
+    {
+        String classifier = "meta::pure::metamodel::type::Class";
+        Assertions.assertEquals(new HashSet<>(classifierService.getEntitiesByClassifierPath(classifier, null, null, Scope.RELEASES, true)), new HashSet<>(streamClassifierEntities(classifier, null, null, Scope.RELEASES)));
+        Assertions.assertEquals(2, streamClassifierEntities(classifier, null, 2, Scope.RELEASES).size());
+        Assertions.assertEquals(classifierService.getEntitiesByClassifierPath(classifier, "Client", 2, Scope.RELEASES, true), streamClassifierEntities(classifier, "Client", 2, Scope.RELEASES));
+        Assertions.assertEquals(classifierService.getEntitiesByClassifierPath(classifier, "Client", null, Scope.SNAPSHOT, true), streamClassifierEntities(classifier, "Client", null, Scope.SNAPSHOT));
+    }
+
+    private List<DepotEntity> streamClassifierEntities(String classifier, String search, Integer limit, Scope scope)
+    {
+        List<DepotEntity> result = new ArrayList<>();
+        classifierService.forEachRawEntityByClassifierPath(classifier, search, limit, scope, (projectVersion, entity) ->
+        {
+            try
+            {
+                result.add(new DepotEntity(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), new ObjectMapper().readValue(entity, EntityDefinition.class)));
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return result;
+    }
+
     @Test
     public void canGetEntitiesForProjectAndVersionByClassifier()
     {
@@ -270,6 +355,19 @@ public class TestEntitiesService extends TestBaseServices
         List<Entity> entity1 = entitiesService.getDependenciesEntitiesByClassifier("examples.metadata", "test-dependencies", "1.0.1", "meta::pure::metamodel::function::ConcreteFunctionDefinition", true, false);
         Assertions.assertNotNull(entity1);
         Assertions.assertEquals(1, entity1.size());
+
+        EntitiesCache cache = new EntitiesCache("test_entities_cache", 10_000_000);
+        ManageEntitiesService cachedService = new ManageEntitiesServiceImpl(entitiesStore, projectsService, new EntitiesConfiguration(), cache);
+        for (int attempt = 0; attempt < 2; attempt++)
+        {
+            JsonNode dependencies = new ObjectMapper().valueToTree(cachedService.getDependenciesEntitiesByClassifier("examples.metadata", "test-dependencies", "1.0.1", "meta::pure::metamodel::function::ConcreteFunctionDefinition", true, false));
+            JsonNode depotEntity = dependencies.get(0).get("entities").get(0);
+            Assertions.assertEquals("example.services.test", depotEntity.get("groupId").asText());
+            Assertions.assertEquals("test", depotEntity.get("artifactId").asText());
+            Assertions.assertEquals("2.0.2", depotEntity.get("versionId").asText());
+            Assertions.assertEquals("meta::pure::metamodel::function::ConcreteFunctionDefinition", depotEntity.get("entity").get("classifierPath").asText());
+        }
+        Assertions.assertEquals(1, cache.size());
     }
 
     @Test
@@ -289,4 +387,56 @@ public class TestEntitiesService extends TestBaseServices
 
         Assertions.assertThrows(IllegalArgumentException.class, () -> entitiesService.getEntityFromDependencies("examples.metadata", "test", "3.0.1", Lists.fixedSize.of("covid::JHUCovid19"), false), "project version not found for examples.metadata-test-3.0.1");
     }
+
+    @Test
+    public void canCacheReleasedVersionEntities()
+    {
+        EntitiesCache cache = new EntitiesCache("test_entities_cache", 10_000_000);
+        ManageEntitiesService cachedService = new ManageEntitiesServiceImpl(entitiesStore, projectsService, new EntitiesConfiguration(), cache);
+
+        Assertions.assertEquals(7, cachedService.getEntities("examples.metadata", "test", "2.3.1").size());
+        Assertions.assertEquals(1, cache.size());
+
+        entitiesStore.delete("examples.metadata", "test", "2.3.1");
+        Assertions.assertEquals(7, cachedService.getEntities("examples.metadata", "test", "2.3.1").size());
+        List<ProjectVersionEntities> dependencies = cachedService.getDependenciesEntities("examples.metadata", "test", "2.3.1", false, true);
+        Assertions.assertEquals(7, dependencies.stream().filter(projectToArtifactFilter("examples.metadata", "test")).findFirst().get().getEntities().size());
+        Assertions.assertEquals(2, cache.size());
+
+        cachedService.delete("examples.metadata", "test", "2.3.1");
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertTrue(cachedService.getEntities("examples.metadata", "test", "2.3.1").isEmpty());
+
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", BRANCH_SNAPSHOT("master")));
+        entityUtils.loadEntities("PROD-A", BRANCH_SNAPSHOT("master"));
+        Assertions.assertEquals(7, cachedService.getEntities("examples.metadata", "test", BRANCH_SNAPSHOT("master")).size());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void cachedEntitiesAreWeighedByTheirStoredPayloadAndDropWhenUpdatedElsewhere()
+    {
+        EntitiesCache cache = new EntitiesCache("test_entities_cache", 10_000_000);
+        ManageEntitiesService cachedService = new ManageEntitiesServiceImpl(entitiesStore, projectsService, new EntitiesConfiguration(), cache);
+
+        long payloadBytes = 0;
+        List<String> rawEntities = new ArrayList<>();
+        entitiesStore.forEachRawEntity("examples.metadata", "test", "2.3.1", rawEntity -> rawEntities.add((String) rawEntity));
+        for (String rawEntity : rawEntities)
+        {
+            payloadBytes += rawEntity.length();
+        }
+        Assertions.assertEquals(7, cachedService.getEntities("examples.metadata", "test", "2.3.1").size());
+        Assertions.assertEquals(payloadBytes, cache.weight());
+
+        // another instance evicting or refreshing the version again only leaves its mark on the project version
+        StoreProjectVersionData projectVersion = projectsVersionsStore.find("examples.metadata", "test", "2.3.1").get();
+        projectVersion.setEvicted(true);
+        projectsVersionsStore.createOrUpdate(projectVersion);
+        UpdatedVersionsPoller poller = new UpdatedVersionsPollerImpl(projectsVersionsStore);
+        poller.register(cache);
+        Assertions.assertTrue(poller.poll() > 0);
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(0, cache.weight());
+    }
 }
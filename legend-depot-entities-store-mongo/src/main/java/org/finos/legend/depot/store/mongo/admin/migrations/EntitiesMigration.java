@@ -20,13 +20,20 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.entities.EntityBodies;
+import org.finos.legend.depot.store.mongo.entities.EntityDataCompression;
+import org.finos.legend.depot.store.mongo.entities.EntitySearchTokens;
 import org.slf4j.Logger;
 
 import java.util.HashMap;
@@ -36,6 +43,7 @@ import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import static com.mongodb.client.model.Aggregates.group;
@@ -43,6 +51,7 @@ import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.ARTIFACT_ID;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.GROUP_ID;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ID_FIELD;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.VERSION_ID;
 
 @Deprecated
@@ -57,6 +66,15 @@ public final class EntitiesMigration
     static final String ENTITY_ATTRIBUTES = "entityAttributes";
     static final String CLASSIFIER_PATH = "classifierPath";
     static final String PATH = "path";
+    static final String ENTITY_DATA = "data";
+    static final String ENTITY_REFERENCE = "reference";
+    static final String ENTITY_TYPE_STRING_DATA = "entityStringData";
+    static final String ENTITY_TYPE_REFERENCE = "entityReference";
+    static final String VERSIONED_ENTITY_TYPE_STRING_DATA = "versionedEntityStringData";
+    static final String VERSIONED_ENTITY_TYPE_REFERENCE = "versionedEntityReference";
+    private static final int ENTITY_REFERENCES_BATCH_SIZE = 1000;
+    private static final String PROJECTS_COLLECTION = "project-configurations";
+    private static final String PROJECT_LATEST_VERSION = "latestVersion";
     private final MongoDatabase mongoDatabase;
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntitiesMigration.class);
 
@@ -113,6 +131,103 @@ public final class EntitiesMigration
         LOGGER.info(String.format("Entities update completed", i.get()));
     }
 
+    public long entitiesToEntityReferencesMigration(String collectionName, String stringDataType, String referenceType)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        EntityBodies entityBodies = new EntityBodies(mongoDatabase);
+        AtomicLong migrated = new AtomicLong();
+        List<Document> batch = new ArrayList<>();
+        collection.find(eq(ENTITY_TYPE, stringDataType)).projection(Projections.include(ENTITY_DATA, EntityDataCompression.DATA_COMPRESSION)).forEach((Consumer<Document>) document ->
+        {
+            batch.add(document);
+            if (batch.size() == ENTITY_REFERENCES_BATCH_SIZE)
+            {
+                migrated.addAndGet(migrateToEntityReferences(collection, entityBodies, batch, stringDataType, referenceType));
+                batch.clear();
+                LOGGER.info(String.format("[%s] %s documents migrated to entity references", migrated.get(), collectionName));
+            }
+        });
+        migrated.addAndGet(migrateToEntityReferences(collection, entityBodies, batch, stringDataType, referenceType));
+        LOGGER.info(String.format("%s migration to entity references completed, [%s] documents migrated", collectionName, migrated.get()));
+        return migrated.get();
+    }
+
+    public long entitySearchTokensMigration(String collectionName)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        AtomicLong migrated = new AtomicLong();
+        List<WriteModel<Document>> batch = new ArrayList<>();
+        collection.find(and(Filters.exists(ENTITY_ATTRIBUTES + "." + PATH), Filters.exists(EntitySearchTokens.SEARCH_TOKENS, false)))
+                .projection(Projections.include(ENTITY_ATTRIBUTES + "." + PATH)).forEach((Consumer<Document>) document ->
+        {
+            String path = ((Document) document.get(ENTITY_ATTRIBUTES)).getString(PATH);
+            batch.add(new UpdateOneModel<>(eq(ID_FIELD, document.get(ID_FIELD)), Updates.set(EntitySearchTokens.SEARCH_TOKENS, EntitySearchTokens.tokens(path))));
+            if (batch.size() == ENTITY_REFERENCES_BATCH_SIZE)
+            {
+                migrated.addAndGet(collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount());
+                batch.clear();
+                LOGGER.info(String.format("[%s] %s documents migrated to search tokens", migrated.get(), collectionName));
+            }
+        });
+        if (!batch.isEmpty())
+        {
+            migrated.addAndGet(collection.bulkWrite(batch, new BulkWriteOptions().ordered(false)).getModifiedCount());
+        }
+        LOGGER.info(String.format("%s migration to search tokens completed, [%s] documents migrated", collectionName, migrated.get()));
+        return migrated.get();
+    }
+
+    public long entitiesLatestVersionMigration(String collectionName)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        AtomicLong migrated = new AtomicLong();
+        mongoDatabase.getCollection(PROJECTS_COLLECTION).find(Filters.exists(PROJECT_LATEST_VERSION))
+                .projection(Projections.include(GROUP_ID, ARTIFACT_ID, PROJECT_LATEST_VERSION)).forEach((Consumer<Document>) project ->
+        {
+            Bson latestVersionFilter = and(eq(GROUP_ID, project.getString(GROUP_ID)), eq(ARTIFACT_ID, project.getString(ARTIFACT_ID)), eq(VERSION_ID, project.getString(PROJECT_LATEST_VERSION)));
+            migrated.addAndGet(collection.updateMany(latestVersionFilter, Updates.set(AbstractEntitiesMongo.LATEST_VERSION, true)).getModifiedCount());
+        });
+        LOGGER.info(String.format("%s migration to latest version flag completed, [%s] documents migrated", collectionName, migrated.get()));
+        return migrated.get();
+    }
+
+    public List<String> indexesDeletion(String collectionName, List<String> indexNames)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        List<String> dropped = new ArrayList<>();
+        collection.listIndexes().forEach((Consumer<Document>) index ->
+        {
+            String indexName = index.getString("name");
+            if (indexNames.contains(indexName))
+            {
+                dropped.add(indexName);
+            }
+        });
+        dropped.forEach(collection::dropIndex);
+        LOGGER.info(String.format("%s indexes dropped: %s", collectionName, dropped));
+        return dropped;
+    }
+
+    private long migrateToEntityReferences(MongoCollection<Document> collection, EntityBodies entityBodies, List<Document> documents, String stringDataType, String referenceType)
+    {
+        if (documents.isEmpty())
+        {
+            return 0;
+        }
+        List<WriteModel<Document>> bodies = new ArrayList<>();
+        List<WriteModel<Document>> references = new ArrayList<>();
+        documents.forEach(document ->
+        {
+            String data = EntityDataCompression.read(document);
+            String reference = EntityBodies.hash(data);
+            bodies.add(EntityBodies.upsert(reference, data, EntityDataCompression.isCompressed(document)));
+            references.add(new UpdateOneModel<>(and(eq(ID_FIELD, document.get(ID_FIELD)), eq(ENTITY_TYPE, stringDataType)),
+                    Updates.combine(Updates.set(ENTITY_TYPE, referenceType), Updates.set(ENTITY_REFERENCE, reference), Updates.unset(ENTITY_DATA), Updates.unset(EntityDataCompression.DATA_COMPRESSION))));
+        });
+        entityBodies.store(bodies);
+        return collection.bulkWrite(references, new BulkWriteOptions().ordered(false)).getModifiedCount();
+    }
+
     private List<ProjectVersion> getAllStoredEntitiesCoordinates()
     {
         List<ProjectVersion> result = new ArrayList<>();
@@ -17,9 +17,14 @@ package org.finos.legend.depot.store.mongo.admin.migrations;
 
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.result.DeleteResult;
+import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Deprecated
 public class MongoEntitiesMigrations extends MongoMigrations
@@ -42,4 +47,32 @@ public class MongoEntitiesMigrations extends MongoMigrations
     {
         new EntitiesMigration(mongoDatabase).entitiesToStoredEntityDataMigration();
     }
+
+    public long migrateEntitiesToEntityReferences()
+    {
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        return migration.entitiesToEntityReferencesMigration(EntitiesMongo.COLLECTION, EntitiesMigration.ENTITY_TYPE_STRING_DATA, EntitiesMigration.ENTITY_TYPE_REFERENCE)
+                + migration.entitiesToEntityReferencesMigration(VersionedEntitiesMongo.COLLECTION, EntitiesMigration.VERSIONED_ENTITY_TYPE_STRING_DATA, EntitiesMigration.VERSIONED_ENTITY_TYPE_REFERENCE);
+    }
+
+    public long migrateEntitiesToSearchTokens()
+    {
+        // versioned entities are never searched through search tokens
+        return new EntitiesMigration(mongoDatabase).entitySearchTokensMigration(EntitiesMongo.COLLECTION);
+    }
+
+    public long migrateEntitiesToLatestVersionFlag()
+    {
+        // versioned entities are never looked up by latest version, so only the entities collection is flagged
+        return new EntitiesMigration(mongoDatabase).entitiesLatestVersionMigration(EntitiesMongo.COLLECTION);
+    }
+
+    public List<String> dropClassifierIndexes()
+    {
+        // both are prefixes of the compound classifier indexes that replaced them, so they only add cost to writes
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        List<String> dropped = new ArrayList<>(migration.indexesDeletion(EntitiesMongo.COLLECTION, Collections.singletonList("entityAttributes-classifier")));
+        dropped.addAll(migration.indexesDeletion(VersionedEntitiesMongo.COLLECTION, Collections.singletonList("entity-classifier")));
+        return dropped;
+    }
 }
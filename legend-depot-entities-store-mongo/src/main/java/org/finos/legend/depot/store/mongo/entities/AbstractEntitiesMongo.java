@@ -30,19 +30,26 @@ import org.bson.conversions.Bson;
 import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.ListIterate;
+import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -50,13 +57,16 @@ import java.util.stream.Collectors;
 import static com.mongodb.client.model.Aggregates.group;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
 import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Filters.or;
-import static com.mongodb.client.model.Filters.regex;
+import static com.mongodb.client.model.Sorts.ascending;
 import static com.mongodb.client.model.Updates.combine;
 import static com.mongodb.client.model.Updates.currentDate;
 import static com.mongodb.client.model.Updates.set;
+import static com.mongodb.client.model.Updates.unset;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
 
 public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends BaseMongo<T>
@@ -74,13 +84,36 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     protected static final String ENTITY_PACKAGE = "entityAttributes.package";
     static final String ENTITY_TYPE_STRING_DATA = "entityStringData";
     protected static final String VERSIONED_ENTITY_TYPE_STRING_DATA = "versionedEntityStringData";
+    static final String ENTITY_TYPE_REFERENCE = "entityReference";
+    protected static final String VERSIONED_ENTITY_TYPE_REFERENCE = "versionedEntityReference";
+    protected static final String ENTITY_REFERENCE = "reference";
+    public static final String LATEST_VERSION = "latestVersion";
+    private static final Map<String, String> REFERENCE_TO_STRING_DATA_TYPE = Map.of(ENTITY_TYPE_REFERENCE, ENTITY_TYPE_STRING_DATA, VERSIONED_ENTITY_TYPE_REFERENCE, VERSIONED_ENTITY_TYPE_STRING_DATA);
+    private static final int ENTITY_BODIES_BATCH_SIZE = 500;
     protected static final ObjectMapper objectMapper = new ObjectMapper().configure(SerializationFeature.WRITE_NULL_MAP_VALUES, true);
-    static final String RE_STRING_START = "^";
-    static final String RE_STAR = "*";
+    private static final String PACKAGE_SEPARATOR = "::";
+    private static final char PACKAGE_RANGE_END = '\uffff';
+
+    protected final EntityBodies entityBodies;
+    protected final boolean compressEntities;
+    protected final boolean indexedSearch;
 
     protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass)
+    {
+        this(mongoDatabase, documentClass, new EntitiesConfiguration());
+    }
+
+    protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass, EntitiesConfiguration entitiesConfiguration)
+    {
+        this(mongoDatabase, documentClass, entitiesConfiguration, entitiesConfiguration.isIndexedSearch());
+    }
+
+    protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass, EntitiesConfiguration entitiesConfiguration, boolean indexedSearch)
     {
         super(mongoDatabase, documentClass);
+        this.entityBodies = new EntityBodies(mongoDatabase);
+        this.compressEntities = entitiesConfiguration.isCompressEntities();
+        this.indexedSearch = indexedSearch;
     }
 
     protected Bson getEntityPathFilter(String groupId, String artifactId, String versionId, String path)
@@ -102,57 +135,231 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     protected abstract void validateNewData(T data);
 
-    protected abstract Entity resolvedToEntityDefinition(T storedEntity);
+    protected abstract Entity resolvedToEntityDefinition(T storedEntity, Map<String, String> bodies);
 
-    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path)
+    protected abstract String getEntityReference(T storedEntity);
+
+    protected Entity resolvedToEntityDefinition(T storedEntity)
     {
-        Bson filterByKey = getEntityPathFilter(groupId, artifactId, versionId, path);
-        return findOne(filterByKey).map(this::resolvedToEntityDefinition);
+        return resolvedToEntityDefinitions(Collections.singletonList(storedEntity)).get(0);
     }
 
-    private List<Entity> getEntities(String groupId, String artifactId, String versionId, List<String> entityPaths)
+    protected List<Entity> resolvedToEntityDefinitions(List<T> storedEntities)
     {
-        List<Bson> filters = new ArrayList<>();
-        filters.add(or(ListIterate.collect(entityPaths, path -> getEntityPathFilter(groupId, artifactId, versionId, path))));
-        return find(and(filters)).stream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
+        // bodies kept by hash are looked up with one query per batch, never one per entity
+        List<Entity> result = new ArrayList<>(storedEntities.size());
+        for (int start = 0; start < storedEntities.size(); start += ENTITY_BODIES_BATCH_SIZE)
+        {
+            List<T> batch = storedEntities.subList(start, Math.min(start + ENTITY_BODIES_BATCH_SIZE, storedEntities.size()));
+            Map<String, String> bodies = entityBodies.find(batch.stream().map(this::getEntityReference).filter(Objects::nonNull).collect(Collectors.toSet()));
+            batch.forEach(storedEntity -> result.add(resolvedToEntityDefinition(storedEntity, bodies)));
+        }
+        return result;
     }
 
-    public List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths)
+    protected String resolveEntityBody(String reference, Map<String, String> bodies, T storedEntity)
+    {
+        String data = bodies.get(reference);
+        if (data == null)
+        {
+            throw new IllegalStateException(String.format("Entity body %s not found for %s-%s-%s-%s", reference, storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), storedEntity.getEntityAttributes().get(PATH)));
+        }
+        return data;
+    }
+
+    protected List<Document> resolveEntityBodies(List<Document> documents)
+    {
+        documents.forEach(EntityDataCompression::decode);
+        Set<String> references = documents.stream().filter(this::isEntityReference).map(document -> document.getString(ENTITY_REFERENCE)).collect(Collectors.toSet());
+        if (references.isEmpty())
+        {
+            return documents;
+        }
+        Map<String, String> bodies = entityBodies.find(references);
+        documents.stream().filter(this::isEntityReference).forEach(document ->
+        {
+            String data = bodies.get(document.getString(ENTITY_REFERENCE));
+            if (data == null)
+            {
+                throw new IllegalStateException(String.format("Entity body %s not found for %s-%s-%s-%s", document.getString(ENTITY_REFERENCE), document.getString(BaseMongo.GROUP_ID), document.getString(BaseMongo.ARTIFACT_ID), document.getString(BaseMongo.VERSION_ID), ((Document) document.get(ENTITY_ATTRIBUTES)).getString(PATH)));
+            }
+            document.put(ENTITY_TYPE, REFERENCE_TO_STRING_DATA_TYPE.get(document.getString(ENTITY_TYPE)));
+            document.put(ENTITY_DATA, data);
+        });
+        return documents;
+    }
+
+    private boolean isEntityReference(Document document)
+    {
+        return REFERENCE_TO_STRING_DATA_TYPE.containsKey(document.getString(ENTITY_TYPE));
+    }
+
+    protected void forEachResolvedDocument(FindIterable query, Consumer<Document> consumer)
+    {
+        forEachResolvedBatch(query, batch -> batch.forEach(consumer));
+    }
+
+    protected void forEachResolvedBatch(FindIterable query, Consumer<List<Document>> consumer)
     {
-        List<Entity> entity = new ArrayList<>();
-        for (ProjectVersion dep : dependencies)
+        List<Document> batch = new ArrayList<>();
+        query.forEach((Consumer<Document>) document ->
         {
-            List<Entity> depEntity = this.getEntities(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), entityPaths);
-            entity.addAll(depEntity);
-            if (depEntity.size() == entityPaths.size())
+            batch.add(document);
+            if (batch.size() == ENTITY_BODIES_BATCH_SIZE)
             {
-                break;
+                consumer.accept(resolveEntityBodies(batch));
+                batch.clear();
             }
+        });
+        consumer.accept(resolveEntityBodies(batch));
+    }
+
+    protected List<T> convertResolved(FindIterable query)
+    {
+        List<T> result = new ArrayList<>();
+        forEachResolvedDocument(query, document -> result.add(convert(document)));
+        return result;
+    }
+
+    protected List<T> findResolved(Bson filter)
+    {
+        return convertResolved(executeFind(filter));
+    }
+
+    protected String resolvedToEntityData(Document document)
+    {
+        String entityType = document.getString(ENTITY_TYPE);
+        if (ENTITY_TYPE_STRING_DATA.equals(entityType) || VERSIONED_ENTITY_TYPE_STRING_DATA.equals(entityType))
+        {
+            return document.getString(ENTITY_DATA);
+        }
+        return serializeEntity(resolvedToEntityDefinition(convert(document)));
+    }
+
+    public Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path)
+    {
+        Bson filterByKey = getEntityPathFilter(groupId, artifactId, versionId, path);
+        List<T> result = findResolved(filterByKey);
+        if (result.size() > 1)
+        {
+            throw new IllegalStateException(String.format(" Found more than one match %s in collection %s", filterByKey, getCollection().getNamespace().getCollectionName()));
+        }
+        return result.stream().findFirst().map(this::resolvedToEntityDefinition);
+    }
+
+    public List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths)
+    {
+        if (dependencies.isEmpty() || entityPaths.isEmpty())
+        {
+            return new ArrayList<>();
+        }
+        // a path found in several versions is taken from the one that comes first in the dependencies' iteration order
+        Map<String, Integer> precedence = new HashMap<>();
+        dependencies.forEach(dep -> precedence.putIfAbsent(dep.getGav(), precedence.size()));
+        Map<String, T> found = new HashMap<>();
+        Bson filter = and(or(ListIterate.collect(new ArrayList<>(dependencies), dep -> getArtifactAndVersionVersionedFilter(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()))), in(ENTITY_PATH, entityPaths));
+        forEachResolvedDocument(executeFind(filter), document ->
+        {
+            T storedEntity = convert(document);
+            found.merge((String) storedEntity.getEntityAttributes().get(PATH), storedEntity, (current, candidate) -> precedence(precedence, candidate) < precedence(precedence, current) ? candidate : current);
+        });
+        return resolvedToEntityDefinitions(entityPaths.stream().distinct().filter(found::containsKey).map(found::get).collect(Collectors.toList()));
+    }
+
+    private int precedence(Map<String, Integer> precedence, T storedEntity)
+    {
+        return precedence.getOrDefault(new ProjectVersion(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId()).getGav(), Integer.MAX_VALUE);
+    }
+
+    public List<ProjectVersionEntities> getEntitiesByVersions(List<ProjectVersion> projectVersions, String classifier)
+    {
+        Map<String, ProjectVersionEntities> entitiesByVersion = new LinkedHashMap<>();
+        projectVersions.forEach(pv -> entitiesByVersion.putIfAbsent(pv.getGav(), new ProjectVersionEntities(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId(), new ArrayList<>())));
+        if (entitiesByVersion.isEmpty())
+        {
+            return new ArrayList<>();
         }
-        return entity;
+        forEachResolvedBatch(executeFind(getEntitiesByVersionsFilter(projectVersions, classifier)), batch -> batch.parallelStream()
+                .map(this::convert)
+                .map(storedEntity -> Tuples.pair(new ProjectVersion(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId()).getGav(), resolvedToEntityDefinition(storedEntity)))
+                .collect(Collectors.toList())
+                .forEach(entity -> entitiesByVersion.get(entity.getOne()).getEntities().add(entity.getTwo())));
+        return new ArrayList<>(entitiesByVersion.values());
+    }
+
+    public void forEachRawEntityByVersions(List<ProjectVersion> projectVersions, String classifier, BiConsumer<ProjectVersion, String> consumer)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return;
+        }
+        forEachResolvedDocument(executeFind(getEntitiesByVersionsFilter(projectVersions, classifier)).sort(ascending(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID)), document -> consumer.accept(new ProjectVersion(document.getString(BaseMongo.GROUP_ID), document.getString(BaseMongo.ARTIFACT_ID), document.getString(BaseMongo.VERSION_ID)), resolvedToEntityData(document)));
+    }
+
+    private Bson getEntitiesByVersionsFilter(List<ProjectVersion> projectVersions, String classifier)
+    {
+        Bson filter = or(ListIterate.collect(projectVersions, pv -> getArtifactAndVersionVersionedFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
+        return classifier != null ? and(filter, eq(ENTITY_CLASSIFIER_PATH, classifier)) : filter;
     }
 
     public List<T> getStoredEntities(String groupId, String artifactId)
     {
-        return find(getArtifactVersionedFilter(groupId, artifactId));
+        return findDecoded(getArtifactVersionedFilter(groupId, artifactId));
     }
 
     public List<T> getStoredEntities(String groupId, String artifactId, String versionId)
     {
-        return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
+        return findDecoded(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
+    }
+
+    @Override
+    public List<T> getAllStoredEntities()
+    {
+        return findDecoded(new Document());
+    }
+
+    private List<T> findDecoded(Bson filter)
+    {
+        List<T> result = new ArrayList<>();
+        executeFind(filter).forEach((Consumer<Document>) document -> result.add(convert(EntityDataCompression.decode(document))));
+        return result;
     }
 
     public List<Entity> getAllEntities(String groupId, String artifactId, String versionId)
     {
-        return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).parallelStream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
+        return findResolved(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).parallelStream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
+    }
+
+    public Optional<String> getRawEntity(String groupId, String artifactId, String versionId, String path)
+    {
+        Document document = (Document) executeFind(getEntityPathFilter(groupId, artifactId, versionId, path)).first();
+        return Optional.ofNullable(document).map(found -> resolvedToEntityData(resolveEntityBodies(Collections.singletonList(found)).get(0)));
+    }
+
+    public void forEachRawEntity(String groupId, String artifactId, String versionId, Consumer<String> consumer)
+    {
+        forEachResolvedDocument(executeFind(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)), document -> consumer.accept(resolvedToEntityData(document)));
+    }
+
+    public void forEachRawEntityByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages, Consumer<String> consumer)
+    {
+        forEachResolvedDocument(executeFind(getEntitiesByPackageFilter(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages)), document -> consumer.accept(resolvedToEntityData(document)));
     }
 
     public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
+    {
+        return findResolved(getEntitiesByPackageFilter(groupId, artifactId, versionId, packageName, classifierPaths, includeSubPackages)).parallelStream()
+                .map(this::resolvedToEntityDefinition)
+                .collect(Collectors.toList());
+    }
+
+    private Bson getEntitiesByPackageFilter(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
     {
         Bson filter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
         if (packageName != null && !packageName.trim().isEmpty() && includeSubPackages)
         {
-            filter = and(filter, regex(ENTITY_PACKAGE, RE_STRING_START + packageName + RE_STAR));
+            // the package itself and everything under it, but not siblings that merely share its name as a prefix
+            filter = and(filter, or(eq(ENTITY_PACKAGE, packageName), and(gte(ENTITY_PACKAGE, packageName + PACKAGE_SEPARATOR), lt(ENTITY_PACKAGE, packageName + PACKAGE_SEPARATOR + PACKAGE_RANGE_END))));
         }
         else if (packageName != null && !packageName.trim().isEmpty())
         {
@@ -163,10 +370,7 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         {
             filter = and(filter, in(ENTITY_CLASSIFIER_PATH, classifierPaths));
         }
-
-        return find(filter).parallelStream()
-                .map(this::resolvedToEntityDefinition)
-                .collect(Collectors.toList());
+        return filter;
     }
 
     public FindIterable findReleasedEntitiesByClassifier(String classifier)
@@ -195,10 +399,7 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
         filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
-        if (search != null)
-        {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
-        }
+        addSearchFilters(filters, search);
         return executeFind(and(filters));
     }
 
@@ -207,10 +408,7 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
         filters.add(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")));
-        if (search != null)
-        {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
-        }
+        addSearchFilters(filters, search);
         return executeFind(and(filters));
     }
 
@@ -226,21 +424,56 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         {
             filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
         }
+        addSearchFilters(filters, search);
+        return executeFind(and(filters));
+    }
+
+    public FindIterable findLatestVersionEntitiesByClassifier(String classifier, String search)
+    {
+        List<Bson> filters = new ArrayList<>();
+        filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
+        filters.add(eq(LATEST_VERSION, true));
+        addSearchFilters(filters, search);
+        return executeFind(and(filters));
+    }
+
+    private void addSearchFilters(List<Bson> filters, String search)
+    {
         if (search != null)
         {
+            if (indexedSearch && EntitySearchTokens.canFilter(search))
+            {
+                filters.add(EntitySearchTokens.filter(search));
+            }
             filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
         }
-        return executeFind(and(filters));
     }
 
     public long delete(String groupId, String artifactId, String versionId)
     {
-        return delete(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
+        return deleteWithBodies(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
     }
 
     public long delete(String groupId, String artifactId)
     {
-        return delete(getArtifactVersionedFilter(groupId, artifactId));
+        return deleteWithBodies(getArtifactVersionedFilter(groupId, artifactId));
+    }
+
+    private long deleteWithBodies(Bson filter)
+    {
+        // bodies kept by hash can be shared with other versions, only the ones left unreferenced are removed
+        Set<String> references = new HashSet<>();
+        getCollection().distinct(ENTITY_REFERENCE, filter, String.class).forEach((Consumer<String>) references::add);
+        long deleted = delete(filter);
+        entityBodies.deleteUnreferenced(references);
+        return deleted;
+    }
+
+    public long markLatestVersion(String groupId, String artifactId, String versionId)
+    {
+        // only the previously flagged entities are read to clear the flag, through the latestVersion-groupId-artifactId partial index
+        long previous = getCollection().updateMany(and(getArtifactVersionedFilter(groupId, artifactId), eq(LATEST_VERSION, true), Filters.ne(BaseMongo.VERSION_ID, versionId)), unset(LATEST_VERSION)).getModifiedCount();
+        return previous + getCollection().updateMany(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId), set(LATEST_VERSION, true)).getModifiedCount();
     }
 
     public List<Pair<String, String>> getStoredEntitiesCoordinates()
@@ -291,13 +524,38 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     protected Bson combineDocument(T storedEntity, Entity entity, String entityType)
     {
-        return combine(
-                set(BaseMongo.GROUP_ID, storedEntity.getGroupId()),
-                set(BaseMongo.ARTIFACT_ID, storedEntity.getArtifactId()),
-                set(BaseMongo.VERSION_ID, storedEntity.getVersionId()),
-                set(ENTITY_ATTRIBUTES, buildEntityAttributes(entity)),
-                set(ENTITY_TYPE, entityType),
-                set(ENTITY_DATA, serializeEntity(entity)),
-                currentDate(BaseMongo.UPDATED));
+        List<Bson> updates = buildCoordinatesUpdates(storedEntity, entity);
+        updates.add(set(ENTITY_TYPE, entityType));
+        updates.add(compressEntities ? set(ENTITY_DATA, EntityDataCompression.compress(serializeEntity(entity))) : set(ENTITY_DATA, serializeEntity(entity)));
+        updates.add(compressEntities ? set(EntityDataCompression.DATA_COMPRESSION, EntityDataCompression.DEFLATE) : unset(EntityDataCompression.DATA_COMPRESSION));
+        updates.add(unset(ENTITY_REFERENCE));
+        updates.add(currentDate(BaseMongo.UPDATED));
+        return combine(updates);
+    }
+
+    protected Bson combineReferenceDocument(T storedEntity, Entity entity, String reference, String entityType)
+    {
+        List<Bson> updates = buildCoordinatesUpdates(storedEntity, entity);
+        updates.add(set(ENTITY_TYPE, entityType));
+        updates.add(set(ENTITY_REFERENCE, reference));
+        updates.add(unset(ENTITY_DATA));
+        updates.add(unset(EntityDataCompression.DATA_COMPRESSION));
+        updates.add(currentDate(BaseMongo.UPDATED));
+        return combine(updates);
+    }
+
+    private List<Bson> buildCoordinatesUpdates(T storedEntity, Entity entity)
+    {
+        List<Bson> updates = new ArrayList<>();
+        updates.add(set(BaseMongo.GROUP_ID, storedEntity.getGroupId()));
+        updates.add(set(BaseMongo.ARTIFACT_ID, storedEntity.getArtifactId()));
+        updates.add(set(BaseMongo.VERSION_ID, storedEntity.getVersionId()));
+        updates.add(set(ENTITY_ATTRIBUTES, buildEntityAttributes(entity)));
+        // search tokens cost an index key per path trigram, they are only kept where searches go through them
+        if (indexedSearch)
+        {
+            updates.add(set(EntitySearchTokens.SEARCH_TOKENS, EntitySearchTokens.tokens(entity.getPath())));
+        }
+        return updates;
     }
 }
@@ -16,11 +16,19 @@
 package org.finos.legend.depot.store.mongo.entities;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
+import com.mongodb.MongoWriteException;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.CoordinateValidator;
@@ -30,9 +38,11 @@ import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.entity.DepotEntityOverview;
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
+import org.finos.legend.depot.store.model.entities.StoredEntityReference;
 import org.finos.legend.depot.store.model.entities.StoredEntityStringData;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.store.api.entities.Entities;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
@@ -43,38 +53,75 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.in;
 
 public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo<T> implements Entities<T>, UpdateEntities<T>
 {
     public static final String COLLECTION = "entities";
     public static final UpdateOptions INSERT_IF_ABSENT = new UpdateOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED_WRITE = new BulkWriteOptions().ordered(false);
+    private static final int RANKED_FETCH_SIZE = 500;
+    private static final Bson SUMMARY_PROJECTION = Projections.fields(Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH, ENTITY_CLASSIFIER_PATH), Projections.excludeId());
+
+    private final boolean deduplicateEntities;
+    private final int writeBatchSize;
 
     @Inject
+    public EntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider, EntitiesConfiguration entitiesConfiguration)
+    {
+        this(databaseProvider, (Class<T>) StoredEntity.class, entitiesConfiguration);
+    }
+
     public EntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
     {
-        super(databaseProvider,StoredEntity.class);
+        this(databaseProvider, new EntitiesConfiguration());
     }
 
     public EntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider, Class<T> documentClass)
     {
-        super(databaseProvider, documentClass);
+        this(databaseProvider, documentClass, new EntitiesConfiguration());
     }
 
+    public EntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider, Class<T> documentClass, EntitiesConfiguration entitiesConfiguration)
+    {
+        this(databaseProvider, documentClass, entitiesConfiguration, entitiesConfiguration.isIndexedSearch());
+    }
 
-    public static List<IndexModel> buildIndexes()
+    protected EntitiesMongo(MongoDatabase databaseProvider, Class<T> documentClass, EntitiesConfiguration entitiesConfiguration, boolean indexedSearch)
     {
-        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
+        super(databaseProvider, documentClass, entitiesConfiguration, indexedSearch);
+        this.deduplicateEntities = entitiesConfiguration.isDeduplicateEntities();
+        this.writeBatchSize = Math.max(1, entitiesConfiguration.getWriteBatchSize());
+    }
+
+
+    public static List<IndexModel> buildIndexes(boolean indexedSearch)
+    {
+        List<IndexModel> indexes = new ArrayList<>(Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-path", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-package", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PACKAGE),
-                BaseMongo.buildIndex("entityAttributes-classifier", ENTITY_CLASSIFIER_PATH)
-        );
+                BaseMongo.buildIndex("entityAttributes-classifier-groupId-artifactId-versionId-entityAttributes-path", ENTITY_CLASSIFIER_PATH, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH),
+                BaseMongo.buildIndex("latestVersion-entityAttributes-classifier-path", new IndexOptions().partialFilterExpression(eq(LATEST_VERSION, true)), ENTITY_CLASSIFIER_PATH, ENTITY_PATH),
+                BaseMongo.buildIndex("latestVersion-groupId-artifactId", new IndexOptions().partialFilterExpression(eq(LATEST_VERSION, true)), BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID),
+                BaseMongo.buildIndex("reference", new IndexOptions().partialFilterExpression(exists(ENTITY_REFERENCE)), ENTITY_REFERENCE)
+        ));
+        if (indexedSearch)
+        {
+            indexes.add(BaseMongo.buildIndex("entityAttributes-classifier-searchTokens", ENTITY_CLASSIFIER_PATH, EntitySearchTokens.SEARCH_TOKENS));
+        }
+        return indexes;
     }
 
     @Override
@@ -116,17 +163,126 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         }
     }
 
+    protected T newStoredEntity(String groupId, String artifactId, String versionId)
+    {
+        return (T) new StoredEntityStringData(groupId, artifactId, versionId);
+    }
+
+    protected String getStoredEntityType()
+    {
+        return ENTITY_TYPE_STRING_DATA;
+    }
+
+    protected String getStoredEntityReferenceType()
+    {
+        return ENTITY_TYPE_REFERENCE;
+    }
+
+    private UpdateOneModel<Document> buildEntityUpsert(T storedEntity, Entity entity, List<WriteModel<Document>> bodies)
+    {
+        Bson filter = getEntityPathFilter(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), entity.getPath());
+        if (deduplicateEntities)
+        {
+            String data = serializeEntity(entity);
+            String reference = EntityBodies.hash(data);
+            bodies.add(EntityBodies.upsert(reference, data, compressEntities));
+            return new UpdateOneModel<>(filter, combineReferenceDocument(storedEntity, entity, reference, getStoredEntityReferenceType()), INSERT_IF_ABSENT);
+        }
+        return new UpdateOneModel<>(filter, combineDocument(storedEntity, entity, getStoredEntityType()), INSERT_IF_ABSENT);
+    }
+
     @Override
     public List<T> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions)
     {
-        List<StoredEntity> versionedEntities = new ArrayList<>();
-        entityDefinitions.parallelStream().forEach(item ->
+        // keeps the original contract: a failed write surfaces as the driver's write exception rather than as returned messages
+        T storedEntity = newStoredEntity(groupId, artifactId, versionId);
+        for (int start = 0; start < entityDefinitions.size(); start += writeBatchSize)
         {
-            StoredEntity storedEntity = new StoredEntityStringData(groupId, artifactId, versionId);
-            getCollection().updateOne(getEntityPathFilter(groupId, artifactId, versionId, item.getPath()), combineDocument((T) storedEntity, item, ENTITY_TYPE_STRING_DATA), INSERT_IF_ABSENT);
-            versionedEntities.add(storedEntity);
-        });
-        return (List<T>) versionedEntities;
+            int end = Math.min(start + writeBatchSize, entityDefinitions.size());
+            List<WriteModel<Document>> bodies = new ArrayList<>();
+            List<UpdateOneModel<Document>> writes = buildEntityUpserts(storedEntity, entityDefinitions.subList(start, end), bodies);
+            entityBodies.store(bodies);
+            try
+            {
+                getCollection().bulkWrite(writes, UNORDERED_WRITE);
+            }
+            catch (MongoBulkWriteException e)
+            {
+                if (e.getWriteErrors().isEmpty())
+                {
+                    throw e;
+                }
+                throw new MongoWriteException(e.getWriteErrors().get(0), e.getServerAddress());
+            }
+        }
+        return entityDefinitions.stream().map(item -> newStoredEntity(groupId, artifactId, versionId)).collect(Collectors.toList());
+    }
+
+    @Override
+    public List<String> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions, int batchSize)
+    {
+        List<String> errors = new ArrayList<>();
+        T storedEntity = newStoredEntity(groupId, artifactId, versionId);
+        int chunkSize = Math.max(1, batchSize);
+        for (int start = 0; start < entityDefinitions.size(); start += chunkSize)
+        {
+            int end = Math.min(start + chunkSize, entityDefinitions.size());
+            List<WriteModel<Document>> bodies = new ArrayList<>();
+            List<UpdateOneModel<Document>> writes = buildEntityUpserts(storedEntity, entityDefinitions.subList(start, end), bodies);
+            try
+            {
+                entityBodies.store(bodies);
+            }
+            catch (MongoException e)
+            {
+                // entities of the batch are not written, they would reference bodies that may not exist
+                errors.add(String.format("failed to write entity bodies of batch [%s-%s] for %s-%s-%s: %s", start, end, groupId, artifactId, versionId, describe(e)));
+                continue;
+            }
+            try
+            {
+                getCollection().bulkWrite(writes, UNORDERED_WRITE);
+            }
+            catch (MongoBulkWriteException e)
+            {
+                if (e.getWriteErrors().isEmpty())
+                {
+                    errors.add(String.format("failed to acknowledge batch [%s-%s] for %s-%s-%s: %s", start, end, groupId, artifactId, versionId, describe(e)));
+                }
+                else
+                {
+                    errors.add(String.format("failed to write [%s] of [%s] entities in batch [%s-%s] for %s-%s-%s: %s", e.getWriteErrors().size(), end - start, start, end, groupId, artifactId, versionId, describe(e)));
+                }
+            }
+            catch (MongoException e)
+            {
+                errors.add(String.format("failed to write batch [%s-%s] for %s-%s-%s: %s", start, end, groupId, artifactId, versionId, e.getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    private static String describe(MongoException e)
+    {
+        if (e instanceof MongoBulkWriteException)
+        {
+            // a write concern failure alone comes without write errors
+            MongoBulkWriteException bulkWriteException = (MongoBulkWriteException) e;
+            if (!bulkWriteException.getWriteErrors().isEmpty())
+            {
+                return bulkWriteException.getWriteErrors().get(0).getMessage();
+            }
+            if (bulkWriteException.getWriteConcernError() != null)
+            {
+                return bulkWriteException.getWriteConcernError().getMessage();
+            }
+        }
+        return e.getMessage();
+    }
+
+    private List<UpdateOneModel<Document>> buildEntityUpserts(T storedEntity, List<Entity> batch, List<WriteModel<Document>> bodies)
+    {
+        return batch.stream().map(item -> buildEntityUpsert(storedEntity, item, bodies)).collect(Collectors.toList());
     }
 
     public List<T> createOrUpdate(List<T> versionedEntities)
@@ -175,70 +331,144 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
     @Override
     public List<DepotEntity> findReleasedClassifierEntities(String classifier, String search, Integer limit)
     {
-        FindIterable findIterable = super.findReleasedEntitiesByClassifier(classifier, search);
-
-        if (limit != null)
-        {
-            return curateDepotEntity(findIterable.limit(limit));
-        }
-        return curateDepotEntity(findIterable);
+        return curateRankedDepotEntity(super.findReleasedEntitiesByClassifier(classifier, search), search, limit);
     }
 
     @Override
     public List<DepotEntity> findLatestClassifierEntities(String classifier, String search, Integer limit)
     {
-        FindIterable findIterable = super.findLatestEntitiesByClassifier(classifier, search);
-
-        if (limit != null)
-        {
-            return curateDepotEntity(findIterable.limit(limit));
-        }
-        return curateDepotEntity(findIterable);
+        return curateRankedDepotEntity(super.findLatestEntitiesByClassifier(classifier, search), search, limit);
     }
 
     @Override
     public List<DepotEntity> findClassifierEntitiesByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit)
     {
-        FindIterable findIterable = super.findEntitiesByClassifierAndVersions(classifier, search, projectVersions);
+        return curateRankedDepotEntity(super.findEntitiesByClassifierAndVersions(classifier, search, projectVersions), search, limit);
+    }
 
-        if (limit != null)
-        {
-            return curateDepotEntity(findIterable.limit(limit));
-        }
-        return curateDepotEntity(findIterable);
+    @Override
+    public List<DepotEntity> findLatestVersionClassifierEntities(String classifier, String search, Integer limit)
+    {
+        return curateRankedDepotEntity(super.findLatestVersionEntitiesByClassifier(classifier, search), search, limit);
     }
 
     protected List<DepotEntityOverview> curateDepotEntityOverview(FindIterable query)
     {
+        // every field read here is part of the classifier summary index, so the query never loads the documents
         List<DepotEntityOverview> result = new ArrayList<>();
-        query.forEach((Consumer<Document>) doc ->
+        query.projection(SUMMARY_PROJECTION).forEach((Consumer<Document>) doc ->
         {
-            Map<String, ?> entity = null;
-            if (doc.getString(ENTITY_TYPE).equals(ENTITY_TYPE_DATA))
-            {
-                entity = (Map<String, Object>) doc.get(ENTITY);
-            }
-            else if (doc.getString(ENTITY_TYPE).equals(ENTITY_TYPE_STRING_DATA))
-            {
-                entity = (Map<String, ?>) doc.get(ENTITY_ATTRIBUTES);
-            }
-            result.add(new DepotEntityOverview(doc.getString(BaseMongo.GROUP_ID), doc.getString(BaseMongo.ARTIFACT_ID), doc.getString(BaseMongo.VERSION_ID), (String) entity.get(PATH), (String) entity.get(CLASSIFIER_PATH)));
+            Document attributes = (Document) doc.get(ENTITY_ATTRIBUTES);
+            result.add(new DepotEntityOverview(doc.getString(BaseMongo.GROUP_ID), doc.getString(BaseMongo.ARTIFACT_ID), doc.getString(BaseMongo.VERSION_ID), attributes.getString(PATH), attributes.getString(CLASSIFIER_PATH)));
         });
         return result;
     }
 
+    @Override
+    public void forEachRawLatestClassifierEntity(String classifier, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer)
+    {
+        forEachRankedRawEntity(super.findLatestEntitiesByClassifier(classifier, search), search, limit, consumer);
+    }
+
+    @Override
+    public void forEachRawClassifierEntityByVersions(String classifier, List<ProjectVersion> projectVersions, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer)
+    {
+        forEachRankedRawEntity(super.findEntitiesByClassifierAndVersions(classifier, search, projectVersions), search, limit, consumer);
+    }
+
+    @Override
+    public void forEachRawLatestVersionClassifierEntity(String classifier, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer)
+    {
+        forEachRankedRawEntity(super.findLatestVersionEntitiesByClassifier(classifier, search), search, limit, consumer);
+    }
+
+    private boolean isRanked(String search)
+    {
+        // ranking comes with the search tokens index, without it searches keep the plain path filter and store order
+        return search != null && indexedSearch;
+    }
+
+    private List<DepotEntity> curateRankedDepotEntity(FindIterable query, String search, Integer limit)
+    {
+        if (!isRanked(search))
+        {
+            return curateDepotEntity(limit != null ? query.limit(limit) : query);
+        }
+        List<DepotEntity> result = new ArrayList<>();
+        forEachRankedBatch(rankedIds(query, search, limit), batch -> result.addAll(curateDepotEntity(batch.stream().map(this::convert).collect(Collectors.toList()))));
+        return result;
+    }
+
+    private void forEachRankedRawEntity(FindIterable query, String search, Integer limit, BiConsumer<ProjectVersion, String> consumer)
+    {
+        if (!isRanked(search))
+        {
+            forEachResolvedDocument(limit != null ? query.limit(limit) : query, document -> consumer.accept(projectVersion(document), resolvedToEntityData(document)));
+            return;
+        }
+        forEachRankedBatch(rankedIds(query, search, limit), batch -> batch.forEach(document -> consumer.accept(projectVersion(document), resolvedToEntityData(document))));
+    }
+
+    private void forEachRankedBatch(List<Object> ids, Consumer<List<Document>> consumer)
+    {
+        // only the ranked ids are held in memory, the documents are fetched with a bounded $in and handed over in rank order
+        for (int start = 0; start < ids.size(); start += RANKED_FETCH_SIZE)
+        {
+            List<Object> batchIds = ids.subList(start, Math.min(start + RANKED_FETCH_SIZE, ids.size()));
+            Map<Object, Document> documents = new HashMap<>();
+            forEachResolvedDocument(executeFind(in(ID_FIELD, batchIds)), document -> documents.put(document.get(ID_FIELD), document));
+            consumer.accept(batchIds.stream().map(documents::get).filter(Objects::nonNull).collect(Collectors.toList()));
+        }
+    }
+
+    private List<Object> rankedIds(FindIterable query, String search, Integer limit)
+    {
+        // rank every match on its path alone, then load only the entities that make the cut
+        List<Document> matches = new ArrayList<>();
+        query.projection(Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH)).forEach((Consumer<Document>) matches::add);
+        Comparator<Document> byRank = Comparator.comparingInt((Document match) -> EntitySearchTokens.rank(matchPath(match), search))
+                .thenComparing(this::matchPath)
+                .thenComparing(match -> match.getString(BaseMongo.GROUP_ID))
+                .thenComparing(match -> match.getString(BaseMongo.ARTIFACT_ID))
+                .thenComparing(match -> match.getString(BaseMongo.VERSION_ID));
+        return matches.stream().sorted(byRank).limit(limit != null ? limit : Long.MAX_VALUE).map(match -> match.get(ID_FIELD)).collect(Collectors.toList());
+    }
+
+    private ProjectVersion projectVersion(Document document)
+    {
+        return new ProjectVersion(document.getString(BaseMongo.GROUP_ID), document.getString(BaseMongo.ARTIFACT_ID), document.getString(BaseMongo.VERSION_ID));
+    }
+
+    private String matchPath(Document match)
+    {
+        return ((Document) match.get(ENTITY_ATTRIBUTES)).getString(PATH);
+    }
+
     protected List<DepotEntity> curateDepotEntity(FindIterable query)
     {
-        List<T> storedEntities = convert(query);
-        if (!storedEntities.isEmpty())
+        return curateDepotEntity(convertResolved(query));
+    }
+
+    private List<DepotEntity> curateDepotEntity(List<T> storedEntities)
+    {
+        List<Entity> entities = resolvedToEntityDefinitions(storedEntities);
+        List<DepotEntity> result = new ArrayList<>(storedEntities.size());
+        for (int i = 0; i < storedEntities.size(); i++)
         {
-            return storedEntities.stream().map(storedEntity -> new DepotEntity(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), resolvedToEntityDefinition(storedEntity))).collect(Collectors.toList());
+            T storedEntity = storedEntities.get(i);
+            result.add(new DepotEntity(storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), entities.get(i)));
         }
-        return new ArrayList<>();
+        return result;
+    }
+
+    @Override
+    protected String getEntityReference(T storedEntity)
+    {
+        return storedEntity instanceof StoredEntityReference ? ((StoredEntityReference) storedEntity).getReference() : null;
     }
 
     @Override
-    protected Entity resolvedToEntityDefinition(T storedEntity)
+    protected Entity resolvedToEntityDefinition(T storedEntity, Map<String, String> bodies)
     {
         if (storedEntity instanceof StoredEntityData)
         {
@@ -255,6 +485,17 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
                 throw new IllegalStateException(String.format("Error: %s while fetching entity: %s-%s-%s-%s", e.getMessage(), storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), ((StoredEntityStringData)storedEntity).getEntityAttributes().get("path")));
             }
         }
+        else if (storedEntity instanceof StoredEntityReference)
+        {
+            try
+            {
+                return objectMapper.readValue(resolveEntityBody(((StoredEntityReference) storedEntity).getReference(), bodies, storedEntity), EntityDefinition.class);
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new IllegalStateException(String.format("Error: %s while fetching entity: %s-%s-%s-%s", e.getMessage(), storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), storedEntity.getEntityAttributes().get("path")));
+            }
+        }
         else
         {
             throw new IllegalStateException("Unknown stored entity type");
@@ -0,0 +1,142 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.entities;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Updates.combine;
+import static com.mongodb.client.model.Updates.currentDate;
+import static com.mongodb.client.model.Updates.setOnInsert;
+import static org.finos.legend.depot.store.mongo.core.BaseMongo.ID_FIELD;
+
+public final class EntityBodies
+{
+    public static final String COLLECTION = "entity-bodies";
+    private static final int DUPLICATE_KEY_ERROR = 11000;
+    private static final UpdateOptions INSERT_IF_ABSENT = new UpdateOptions().upsert(true);
+    private static final BulkWriteOptions UNORDERED_WRITE = new BulkWriteOptions().ordered(false);
+    private static final List<String> REFERENCING_COLLECTIONS = Arrays.asList(EntitiesMongo.COLLECTION, VersionedEntitiesMongo.COLLECTION);
+    // bodies written this recently are kept even when unreferenced, the entities of a load in progress may not be written yet
+    public static final long UNREFERENCED_RETENTION = TimeUnit.MINUTES.toMillis(10);
+
+    private final MongoDatabase mongoDatabase;
+
+    public EntityBodies(MongoDatabase mongoDatabase)
+    {
+        this.mongoDatabase = mongoDatabase;
+    }
+
+    private MongoCollection<Document> getCollection()
+    {
+        return mongoDatabase.getCollection(COLLECTION);
+    }
+
+    public static String hash(String data)
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public static WriteModel<Document> upsert(String reference, String data, boolean compress)
+    {
+        Bson body = compress ? combine(setOnInsert(EntityDataCompression.DATA, EntityDataCompression.compress(data)), setOnInsert(EntityDataCompression.DATA_COMPRESSION, EntityDataCompression.DEFLATE)) : setOnInsert(EntityDataCompression.DATA, data);
+        // every write of a body marks it as in use, so a load still writing its entities never has it cleaned up
+        return new UpdateOneModel<>(eq(ID_FIELD, reference), combine(body, currentDate(BaseMongo.UPDATED)), INSERT_IF_ABSENT);
+    }
+
+    public void store(List<WriteModel<Document>> bodies)
+    {
+        if (bodies.isEmpty())
+        {
+            return;
+        }
+        try
+        {
+            getCollection().bulkWrite(bodies, UNORDERED_WRITE);
+        }
+        catch (MongoBulkWriteException e)
+        {
+            // concurrent loads of the same body race on the upsert, the losing writes are harmless
+            // but without write errors, or with a write concern error, the bodies may not be durable
+            if (e.getWriteErrors().isEmpty() || e.getWriteConcernError() != null || e.getWriteErrors().stream().anyMatch(error -> error.getCode() != DUPLICATE_KEY_ERROR))
+            {
+                throw e;
+            }
+        }
+    }
+
+    public long deleteUnreferenced(Collection<String> references)
+    {
+        if (references.isEmpty())
+        {
+            return 0;
+        }
+        Set<String> unreferenced = new HashSet<>(references);
+        REFERENCING_COLLECTIONS.forEach(collection -> mongoDatabase.getCollection(collection).distinct(AbstractEntitiesMongo.ENTITY_REFERENCE, in(AbstractEntitiesMongo.ENTITY_REFERENCE, unreferenced), String.class).forEach((Consumer<String>) unreferenced::remove));
+        if (unreferenced.isEmpty())
+        {
+            return 0;
+        }
+        Date writtenBefore = new Date(System.currentTimeMillis() - UNREFERENCED_RETENTION);
+        return getCollection().deleteMany(and(in(ID_FIELD, unreferenced), lt(BaseMongo.UPDATED, writtenBefore))).getDeletedCount();
+    }
+
+    public Map<String, String> find(Collection<String> references)
+    {
+        Map<String, String> bodies = new HashMap<>();
+        if (!references.isEmpty())
+        {
+            getCollection().find(in(ID_FIELD, references)).forEach((Consumer<Document>) document -> bodies.put(document.getString(ID_FIELD), EntityDataCompression.read(document)));
+        }
+        return bodies;
+    }
+}
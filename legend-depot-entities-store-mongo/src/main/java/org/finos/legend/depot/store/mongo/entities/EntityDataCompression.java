@@ -0,0 +1,108 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.entities;
+
+import org.bson.Document;
+import org.bson.types.Binary;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public final class EntityDataCompression
+{
+    public static final String DATA = "data";
+    public static final String DATA_COMPRESSION = "dataCompression";
+    public static final String DEFLATE = "deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private EntityDataCompression()
+    {
+    }
+
+    public static Binary compress(String data)
+    {
+        Deflater deflater = new Deflater();
+        try
+        {
+            deflater.setInput(data.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished())
+            {
+                outputStream.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return new Binary(outputStream.toByteArray());
+        }
+        finally
+        {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(Binary data)
+    {
+        Inflater inflater = new Inflater();
+        try
+        {
+            inflater.setInput(data.getData());
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length() * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished())
+            {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && !inflater.finished())
+                {
+                    // no progress without more input or a preset dictionary: the stored data can never complete
+                    throw new IllegalStateException(inflater.needsDictionary() ? "Invalid compressed entity data: preset dictionary required" : "Truncated compressed entity data");
+                }
+                outputStream.write(buffer, 0, inflated);
+            }
+            return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+        }
+        catch (DataFormatException e)
+        {
+            throw new IllegalStateException("Invalid compressed entity data: " + e.getMessage());
+        }
+        finally
+        {
+            inflater.end();
+        }
+    }
+
+    public static boolean isCompressed(Document document)
+    {
+        return DEFLATE.equals(document.getString(DATA_COMPRESSION));
+    }
+
+    public static String read(Document document)
+    {
+        return isCompressed(document) ? decompress(document.get(DATA, Binary.class)) : document.getString(DATA);
+    }
+
+    public static Document decode(Document document)
+    {
+        if (isCompressed(document))
+        {
+            document.put(DATA, read(document));
+            document.remove(DATA_COMPRESSION);
+        }
+        return document;
+    }
+}
@@ -0,0 +1,74 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.entities;
+
+import org.bson.conversions.Bson;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.mongodb.client.model.Filters.all;
+
+public final class EntitySearchTokens
+{
+    public static final String SEARCH_TOKENS = "searchTokens";
+    static final int TOKEN_SIZE = 3;
+    private static final String PATH_SEPARATOR = "::";
+
+    private EntitySearchTokens()
+    {
+    }
+
+    public static List<String> tokens(String text)
+    {
+        String normalised = text.toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (int i = 0; i + TOKEN_SIZE <= normalised.length(); i++)
+        {
+            tokens.add(normalised.substring(i, i + TOKEN_SIZE));
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    static boolean canFilter(String search)
+    {
+        return search != null && search.length() >= TOKEN_SIZE;
+    }
+
+    static Bson filter(String search)
+    {
+        return all(SEARCH_TOKENS, tokens(search));
+    }
+
+    static int rank(String path, String search)
+    {
+        int separator = path.lastIndexOf(PATH_SEPARATOR);
+        String name = (separator < 0 ? path : path.substring(separator + PATH_SEPARATOR.length())).toLowerCase(Locale.ROOT);
+        String normalised = search.toLowerCase(Locale.ROOT);
+        if (name.equals(normalised))
+        {
+            return 0;
+        }
+        if (name.startsWith(normalised))
+        {
+            return 1;
+        }
+        return name.contains(normalised) ? 2 : 3;
+    }
+}
@@ -0,0 +1,127 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.entities;
+
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.gridfs.GridFSBucket;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import com.mongodb.client.gridfs.GridFSUploadStream;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.mongodb.client.gridfs.model.GridFSUploadOptions;
+import org.bson.Document;
+import org.finos.legend.depot.store.api.entities.PureModelContexts;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Sorts.descending;
+
+public class PureModelContextsMongo implements PureModelContexts
+{
+    public static final String BUCKET = "pure-model-context-data";
+    // superseded revisions are kept long enough for reads already resolved to them to complete
+    public static final long SUPERSEDED_REVISIONS_RETENTION = TimeUnit.HOURS.toMillis(1);
+    private static final String FILENAME = "filename";
+    private static final String UPLOAD_DATE = "uploadDate";
+    private static final String RENDERING = "rendering";
+    private static final String VALIDITY = "validity";
+    private static final String METADATA_VALIDITY = "metadata." + VALIDITY;
+    // renderings are stored as written so that hits stream straight back, earlier revisions were gzipped and are never read
+    private static final String ENCODING = "encoding";
+    private static final String IDENTITY = "identity";
+    private static final String METADATA_ENCODING = "metadata." + ENCODING;
+
+    private final GridFSBucket bucket;
+
+    @Inject
+    public PureModelContextsMongo(@Named("mongoDatabase") MongoDatabase mongoDatabase)
+    {
+        this.bucket = GridFSBuckets.create(mongoDatabase, BUCKET);
+    }
+
+    @Override
+    public Optional<InputStream> find(String groupId, String artifactId, String versionId, String rendering, String validity)
+    {
+        GridFSFile file = bucket.find(and(eq(FILENAME, filename(groupId, artifactId, versionId, rendering)), eq(METADATA_VALIDITY, validity), eq(METADATA_ENCODING, IDENTITY))).sort(descending(UPLOAD_DATE)).first();
+        return file == null ? Optional.empty() : Optional.of(bucket.openDownloadStream(file.getObjectId()));
+    }
+
+    @Override
+    public Upload store(String groupId, String artifactId, String versionId, String rendering, String validity)
+    {
+        String filename = filename(groupId, artifactId, versionId, rendering);
+        Document metadata = new Document(BaseMongo.GROUP_ID, groupId)
+                .append(BaseMongo.ARTIFACT_ID, artifactId)
+                .append(BaseMongo.VERSION_ID, versionId)
+                .append(RENDERING, rendering)
+                .append(VALIDITY, validity)
+                .append(ENCODING, IDENTITY);
+        GridFSUploadStream uploadStream = bucket.openUploadStream(filename, new GridFSUploadOptions().metadata(metadata));
+        return new Upload()
+        {
+            @Override
+            public OutputStream getOutputStream()
+            {
+                return uploadStream;
+            }
+
+            @Override
+            public void abort()
+            {
+                uploadStream.abort();
+            }
+
+            @Override
+            public void close() throws IOException
+            {
+                uploadStream.close();
+                deleteSupersededRevisions(filename);
+            }
+        };
+    }
+
+    private long deleteSupersededRevisions(String filename)
+    {
+        // a revision is only deleted once a newer one has been found by readers for the whole retention period
+        long supersededBefore = System.currentTimeMillis() - SUPERSEDED_REVISIONS_RETENTION;
+        long deleted = 0;
+        Date newerUploadDate = null;
+        for (GridFSFile file : bucket.find(eq(FILENAME, filename)).sort(descending(UPLOAD_DATE)))
+        {
+            if (newerUploadDate != null && newerUploadDate.getTime() < supersededBefore)
+            {
+                bucket.delete(file.getObjectId());
+                deleted++;
+            }
+            newerUploadDate = file.getUploadDate();
+        }
+        return deleted;
+    }
+
+    private static String filename(String groupId, String artifactId, String versionId, String rendering)
+    {
+        return String.join(":", groupId, artifactId, versionId, rendering);
+    }
+}
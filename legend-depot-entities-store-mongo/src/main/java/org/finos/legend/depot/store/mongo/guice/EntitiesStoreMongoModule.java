@@ -17,8 +17,10 @@ package org.finos.legend.depot.store.mongo.guice;
 
 import com.google.inject.PrivateModule;
 import org.finos.legend.depot.store.api.entities.Entities;
+import org.finos.legend.depot.store.api.entities.PureModelContexts;
 import org.finos.legend.depot.store.api.versionedEntities.VersionedEntities;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.entities.PureModelContextsMongo;
 import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
 
 public class EntitiesStoreMongoModule extends PrivateModule
@@ -28,8 +30,10 @@ public class EntitiesStoreMongoModule extends PrivateModule
     {
         bind(Entities.class).to(EntitiesMongo.class);
         bind(VersionedEntities.class).to(VersionedEntitiesMongo.class);
+        bind(PureModelContexts.class).to(PureModelContextsMongo.class);
 
         expose(Entities.class);
         expose(VersionedEntities.class);
+        expose(PureModelContexts.class);
     }
 }
@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.mongo.guice;
 
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.versionedEntities.UpdateVersionedEntities;
 import org.finos.legend.depot.store.mongo.admin.MongoAdminStore;
@@ -43,9 +44,9 @@ public class ManageEntitiesStoreMongoModule extends EntitiesStoreMongoModule
     @Provides
     @Singleton
     @Named("entity-indexes")
-    public boolean registerGenerationsIndexes(MongoAdminStore adminStore)
+    public boolean registerGenerationsIndexes(MongoAdminStore adminStore, EntitiesConfiguration entitiesConfiguration)
     {
-        adminStore.registerIndexes(EntitiesMongo.COLLECTION,EntitiesMongo.buildIndexes());
+        adminStore.registerIndexes(EntitiesMongo.COLLECTION,EntitiesMongo.buildIndexes(entitiesConfiguration.isIndexedSearch()));
         adminStore.registerIndexes(VersionedEntitiesMongo.COLLECTION,VersionedEntitiesMongo.buildIndexes());
         return  true;
     }
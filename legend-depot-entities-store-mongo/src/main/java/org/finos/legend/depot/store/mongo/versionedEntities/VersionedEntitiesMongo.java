@@ -20,29 +20,40 @@ import com.mongodb.client.MongoCollection;
 
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.IndexOptions;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntity;
 import org.finos.legend.depot.store.api.versionedEntities.UpdateVersionedEntities;
 import org.finos.legend.depot.store.api.versionedEntities.VersionedEntities;
 import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntityData;
+import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntityReference;
 import org.finos.legend.depot.store.model.versionedEntities.StoredVersionedEntityStringData;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+
+import static com.mongodb.client.model.Filters.exists;
 
 public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity> implements VersionedEntities, UpdateVersionedEntities
 {
     public static final String COLLECTION = "versioned-entities";
 
     @Inject
+    public VersionedEntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider, EntitiesConfiguration entitiesConfiguration)
+    {
+        // versioned entities are never searched through search tokens
+        super(databaseProvider, StoredVersionedEntity.class, entitiesConfiguration, false);
+    }
+
     public VersionedEntitiesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
     {
-        super(databaseProvider, StoredVersionedEntity.class);
+        this(databaseProvider, new EntitiesConfiguration());
     }
 
     public static List<IndexModel> buildIndexes()
@@ -50,7 +61,8 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
         return Arrays.asList(buildIndex("groupId-artifactId-versionId", GROUP_ID, ARTIFACT_ID, VERSION_ID),
                 buildIndex("groupId-artifactId-versionId-entityPath", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
                 buildIndex("groupId-artifactId-versionId-package", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGE),
-                buildIndex("entity-classifier", ENTITY_CLASSIFIER_PATH)
+                buildIndex("entity-classifier-groupId-artifactId-versionId-entityPath", ENTITY_CLASSIFIER_PATH, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
+                buildIndex("reference", new IndexOptions().partialFilterExpression(exists(ENTITY_REFERENCE)), ENTITY_REFERENCE)
         );
     }
 
@@ -61,20 +73,31 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
     }
 
     @Override
-    public List<StoredVersionedEntity> createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entityDefinitions)
+    protected StoredVersionedEntity newStoredEntity(String groupId, String artifactId, String versionId)
     {
-        List<StoredVersionedEntity> versionedEntities = new ArrayList<>();
-        entityDefinitions.parallelStream().forEach(item ->
-        {
-            StoredVersionedEntity storedEntity = new StoredVersionedEntityStringData(groupId, artifactId, versionId);
-            getCollection().updateOne(getEntityPathFilter(groupId, artifactId, versionId, item.getPath()), combineDocument(storedEntity, item, VERSIONED_ENTITY_TYPE_STRING_DATA), INSERT_IF_ABSENT);
-            versionedEntities.add(storedEntity);
-        });
-        return versionedEntities;
+        return new StoredVersionedEntityStringData(groupId, artifactId, versionId);
+    }
+
+    @Override
+    protected String getStoredEntityType()
+    {
+        return VERSIONED_ENTITY_TYPE_STRING_DATA;
+    }
+
+    @Override
+    protected String getStoredEntityReferenceType()
+    {
+        return VERSIONED_ENTITY_TYPE_REFERENCE;
     }
 
     @Override
-    protected Entity resolvedToEntityDefinition(StoredVersionedEntity storedEntity)
+    protected String getEntityReference(StoredVersionedEntity storedEntity)
+    {
+        return storedEntity instanceof StoredVersionedEntityReference ? ((StoredVersionedEntityReference) storedEntity).getReference() : null;
+    }
+
+    @Override
+    protected Entity resolvedToEntityDefinition(StoredVersionedEntity storedEntity, Map<String, String> bodies)
     {
         if (storedEntity instanceof StoredVersionedEntityData)
         {
@@ -91,6 +114,17 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
                 throw new IllegalStateException(String.format("Error: %s while fetching entity: %s-%s-%s-%s", e.getMessage(), storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), ((StoredVersionedEntityStringData)storedEntity).getEntityAttributes().get("path")));
             }
         }
+        else if (storedEntity instanceof StoredVersionedEntityReference)
+        {
+            try
+            {
+                return objectMapper.readValue(resolveEntityBody(((StoredVersionedEntityReference) storedEntity).getReference(), bodies, storedEntity), EntityDefinition.class);
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new IllegalStateException(String.format("Error: %s while fetching entity: %s-%s-%s-%s", e.getMessage(), storedEntity.getGroupId(), storedEntity.getArtifactId(), storedEntity.getVersionId(), storedEntity.getEntityAttributes().get("path")));
+            }
+        }
         else
         {
             throw new IllegalStateException("Unknown stored entity type");
@@ -84,4 +84,52 @@ public class EntitiesMigrationResource extends AuthorisedResource
             return Response.ok().build();
         });
     }
+
+    @PUT
+    @Path("/migrations/migrateToEntityReferences")
+    @ApiOperation("Move stored entity data into the content addressed entity bodies collection")
+    public Response migrateEntitiesToEntityReferences()
+    {
+        return handle("Migrate entities to entity references", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.migrateEntitiesToEntityReferences()).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/migrateToSearchTokens")
+    @ApiOperation("Add search tokens to stored entities so classifier search can use the search index")
+    public Response migrateEntitiesToSearchTokens()
+    {
+        return handle("Migrate entities to search tokens", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.migrateEntitiesToSearchTokens()).build();
+        });
+    }
+
+    @PUT
+    @Path("/migrations/migrateToLatestVersionFlag")
+    @ApiOperation("Flag the entities of each project's latest version so classifier lookups can use the latest version index")
+    public Response migrateEntitiesToLatestVersionFlag()
+    {
+        return handle("Migrate entities to latest version flag", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.migrateEntitiesToLatestVersionFlag()).build();
+        });
+    }
+
+    @DELETE
+    @Path("/migrations/classifierIndexes")
+    @ApiOperation("Drop the single field classifier indexes replaced by the compound classifier indexes")
+    public Response dropClassifierIndexes()
+    {
+        return handle("Drop classifier indexes", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.dropClassifierIndexes()).build();
+        });
+    }
 }
@@ -20,6 +20,8 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.Updates;
 import com.mongodb.client.result.DeleteResult;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -31,8 +33,12 @@ import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.entities.EntityBodies;
+import org.finos.legend.depot.store.mongo.entities.EntitySearchTokens;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -40,7 +46,11 @@ import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
@@ -102,6 +112,56 @@ public class TestEntitiesMigration extends TestStoreMongo
         Assertions.assertTrue(storedEntities.get(2) instanceof StoredEntityData);
     }
 
+    @Test
+    public void canMigrateToEntityReferences()
+    {
+        EntitiesMongo<StoredEntity> entitiesMongo = new EntitiesMongo<>(mongoProvider);
+        List<Entity> entities = entitiesMongo.getAllEntities("examples.metadata", "test", "2.2.0");
+        entitiesMongo.createOrUpdate("examples.metadata", "test", "2.3.0", entities);
+        mongoProvider.getCollection("entities").deleteMany(eq("_type", "entityData"));
+
+        Assertions.assertEquals(3, mongoAdminStore.migrateEntitiesToEntityReferences());
+        Assertions.assertEquals(0, mongoProvider.getCollection("entities").countDocuments(eq("_type", "entityStringData")));
+        Assertions.assertEquals(3, mongoProvider.getCollection(EntityBodies.COLLECTION).countDocuments());
+        Assertions.assertEquals(new HashSet<>(entities), new HashSet<>(entitiesMongo.getAllEntities("examples.metadata", "test", "2.3.0")));
+        Assertions.assertEquals(0, mongoAdminStore.migrateEntitiesToEntityReferences());
+    }
+
+    @Test
+    public void canMigrateToSearchTokens()
+    {
+        Assertions.assertEquals(3, mongoAdminStore.migrateEntitiesToSearchTokens());
+        Assertions.assertEquals(0, mongoProvider.getCollection("entities").countDocuments(Filters.exists(EntitySearchTokens.SEARCH_TOKENS, false)));
+        Assertions.assertEquals(EntitySearchTokens.tokens("examples::metadata::test::TestProfile"),
+                mongoProvider.getCollection("entities").find(eq("entityAttributes.path", "examples::metadata::test::TestProfile")).first().getList(EntitySearchTokens.SEARCH_TOKENS, String.class));
+        Assertions.assertEquals(0, mongoAdminStore.migrateEntitiesToSearchTokens());
+    }
+
+    @Test
+    public void canMigrateToLatestVersionFlag()
+    {
+        mongoProvider.getCollection("project-configurations").insertOne(new Document(GROUP_ID, "examples.metadata").append(ARTIFACT_ID, "test").append("latestVersion", "2.2.0"));
+
+        Assertions.assertEquals(3, mongoAdminStore.migrateEntitiesToLatestVersionFlag());
+        Assertions.assertEquals(3, mongoProvider.getCollection("entities").countDocuments(eq(AbstractEntitiesMongo.LATEST_VERSION, true)));
+        Assertions.assertEquals(0, mongoAdminStore.migrateEntitiesToLatestVersionFlag());
+    }
+
+    @Test
+    public void canDropClassifierIndexes()
+    {
+        mongoProvider.getCollection(EntitiesMongo.COLLECTION).createIndex(Indexes.ascending("entityAttributes.classifierPath"), new IndexOptions().name("entityAttributes-classifier"));
+        mongoProvider.getCollection(VersionedEntitiesMongo.COLLECTION).createIndex(Indexes.ascending("entityAttributes.classifierPath"), new IndexOptions().name("entity-classifier"));
+
+        Assertions.assertEquals(Arrays.asList("entityAttributes-classifier", "entity-classifier"), mongoAdminStore.dropClassifierIndexes());
+        List<String> indexes = new ArrayList<>();
+        mongoProvider.getCollection(EntitiesMongo.COLLECTION).listIndexes().forEach((Consumer<Document>) index -> indexes.add(index.getString("name")));
+        mongoProvider.getCollection(VersionedEntitiesMongo.COLLECTION).listIndexes().forEach((Consumer<Document>) index -> indexes.add(index.getString("name")));
+        Assertions.assertFalse(indexes.contains("entityAttributes-classifier"));
+        Assertions.assertFalse(indexes.contains("entity-classifier"));
+        Assertions.assertTrue(mongoAdminStore.dropClassifierIndexes().isEmpty());
+    }
+
     protected void setUpLegacyEntitiesDataFromFile(URL entitiesFile)
     {
         try
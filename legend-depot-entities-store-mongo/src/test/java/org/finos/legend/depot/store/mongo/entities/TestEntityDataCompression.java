@@ -0,0 +1,63 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.entities;
+
+import org.bson.types.Binary;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+public class TestEntityDataCompression
+{
+    private static final String DATA = "{\"path\":\"examples::metadata::test::ClassA\",\"classifierPath\":\"meta::pure::metamodel::type::Class\"}";
+
+    @Test
+    public void canRoundTripCompressedData()
+    {
+        Assertions.assertEquals(DATA, EntityDataCompression.decompress(EntityDataCompression.compress(DATA)));
+    }
+
+    @Test
+    public void truncatedDataFailsInsteadOfLooping()
+    {
+        byte[] compressed = EntityDataCompression.compress(DATA).getData();
+        Binary truncated = new Binary(Arrays.copyOf(compressed, compressed.length / 2));
+        Assertions.assertThrows(IllegalStateException.class, () -> EntityDataCompression.decompress(truncated));
+    }
+
+    @Test
+    public void dataNeedingAPresetDictionaryFailsInsteadOfLooping()
+    {
+        Deflater deflater = new Deflater();
+        deflater.setDictionary("examples::metadata".getBytes(StandardCharsets.UTF_8));
+        deflater.setInput(DATA.getBytes(StandardCharsets.UTF_8));
+        deflater.finish();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished())
+        {
+            outputStream.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+
+        IllegalStateException invalid = Assertions.assertThrows(IllegalStateException.class, () -> EntityDataCompression.decompress(new Binary(outputStream.toByteArray())));
+        Assertions.assertTrue(invalid.getMessage().contains("dictionary"));
+    }
+}
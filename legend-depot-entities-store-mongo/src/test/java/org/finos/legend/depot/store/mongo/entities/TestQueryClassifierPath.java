@@ -16,14 +16,35 @@
 package org.finos.legend.depot.store.mongo.entities;
 
 import org.eclipse.collections.api.factory.Lists;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.finos.legend.depot.domain.entity.DepotEntity;
+import org.finos.legend.depot.domain.entity.DepotEntityOverview;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
+import org.finos.legend.depot.store.model.entities.StoredEntity;
+import org.finos.legend.depot.store.mongo.admin.migrations.MongoEntitiesMigrations;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.mongodb.client.model.Filters.and;
+import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
 
 public class TestQueryClassifierPath extends TestStoreMongo
 {
@@ -68,4 +89,113 @@ public class TestQueryClassifierPath extends TestStoreMongo
         Assertions.assertEquals(1, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
         Assertions.assertEquals(2, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "2.3.0"), new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
     }
+
+    @Test
+    public void canSearchClassifierEntitiesWithSearchTokens()
+    {
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        new MongoEntitiesMigrations(mongoProvider).migrateEntitiesToSearchTokens();
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setIndexedSearch(true);
+        EntitiesMongo<StoredEntity> indexedMongo = new EntitiesMongo<>(mongoProvider, configuration);
+
+        Assertions.assertEquals(3, indexedMongo.findReleasedClassifierEntities(CPATH, "TestProfileTwo", null).size());
+        Assertions.assertEquals(6, indexedMongo.findReleasedClassifierEntities(CPATH, "TestProfile", null).size());
+        Assertions.assertEquals(6, indexedMongo.findReleasedClassifierEntities(CPATH, "Te", null).size());
+        Assertions.assertEquals(0, indexedMongo.findReleasedClassifierEntities(CPATH, "TestProfileFour", null).size());
+        Assertions.assertEquals(2, indexedMongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "master-SNAPSHOT")), "profile", null).size());
+
+        List<DepotEntity> ranked = indexedMongo.findReleasedClassifierEntities(CPATH, "TestProfile", 3);
+        Assertions.assertEquals(3, ranked.size());
+        Assertions.assertEquals("examples::metadata::test::TestProfile", ranked.get(0).getEntity().getPath());
+        Assertions.assertEquals("examples::metadata::test::TestProfile", ranked.get(1).getEntity().getPath());
+        Assertions.assertEquals("examples::metadata::test::subpackage::TestProfileThree", ranked.get(2).getEntity().getPath());
+    }
+
+    @Test
+    public void searchTokensAreOnlyWrittenAndIndexedWithIndexedSearch()
+    {
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setIndexedSearch(true);
+        List<Entity> entities = mongo.getAllEntities("examples.metadata", "test", "2.2.0");
+        mongo.createOrUpdate("examples.metadata", "test", "4.0.0", entities);
+        new EntitiesMongo<>(mongoProvider, configuration).createOrUpdate("examples.metadata", "test", "4.1.0", entities);
+        new VersionedEntitiesMongo(mongoProvider, configuration).createOrUpdate("examples.metadata", "test", "4.1.0", entities);
+
+        Assertions.assertEquals(0, mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments(and(eq(BaseMongo.VERSION_ID, "4.0.0"), exists(EntitySearchTokens.SEARCH_TOKENS))));
+        Assertions.assertEquals(mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments(eq(BaseMongo.VERSION_ID, "4.1.0")), mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments(and(eq(BaseMongo.VERSION_ID, "4.1.0"), exists(EntitySearchTokens.SEARCH_TOKENS))));
+        Assertions.assertTrue(mongoProvider.getCollection(VersionedEntitiesMongo.COLLECTION).countDocuments() > 0);
+        Assertions.assertEquals(0, mongoProvider.getCollection(VersionedEntitiesMongo.COLLECTION).countDocuments(exists(EntitySearchTokens.SEARCH_TOKENS)));
+
+        Assertions.assertTrue(EntitiesMongo.buildIndexes(false).stream().noneMatch(index -> index.getOptions().getName().contains(EntitySearchTokens.SEARCH_TOKENS)));
+        Assertions.assertTrue(EntitiesMongo.buildIndexes(true).stream().anyMatch(index -> index.getOptions().getName().contains(EntitySearchTokens.SEARCH_TOKENS)));
+        Assertions.assertTrue(VersionedEntitiesMongo.buildIndexes().stream().noneMatch(index -> index.getOptions().getName().contains(EntitySearchTokens.SEARCH_TOKENS)));
+    }
+
+    @Test
+    public void unlimitedRankedSearchesAreFetchedInBatchesAndKeepRankOrder()
+    {
+        String CPATH = "meta::pure::metamodel::type::Class";
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setIndexedSearch(true);
+        EntitiesMongo<StoredEntity> indexedMongo = new EntitiesMongo<>(mongoProvider, configuration);
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 1200; i++)
+        {
+            Map<String, Object> content = new HashMap<>();
+            content.put("_type", "class");
+            content.put("name", "Person" + i);
+            content.put("package", "examples::metadata::test");
+            entities.add(new EntityDefinition("examples::metadata::test::Person" + i, CPATH, content));
+        }
+        indexedMongo.createOrUpdate("examples.metadata", "test", "3.0.0", entities, 500);
+
+        List<DepotEntity> ranked = indexedMongo.findReleasedClassifierEntities(CPATH, "Person", null);
+        Assertions.assertEquals(1200, ranked.size());
+        List<String> paths = ranked.stream().map(entity -> entity.getEntity().getPath()).collect(Collectors.toList());
+        List<String> expected = entities.stream().map(Entity::getPath).sorted(Comparator.comparingInt((String path) -> EntitySearchTokens.rank(path, "Person")).thenComparing(path -> path)).collect(Collectors.toList());
+        Assertions.assertEquals(expected, paths);
+
+        List<String> rawPaths = new ArrayList<>();
+        indexedMongo.forEachRawClassifierEntityByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "3.0.0")), "Person", null, (projectVersion, rawEntity) -> rawPaths.add(rawEntity));
+        Assertions.assertEquals(1200, rawPaths.size());
+        Assertions.assertTrue(rawPaths.get(0).contains("\"" + expected.get(0) + "\""));
+
+        // without the search tokens index there is no ranking, the plain path filter keeps the store order
+        Assertions.assertEquals(1200, mongo.findReleasedClassifierEntities(CPATH, "Person", null).size());
+        Assertions.assertEquals(5, mongo.findReleasedClassifierEntities(CPATH, "Person", 5).size());
+    }
+
+    @Test
+    public void canQueryLatestVersionEntitiesByClassifier()
+    {
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        Assertions.assertEquals(0, mongo.findLatestVersionClassifierEntities(CPATH, null, null).size());
+
+        mongo.markLatestVersion("examples.metadata", "test", "2.2.0");
+        mongo.markLatestVersion("examples.metadata", "test2", "2.3.0");
+        Assertions.assertEquals(5, mongo.findLatestVersionClassifierEntities(CPATH, null, null).size());
+        Assertions.assertEquals(2, mongo.findLatestVersionClassifierEntities(CPATH, null, 2).size());
+        Assertions.assertEquals(2, mongo.findLatestVersionClassifierEntities(CPATH, "TestProfileTwo", null).size());
+
+        mongo.markLatestVersion("examples.metadata", "test", "2.3.0");
+        List<DepotEntity> latest = mongo.findLatestVersionClassifierEntities(CPATH, null, null);
+        Assertions.assertEquals(3, latest.size());
+        Assertions.assertTrue(latest.stream().allMatch(entity -> entity.getVersionId().equals("2.3.0")));
+        Assertions.assertEquals(1, mongo.findLatestVersionClassifierEntities(CPATH, "TestProfileThree", 5).size());
+    }
+
+    @Test
+    public void canQueryClassifierSummariesFromEntityAttributes()
+    {
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        List<DepotEntityOverview> summaries = mongo.findClassifierSummariesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test2", "2.3.0")));
+        Assertions.assertEquals(2, summaries.size());
+        Assertions.assertTrue(summaries.contains(new DepotEntityOverview("examples.metadata", "test2", "2.3.0", "examples::metadata::test::subpackage::TestProfileThree", CPATH)));
+        Assertions.assertTrue(summaries.contains(new DepotEntityOverview("examples.metadata", "test2", "2.3.0", "examples::metadata::test::subpackage::TestProfileTwo", CPATH)));
+
+        mongoProvider.getCollection(EntitiesMongo.COLLECTION).updateMany(new Document(), Updates.unset("entity"));
+        List<DepotEntityOverview> released = mongo.findReleasedClassifierSummaries(CPATH);
+        Assertions.assertEquals(6, released.stream().filter(summary -> summary.getPath() != null && CPATH.equals(summary.getClassifierPath())).count());
+    }
 }
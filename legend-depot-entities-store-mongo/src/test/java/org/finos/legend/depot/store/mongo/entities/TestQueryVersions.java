@@ -15,6 +15,10 @@
 
 package org.finos.legend.depot.store.mongo.entities;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
@@ -23,9 +27,16 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -58,6 +69,27 @@ public class TestQueryVersions extends TestStoreMongo
 
     }
 
+    @Test
+    public void canQueryRawEntitiesByProjectVersion() throws IOException
+    {
+        EntitiesMongo<StoredEntity> entitiesMongo = versionsMongo;
+        List<String> rawEntities = new ArrayList<>();
+        entitiesMongo.forEachRawEntity("examples.metadata", "test", "2.2.0", rawEntities::add);
+        Assertions.assertEquals(3, rawEntities.size());
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Set<Entity> entities = new HashSet<>();
+        for (String rawEntity : rawEntities)
+        {
+            entities.add(objectMapper.readValue(rawEntity, EntityDefinition.class));
+        }
+        Assertions.assertEquals(new HashSet<>(versionsMongo.getAllEntities("examples.metadata", "test", "2.2.0")), entities);
+
+        Optional<String> rawEntity = entitiesMongo.getRawEntity("examples.metadata", "test", "2.2.0", "examples::metadata::test::TestProfile");
+        Assertions.assertTrue(rawEntity.isPresent());
+        Assertions.assertEquals("examples::metadata::test::TestProfile", objectMapper.readValue(rawEntity.get(), EntityDefinition.class).getPath());
+    }
+
     @Test
     public void canQueryEntityMetadataByProjectVersionPath()
     {
@@ -136,5 +168,73 @@ public class TestQueryVersions extends TestStoreMongo
         Assertions.assertTrue(allPaths.stream().noneMatch(ent -> ent.contains("v2_2_0")));
     }
 
+    @Test
+    public void canQueryEntitiesForSeveralProjectVersions()
+    {
+        EntitiesMongo<StoredEntity> entitiesMongo = versionsMongo;
+        List<ProjectVersion> projectVersions = Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.2.0"),
+                new ProjectVersion("examples.metadata", "test", "master-SNAPSHOT"),
+                new ProjectVersion("examples.metadata", "test", "9.9.9"));
+
+        List<ProjectVersionEntities> entities = entitiesMongo.getEntitiesByVersions(projectVersions, null);
+        Assertions.assertEquals(3, entities.size());
+        Assertions.assertEquals("2.2.0", entities.get(0).getVersionId());
+        Assertions.assertEquals(new HashSet<>(entitiesMongo.getAllEntities("examples.metadata", "test", "2.2.0")), new HashSet<>(entities.get(0).getEntities()));
+        Assertions.assertEquals("master-SNAPSHOT", entities.get(1).getVersionId());
+        Assertions.assertEquals(4, entities.get(1).getEntities().size());
+        Assertions.assertTrue(entities.get(2).getEntities().isEmpty());
 
+        List<ProjectVersionEntities> classes = entitiesMongo.getEntitiesByVersions(projectVersions, "meta::pure::metamodel::type::Class");
+        Assertions.assertEquals(1, classes.get(0).getEntities().size());
+        Assertions.assertEquals("meta::pure::metamodel::type::Class", classes.get(0).getEntities().get(0).getClassifierPath());
+
+        Assertions.assertTrue(entitiesMongo.getEntitiesByVersions(Collections.emptyList(), null).isEmpty());
+    }
+
+    @Test
+    public void canGetEntitiesFromDependenciesInPrecedenceOrder()
+    {
+        EntitiesMongo<StoredEntity> entitiesMongo = versionsMongo;
+        Map<String, Object> content = new HashMap<>();
+        content.put("package", "examples::metadata::test");
+        content.put("name", "fromDependency");
+        entitiesMongo.createOrUpdate("examples.metadata", "test-dependency", "1.0.0", Arrays.asList(
+                new EntityDefinition("examples::metadata::test::TestProfile", "meta::pure::metamodel::extension::Profile", content),
+                new EntityDefinition("examples::metadata::test::Dependency", "meta::pure::metamodel::extension::Profile", content)));
+        ProjectVersion project = new ProjectVersion("examples.metadata", "test", "2.2.0");
+        ProjectVersion dependency = new ProjectVersion("examples.metadata", "test-dependency", "1.0.0");
+        List<String> paths = Arrays.asList("examples::metadata::test::Dependency", "examples::metadata::test::TestProfile", "examples::metadata::test::Missing");
+
+        List<Entity> dependencyFirst = entitiesMongo.getEntityFromDependencies(new LinkedHashSet<>(Arrays.asList(dependency, project)), paths);
+        Assertions.assertEquals(Arrays.asList("examples::metadata::test::Dependency", "examples::metadata::test::TestProfile"), dependencyFirst.stream().map(Entity::getPath).collect(Collectors.toList()));
+        Assertions.assertEquals("fromDependency", dependencyFirst.get(1).getContent().get("name"));
+
+        List<Entity> projectFirst = entitiesMongo.getEntityFromDependencies(new LinkedHashSet<>(Arrays.asList(project, dependency)), paths);
+        Assertions.assertEquals(2, projectFirst.size());
+        Assertions.assertEquals(entitiesMongo.getEntity("examples.metadata", "test", "2.2.0", "examples::metadata::test::TestProfile").get(), projectFirst.get(1));
+
+        Assertions.assertTrue(entitiesMongo.getEntityFromDependencies(Collections.emptySet(), paths).isEmpty());
+    }
+
+    @Test
+    public void canQuerySubPackagesByPackagePrefix()
+    {
+        EntitiesMongo<StoredEntity> entitiesMongo = versionsMongo;
+        Map<String, Object> sibling = new HashMap<>();
+        sibling.put("package", "examples::metadata::tes");
+        Map<String, Object> longerSibling = new HashMap<>();
+        longerSibling.put("package", "examples::metadata::tests");
+        Map<String, Object> child = new HashMap<>();
+        child.put("package", "examples::metadata::test::child");
+        entitiesMongo.createOrUpdate("examples.metadata", "test", "2.2.0", Arrays.asList(
+                new EntityDefinition("examples::metadata::tes::Sibling", "meta::pure::metamodel::extension::Profile", sibling),
+                new EntityDefinition("examples::metadata::tests::LongerSibling", "meta::pure::metamodel::extension::Profile", longerSibling),
+                new EntityDefinition("examples::metadata::test::child::Child", "meta::pure::metamodel::extension::Profile", child)));
+
+        List<String> paths = entitiesMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata::test", null, true).stream().map(Entity::getPath).collect(Collectors.toList());
+        Assertions.assertEquals(4, paths.size());
+        Assertions.assertTrue(paths.contains("examples::metadata::test::child::Child"));
+        Assertions.assertFalse(paths.contains("examples::metadata::tes::Sibling"));
+        Assertions.assertFalse(paths.contains("examples::metadata::tests::LongerSibling"));
+    }
 }
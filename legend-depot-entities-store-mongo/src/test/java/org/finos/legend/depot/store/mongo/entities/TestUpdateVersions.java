@@ -15,10 +15,28 @@
 
 package org.finos.legend.depot.store.mongo.entities;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Updates;
+import org.bson.BsonDocument;
 import org.bson.Document;
+import org.bson.types.Binary;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
+import org.finos.legend.depot.store.model.entities.StoredEntityReference;
+import org.finos.legend.depot.store.model.entities.StoredEntityStringData;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -26,11 +44,22 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo.CLASSIFIER_PATH;
 import static org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo.PATH;
@@ -171,4 +200,273 @@ public class TestUpdateVersions extends TestStoreMongo
        Assertions.assertEquals("stuff",found.get().getContent().get("new"));
     }
 
+    @Test
+    public void canCreateOrUpdateEntitiesInBatches()
+    {
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            entities.add(newClassEntity("Class" + i, "Class" + i));
+        }
+        EntitiesMongo<StoredEntity> store = entitiesMongo;
+        List<String> errors = store.createOrUpdate("examples.metadata", "test", "2.2.0", entities, 2);
+        Assertions.assertTrue(errors.isEmpty());
+        Assertions.assertEquals(5, store.getAllEntities("examples.metadata", "test", "2.2.0").size());
+
+        entities.set(0, newClassEntity("Class0", "Updated"));
+        Assertions.assertTrue(store.createOrUpdate("examples.metadata", "test", "2.2.0", entities, 2).isEmpty());
+        Assertions.assertEquals(5, store.getAllEntities("examples.metadata", "test", "2.2.0").size());
+        Assertions.assertEquals("Updated", store.getEntity("examples.metadata", "test", "2.2.0", "examples::metadata::test::Class0").get().getContent().get("name"));
+    }
+
+    @Test
+    public void failedWritesAreReturnedOrThrownByTheMatchingContract()
+    {
+        mongoProvider.getCollection(EntitiesMongo.COLLECTION).createIndex(Indexes.ascending(AbstractEntitiesMongo.ENTITY_CLASSIFIER_PATH), new IndexOptions().unique(true));
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+
+        List<String> errors = entitiesMongo.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).startsWith("failed to write [1] of [2] entities"));
+
+        Assertions.assertThrows(MongoWriteException.class, () -> entitiesMongo.createOrUpdate("examples.metadata", "test", "2.0.0", entities));
+    }
+
+    @Test
+    public void writeConcernFailuresAreReportedWithoutWriteErrors()
+    {
+        MongoBulkWriteException writeConcernFailure = new MongoBulkWriteException(BulkWriteResult.unacknowledged(), Collections.emptyList(), new WriteConcernError(64, "waiting for replication timed out", new BsonDocument()), new ServerAddress());
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(interceptBulkWrites(EntitiesMongo.COLLECTION, args ->
+        {
+            throw writeConcernFailure;
+        }));
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+
+        List<String> errors = store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).startsWith("failed to acknowledge batch [0-2]"));
+        Assertions.assertTrue(errors.get(0).endsWith("waiting for replication timed out"));
+
+        Assertions.assertSame(writeConcernFailure, Assertions.assertThrows(MongoBulkWriteException.class, () -> store.createOrUpdate("examples.metadata", "test", "1.0.0", entities)));
+    }
+
+    @Test
+    public void failedBodyWritesAreReportedApartFromEntityWrites()
+    {
+        MongoBulkWriteException bodiesFailure = new MongoBulkWriteException(BulkWriteResult.acknowledged(0, 0, 0, 0, Collections.emptyList()), Collections.singletonList(new BulkWriteError(121, "Document failed validation", new BsonDocument(), 0)), null, new ServerAddress());
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(interceptBulkWrites(EntityBodies.COLLECTION, args ->
+        {
+            throw bodiesFailure;
+        }), StoredEntity.class, deduplicatingConfiguration());
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+
+        List<String> errors = store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).startsWith("failed to write entity bodies of batch [0-2]"));
+        Assertions.assertEquals(0, mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments());
+
+        Assertions.assertSame(bodiesFailure, Assertions.assertThrows(MongoBulkWriteException.class, () -> store.createOrUpdate("examples.metadata", "test", "1.0.0", entities)));
+    }
+
+    @Test
+    public void bodyWriteConcernFailuresAreNotIgnored()
+    {
+        MongoBulkWriteException writeConcernFailure = new MongoBulkWriteException(BulkWriteResult.unacknowledged(), Collections.emptyList(), new WriteConcernError(64, "waiting for replication timed out", new BsonDocument()), new ServerAddress());
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(interceptBulkWrites(EntityBodies.COLLECTION, args ->
+        {
+            throw writeConcernFailure;
+        }), StoredEntity.class, deduplicatingConfiguration());
+
+        List<String> errors = store.createOrUpdate("examples.metadata", "test", "1.0.0", Arrays.asList(newClassEntity("ClassA", "ClassA")), 10);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).endsWith("waiting for replication timed out"));
+        Assertions.assertEquals(0, mongoProvider.getCollection(EntitiesMongo.COLLECTION).countDocuments());
+    }
+
+    @Test
+    public void deletingVersionsRemovesBodiesNoLongerReferenced()
+    {
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(mongoProvider, StoredEntity.class, deduplicatingConfiguration());
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+        store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10);
+        store.createOrUpdate("examples.metadata", "test", "2.0.0", Arrays.asList(entities.get(0), entities.get(1), newClassEntity("ClassC", "ClassC")), 10);
+        MongoCollection<Document> bodies = mongoProvider.getCollection(EntityBodies.COLLECTION);
+        Assertions.assertEquals(3, bodies.countDocuments());
+
+        // bodies written within the retention period may belong to a load in progress
+        store.delete("examples.metadata", "test", "2.0.0");
+        Assertions.assertEquals(3, bodies.countDocuments());
+
+        store.createOrUpdate("examples.metadata", "test", "2.0.0", Arrays.asList(entities.get(0), newClassEntity("ClassC", "ClassC")), 10);
+        bodies.updateMany(Filters.exists("_id"), Updates.set("updated", new Date(System.currentTimeMillis() - EntityBodies.UNREFERENCED_RETENTION - 1000)));
+        store.delete("examples.metadata", "test", "2.0.0");
+        Assertions.assertEquals(2, bodies.countDocuments());
+        Assertions.assertEquals(new HashSet<>(entities), new HashSet<>(store.getAllEntities("examples.metadata", "test", "1.0.0")));
+
+        store.delete("examples.metadata", "test");
+        Assertions.assertEquals(0, bodies.countDocuments());
+    }
+
+    @Test
+    public void writesUseTheConfiguredBatchSize()
+    {
+        AtomicInteger bulkWrites = new AtomicInteger();
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setWriteBatchSize(2);
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(interceptBulkWrites(EntitiesMongo.COLLECTION, args ->
+        {
+            bulkWrites.incrementAndGet();
+            return null;
+        }), StoredEntity.class, configuration);
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+        {
+            entities.add(newClassEntity("Class" + i, "Class" + i));
+        }
+
+        store.createOrUpdate("examples.metadata", "test", "1.0.0", entities);
+        Assertions.assertEquals(3, bulkWrites.get());
+        Assertions.assertEquals(5, store.getAllEntities("examples.metadata", "test", "1.0.0").size());
+    }
+
+    private MongoDatabase interceptBulkWrites(String collectionName, Function<Object[], Object> bulkWrite)
+    {
+        return proxy(MongoDatabase.class, mongoProvider, (database, method, args) ->
+        {
+            if (!"getCollection".equals(method.getName()) || !collectionName.equals(args[0]))
+            {
+                return invoke(method, database, args);
+            }
+            MongoCollection<?> collection = (MongoCollection<?>) invoke(method, database, args);
+            return proxy(MongoCollection.class, collection, (target, collectionMethod, collectionArgs) ->
+            {
+                if ("bulkWrite".equals(collectionMethod.getName()))
+                {
+                    Object intercepted = bulkWrite.apply(collectionArgs);
+                    if (intercepted != null)
+                    {
+                        return intercepted;
+                    }
+                }
+                return invoke(collectionMethod, target, collectionArgs);
+            });
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, DelegatingHandler<T> handler)
+    {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> handler.invoke(target, method, args));
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(target, args);
+        }
+        catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface DelegatingHandler<T>
+    {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    @Test
+    public void canDeduplicateEntityBodiesAcrossVersions()
+    {
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(mongoProvider, StoredEntity.class, deduplicatingConfiguration());
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+        Assertions.assertTrue(store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10).isEmpty());
+        Assertions.assertTrue(store.createOrUpdate("examples.metadata", "test", "2.0.0", entities, 10).isEmpty());
+
+        Assertions.assertEquals(2, mongoProvider.getCollection(EntityBodies.COLLECTION).countDocuments());
+        Document stored = mongoProvider.getCollection(EntitiesMongo.COLLECTION).find().first();
+        Assertions.assertEquals("entityReference", stored.getString("_type"));
+        Assertions.assertNull(stored.get("data"));
+        Assertions.assertTrue(store.getStoredEntities("examples.metadata", "test", "1.0.0").get(0) instanceof StoredEntityReference);
+
+        Assertions.assertEquals(new HashSet<>(entities), new HashSet<>(store.getAllEntities("examples.metadata", "test", "2.0.0")));
+        Assertions.assertEquals(entities.get(0), store.getEntity("examples.metadata", "test", "1.0.0", "examples::metadata::test::ClassA").get());
+        Assertions.assertEquals(2, store.getEntitiesByPackage("examples.metadata", "test", "1.0.0", "examples::metadata::test", null, false).size());
+        List<String> rawEntities = new ArrayList<>();
+        store.forEachRawEntity("examples.metadata", "test", "1.0.0", rawEntities::add);
+        Assertions.assertEquals(2, rawEntities.size());
+        Assertions.assertEquals(4, store.findReleasedClassifierEntities("meta::pure::metamodel::type::Class").size());
+    }
+
+    @Test
+    public void referencedBodiesAreResolvedPerPageAndMissingBodiesFail()
+    {
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(mongoProvider, StoredEntity.class, deduplicatingConfiguration());
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"), newClassEntity("ClassC", "ClassC"));
+        store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10);
+
+        List<StoredEntity> storedEntities = store.getStoredEntities("examples.metadata", "test", "1.0.0");
+        Assertions.assertEquals(new HashSet<>(entities), new HashSet<>(store.resolvedToEntityDefinitions(storedEntities)));
+
+        mongoProvider.getCollection(EntityBodies.COLLECTION).deleteOne(Filters.exists("_id"));
+        IllegalStateException missing = Assertions.assertThrows(IllegalStateException.class, () -> store.resolvedToEntityDefinitions(storedEntities));
+        Assertions.assertTrue(missing.getMessage().contains("examples.metadata-test-1.0.0"));
+    }
+
+    @Test
+    public void canReadMixedStringDataAndReferenceEntities()
+    {
+        EntitiesMongo<StoredEntity> store = entitiesMongo;
+        store.createOrUpdate("examples.metadata", "test", "1.0.0", Arrays.asList(newClassEntity("ClassA", "ClassA")), 10);
+        new EntitiesMongo<>(mongoProvider, StoredEntity.class, deduplicatingConfiguration()).createOrUpdate("examples.metadata", "test", "1.0.0", Arrays.asList(newClassEntity("ClassB", "ClassB")), 10);
+
+        Assertions.assertEquals(2, store.getAllEntities("examples.metadata", "test", "1.0.0").size());
+        Assertions.assertEquals("ClassB", store.getEntity("examples.metadata", "test", "1.0.0", "examples::metadata::test::ClassB").get().getContent().get("name"));
+    }
+
+    @Test
+    public void canStoreAndReadCompressedEntities() throws IOException
+    {
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setCompressEntities(true);
+        EntitiesMongo<StoredEntity> store = new EntitiesMongo<>(mongoProvider, StoredEntity.class, configuration);
+        List<Entity> entities = Arrays.asList(newClassEntity("ClassA", "ClassA"), newClassEntity("ClassB", "ClassB"));
+        Assertions.assertTrue(store.createOrUpdate("examples.metadata", "test", "1.0.0", entities, 10).isEmpty());
+        entitiesMongo.createOrUpdate("examples.metadata", "test", "1.0.0", Arrays.asList(newClassEntity("ClassC", "ClassC")), 10);
+
+        Document stored = mongoProvider.getCollection(EntitiesMongo.COLLECTION).find(Filters.eq("entityAttributes.path", "examples::metadata::test::ClassA")).first();
+        Assertions.assertEquals("entityStringData", stored.getString("_type"));
+        Assertions.assertEquals("deflate", stored.getString("dataCompression"));
+        Assertions.assertTrue(stored.get("data") instanceof Binary);
+
+        Assertions.assertEquals(3, store.getAllEntities("examples.metadata", "test", "1.0.0").size());
+        Assertions.assertEquals(entities.get(0), store.getEntity("examples.metadata", "test", "1.0.0", "examples::metadata::test::ClassA").get());
+        Assertions.assertEquals(entities.get(1), new ObjectMapper().readValue(store.getRawEntity("examples.metadata", "test", "1.0.0", "examples::metadata::test::ClassB").get(), EntityDefinition.class));
+        Assertions.assertEquals(3, store.getStoredEntities("examples.metadata", "test", "1.0.0").size());
+        Assertions.assertTrue(store.getStoredEntities("examples.metadata", "test", "1.0.0").stream().allMatch(storedEntity -> ((StoredEntityStringData) storedEntity).getData().startsWith("{")));
+
+        configuration.setDeduplicateEntities(true);
+        EntitiesMongo<StoredEntity> deduplicatingStore = new EntitiesMongo<>(mongoProvider, StoredEntity.class, configuration);
+        deduplicatingStore.createOrUpdate("examples.metadata", "test", "2.0.0", entities, 10);
+        Assertions.assertTrue(mongoProvider.getCollection(EntityBodies.COLLECTION).find().first().get("data") instanceof Binary);
+        Assertions.assertEquals(new HashSet<>(entities), new HashSet<>(entitiesMongo.getAllEntities("examples.metadata", "test", "2.0.0")));
+    }
+
+    private EntitiesConfiguration deduplicatingConfiguration()
+    {
+        EntitiesConfiguration configuration = new EntitiesConfiguration();
+        configuration.setDeduplicateEntities(true);
+        return configuration;
+    }
+
+    private Entity newClassEntity(String name, String contentName)
+    {
+        Map<String, Object> content = new HashMap<>();
+        content.put("_type", "class");
+        content.put("name", contentName);
+        content.put("package", "examples::metadata::test");
+        return new EntityDefinition("examples::metadata::test::" + name, "meta::pure::metamodel::type::Class", content);
+    }
 }
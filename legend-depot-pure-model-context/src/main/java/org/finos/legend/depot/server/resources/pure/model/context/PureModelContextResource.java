@@ -19,6 +19,7 @@ import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import java.util.List;
+import java.util.Optional;
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
@@ -31,12 +32,15 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSIONS_DEPENDENCY_ENTITIES_AS_PMCD;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_AS_PMCD;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.EtagBuilder;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.api.pure.model.context.PureModelContextDataWriter;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
 
 @Path("")
@@ -44,12 +48,19 @@ import org.finos.legend.depot.services.api.pure.model.context.PureModelContextSe
 public class PureModelContextResource extends TracingResource
 {
     private final PureModelContextService service;
+    private final EntitiesConfiguration entitiesConfiguration;
 
 
     @Inject
-    public PureModelContextResource(PureModelContextService service)
+    public PureModelContextResource(PureModelContextService service, EntitiesConfiguration entitiesConfiguration)
     {
         this.service = service;
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
+
+    public PureModelContextResource(PureModelContextService service)
+    {
+        this(service, new EntitiesConfiguration());
     }
 
     @GET
@@ -74,7 +85,19 @@ public class PureModelContextResource extends TracingResource
                                             boolean convertToNewProtocol,
                                             @Context Request request)
     {
-        return handle(GET_VERSION_ENTITIES_AS_PMCD, () -> service.getPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive, convertToNewProtocol), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).withProtocolVersion(clientVersion).build());
+        if (this.entitiesConfiguration.isStreamEntities())
+        {
+            // resolved within the output so nothing is loaded when the etag matches, failures still surface before anything is written
+            StreamingOutput output = outputStream -> service.getRenderedPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive, convertToNewProtocol)
+                    .orElseGet(() -> service.streamPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive, convertToNewProtocol))
+                    .writeTo(outputStream);
+            return handleStreaming(GET_VERSION_ENTITIES_AS_PMCD, GET_VERSION_ENTITIES_AS_PMCD, output, request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).withProtocolVersion(clientVersion).build());
+        }
+        return handle(GET_VERSION_ENTITIES_AS_PMCD, () ->
+        {
+            Optional<PureModelContextDataWriter> rendered = service.getRenderedPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive, convertToNewProtocol);
+            return rendered.isPresent() ? (StreamingOutput) rendered.get()::writeTo : service.getPureModelContextData(groupId, artifactId, versionId, clientVersion, transitive, convertToNewProtocol);
+        }, request, () -> EtagBuilder.create().withGAV(groupId, artifactId, versionId).withProtocolVersion(clientVersion).build());
     }
 
     @POST
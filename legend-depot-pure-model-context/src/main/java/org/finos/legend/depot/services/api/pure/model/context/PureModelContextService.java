@@ -19,10 +19,23 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface PureModelContextService
 {
     PureModelContextData getPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, boolean convertToNewProtocol);
 
+    /**
+     * Resolves the version and loads its entities straight away, leaving conversion to protocol to the returned writer
+     * which emits one element at a time. The written output is the same as serializing {@link #getPureModelContextData(String, String, String, String, boolean, boolean)}.
+     */
+    PureModelContextDataWriter streamPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, boolean convertToNewProtocol);
+
+    /**
+     * Serialized pure model context data of a released version, rendered once while it is streamed and then served from the store.
+     * Empty when the request cannot be served from a stored rendering (snapshots, head protocol, rendering disabled or not storable).
+     */
+    Optional<PureModelContextDataWriter> getRenderedPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, boolean convertToNewProtocol);
+
     PureModelContextData getPureModelContextData(List<ProjectVersion> projectDependencies, String clientVersion, boolean transitive, boolean convertToNewProtocol);
 }
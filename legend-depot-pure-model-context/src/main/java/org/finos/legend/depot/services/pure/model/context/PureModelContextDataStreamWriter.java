@@ -0,0 +1,99 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import org.finos.legend.depot.services.api.pure.model.context.PureModelContextDataWriter;
+import org.finos.legend.engine.protocol.pure.m3.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
+
+/**
+ * Writes pure model context data one element at a time, so only the element being written is ever converted to protocol.
+ * Elements are written in the order given; when distinct, entities whose path was already written are skipped (first wins),
+ * as PureModelContextData.Builder.distinct() does.
+ */
+final class PureModelContextDataStreamWriter implements PureModelContextDataWriter
+{
+    private static final String TYPE = "_type";
+    private static final String DATA = "data";
+    private static final String ELEMENTS = "elements";
+    private static final String ORIGIN = "origin";
+    private static final String SERIALIZER = "serializer";
+
+    private final ObjectMapper objectMapper;
+    private final EntityToPureConverter converter;
+    private final PureModelContextData header;
+    private final Iterable<Entity> entities;
+    private final boolean distinct;
+
+    PureModelContextDataStreamWriter(ObjectMapper objectMapper, EntityToPureConverter converter, PureModelContextData header, Iterable<Entity> entities, boolean distinct)
+    {
+        this.objectMapper = objectMapper;
+        this.converter = converter;
+        this.header = header;
+        this.entities = entities;
+        this.distinct = distinct;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException
+    {
+        ObjectWriter elementWriter = this.objectMapper.writerFor(PackageableElement.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(outputStream).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET))
+        {
+            // fields follow the sorted property order of the pure protocol object mapper
+            generator.writeStartObject();
+            generator.writeStringField(TYPE, DATA);
+            generator.writeArrayFieldStart(ELEMENTS);
+            Set<String> written = new HashSet<>();
+            for (Entity entity : this.entities)
+            {
+                // an entity that cannot be converted leaves its path to the next entity with the same path
+                if (!(this.distinct && written.contains(entity.getPath())) && writeIfPossible(generator, elementWriter, entity) && this.distinct)
+                {
+                    written.add(entity.getPath());
+                }
+            }
+            generator.writeEndArray();
+            generator.writeFieldName(ORIGIN);
+            this.objectMapper.writeValue(generator, this.header.getOrigin());
+            generator.writeFieldName(SERIALIZER);
+            this.objectMapper.writeValue(generator, this.header.getSerializer());
+            generator.writeEndObject();
+        }
+    }
+
+    private boolean writeIfPossible(JsonGenerator generator, ObjectWriter elementWriter, Entity entity) throws IOException
+    {
+        Optional<PackageableElement> element = this.converter.fromEntityIfPossible(entity);
+        if (element.isPresent())
+        {
+            elementWriter.writeValue(generator, element.get());
+            return true;
+        }
+        return false;
+    }
+}
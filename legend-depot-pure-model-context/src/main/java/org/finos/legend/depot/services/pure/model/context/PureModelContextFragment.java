@@ -0,0 +1,165 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+
+/**
+ * The entities of one project version in pure model context data element order: by package (elements without a package
+ * first) then name. Entities with the same path keep their original relative order.
+ */
+public final class PureModelContextFragment
+{
+    private static final String PACKAGE_SEPARATOR = "::";
+
+    private final List<Element> elements;
+
+    private PureModelContextFragment(List<Element> elements)
+    {
+        this.elements = elements;
+    }
+
+    public static PureModelContextFragment of(List<Entity> entities)
+    {
+        List<Element> elements = new ArrayList<>(entities.size());
+        entities.forEach(entity -> elements.add(new Element(entity)));
+        elements.sort(PureModelContextFragment::compare);
+        return new PureModelContextFragment(Collections.unmodifiableList(elements));
+    }
+
+    public int size()
+    {
+        return this.elements.size();
+    }
+
+    /**
+     * Merges already sorted fragments in a single pass. The result is the same as stably sorting the fragments entities
+     * concatenated in the given order, so when paths clash the entity from the earlier fragment comes first.
+     */
+    public static Iterable<Entity> merge(List<PureModelContextFragment> fragments)
+    {
+        return () -> new MergeIterator(fragments);
+    }
+
+    static String packageOf(String path)
+    {
+        int separator = path.lastIndexOf(PACKAGE_SEPARATOR);
+        return separator == -1 ? null : path.substring(0, separator);
+    }
+
+    static String nameOf(String path)
+    {
+        int separator = path.lastIndexOf(PACKAGE_SEPARATOR);
+        return separator == -1 ? path : path.substring(separator + PACKAGE_SEPARATOR.length());
+    }
+
+    private static int compare(Element element, Element other)
+    {
+        // mirrors the ordering of PureModelContextData.Builder.sorted()
+        boolean emptyPackage = element.packageName == null || element.packageName.isEmpty();
+        boolean otherEmptyPackage = other.packageName == null || other.packageName.isEmpty();
+        int byPackage = emptyPackage ? (otherEmptyPackage ? 0 : -1) : (otherEmptyPackage ? 1 : element.packageName.compareTo(other.packageName));
+        return byPackage != 0 ? byPackage : element.name.compareTo(other.name);
+    }
+
+    private static final class Element
+    {
+        private final Entity entity;
+        private final String packageName;
+        private final String name;
+
+        private Element(Entity entity)
+        {
+            this.entity = entity;
+            this.packageName = packageOf(entity.getPath());
+            this.name = nameOf(entity.getPath());
+        }
+    }
+
+    private static final class Cursor
+    {
+        private final PureModelContextFragment fragment;
+        private final int order;
+        private int position;
+
+        private Cursor(PureModelContextFragment fragment, int order)
+        {
+            this.fragment = fragment;
+            this.order = order;
+        }
+
+        private Element current()
+        {
+            return this.fragment.elements.get(this.position);
+        }
+
+        private boolean hasCurrent()
+        {
+            return this.position < this.fragment.elements.size();
+        }
+    }
+
+    private static final class MergeIterator implements Iterator<Entity>
+    {
+        private final PriorityQueue<Cursor> cursors;
+
+        private MergeIterator(List<PureModelContextFragment> fragments)
+        {
+            this.cursors = new PriorityQueue<>(Math.max(1, fragments.size()), (cursor, other) ->
+            {
+                int byElement = compare(cursor.current(), other.current());
+                return byElement != 0 ? byElement : Integer.compare(cursor.order, other.order);
+            });
+            for (int i = 0; i < fragments.size(); i++)
+            {
+                Cursor cursor = new Cursor(fragments.get(i), i);
+                if (cursor.hasCurrent())
+                {
+                    this.cursors.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return !this.cursors.isEmpty();
+        }
+
+        @Override
+        public Entity next()
+        {
+            Cursor cursor = this.cursors.poll();
+            if (cursor == null)
+            {
+                throw new NoSuchElementException();
+            }
+            Entity entity = cursor.current().entity;
+            cursor.position++;
+            if (cursor.hasCurrent())
+            {
+                this.cursors.add(cursor);
+            }
+            return entity;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.finos.legend.depot.core.services.cache.WeightedCache;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.slf4j.Logger;
+
+public class PureModelContextFragments implements UpdatedVersionsPoller.Listener
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureModelContextFragments.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String INVALIDATIONS = "_invalidations";
+
+    private final String name;
+    private final WeightedCache<ProjectVersion, WeighedFragment> cache;
+
+    public PureModelContextFragments(String name, long maximumBytes)
+    {
+        this.name = name;
+        this.cache = new WeightedCache<>(name, maximumBytes, fragment -> fragment.weight);
+    }
+
+    public static PureModelContextFragments disabled()
+    {
+        return new PureModelContextFragments(null, 0);
+    }
+
+    public boolean isEnabled()
+    {
+        return cache.isEnabled();
+    }
+
+    public PureModelContextFragment get(ProjectVersion projectVersion, Consumer<Consumer<String>> rawLoader)
+    {
+        if (!isEnabled() || VersionValidator.isSnapshotVersion(projectVersion.getVersionId()))
+        {
+            return load(rawLoader).fragment;
+        }
+        WeighedFragment cached = cache.getIfPresent(projectVersion);
+        if (cached != null)
+        {
+            return cached.fragment;
+        }
+        WeighedFragment loaded = load(rawLoader);
+        cache.put(projectVersion, loaded);
+        return loaded.fragment;
+    }
+
+    public void invalidate(String groupId, String artifactId, String versionId)
+    {
+        cache.invalidate(new ProjectVersion(groupId, artifactId, versionId));
+    }
+
+    @Override
+    public long evictUpdatedVersions(List<ProjectVersion> updated)
+    {
+        if (!isEnabled())
+        {
+            return 0;
+        }
+        updated.forEach(pv ->
+        {
+            cache.invalidate(pv);
+            PrometheusMetricsFactory.getInstance().incrementCount(name + INVALIDATIONS);
+        });
+        if (!updated.isEmpty())
+        {
+            LOGGER.info("invalidated {} updated project versions from {}", updated.size(), name);
+        }
+        return updated.size();
+    }
+
+    long size()
+    {
+        return cache.size();
+    }
+
+    long weight()
+    {
+        return cache.weight();
+    }
+
+    private static WeighedFragment load(Consumer<Consumer<String>> rawLoader)
+    {
+        // fragments are weighed by the stored payload they were parsed from
+        List<Entity> entities = new ArrayList<>();
+        long[] payloadBytes = {0};
+        rawLoader.accept(rawEntity ->
+        {
+            try
+            {
+                entities.add(objectMapper.readValue(rawEntity, EntityDefinition.class));
+                payloadBytes[0] += rawEntity.length();
+            }
+            catch (JsonProcessingException e)
+            {
+                throw new IllegalStateException("Error reading stored entity: " + e.getMessage());
+            }
+        });
+        return new WeighedFragment(PureModelContextFragment.of(entities), (int) Math.min(payloadBytes[0], Integer.MAX_VALUE));
+    }
+
+    private static final class WeighedFragment
+    {
+        private final PureModelContextFragment fragment;
+        private final int weight;
+
+        private WeighedFragment(PureModelContextFragment fragment, int weight)
+        {
+            this.fragment = fragment;
+            this.weight = weight;
+        }
+    }
+}
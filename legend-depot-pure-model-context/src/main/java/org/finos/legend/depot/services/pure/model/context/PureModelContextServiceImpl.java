@@ -17,45 +17,91 @@ package org.finos.legend.depot.services.pure.model.context;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.inject.Inject;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.pure.model.context.PureModelContextDataWriter;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
+import org.finos.legend.depot.store.api.entities.PureModelContexts;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.engine.protocol.pure.PureClientVersions;
 import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import static org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData.newBuilder;
 import org.finos.legend.engine.protocol.pure.m3.PackageableElement;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.finos.legend.sdlc.protocol.pure.v1.EntityToPureConverter;
 import org.finos.legend.sdlc.protocol.pure.v1.PureModelContextDataBuilder;
+import org.slf4j.Logger;
 
 public class PureModelContextServiceImpl implements PureModelContextService
 {
     private static final String PURE = "pure";
     private static final String CALCULATE_COMBINED_PMCD = "calculate combined PMCD";
     private static final String GA_SEPARATOR = ":";
+    private static final String RENDERED_PMCD_HITS = "rendered_pmcd_hits";
+    private static final String RENDERED_PMCD_MISSES = "rendered_pmcd_misses";
+    private static final String HEAD_PROTOCOL_VERSION = "vX_X_X";
+    private static final long STORE_RETRY_INTERVAL = TimeUnit.MINUTES.toMillis(10);
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(PureModelContextServiceImpl.class);
     private static final TracerFactory tracer = TracerFactory.get();
     private final EntitiesService entitiesService;
     private final ProjectsService projectsService;
+    private final PureModelContexts renderedContexts;
+    private final PureModelContextFragments fragments;
     private final EntityToPureConverter entityToPureConverter = new EntityToPureConverter();
     private final EntityToRawPureConverter entityToRawPureConverter = new EntityToRawPureConverter();
+    private final ObjectMapper pmcdMapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+    private volatile long storeDisabledUntil = 0;
 
     @Inject
-    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService)
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService, PureModelContexts renderedContexts, PureModelContextFragments fragments, EntitiesConfiguration configuration)
+    {
+        this(entitiesService, projectsService, configuration.isRenderPureModelContextData() ? renderedContexts : null, fragments);
+    }
+
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService, PureModelContexts renderedContexts, PureModelContextFragments fragments)
     {
         this.entitiesService = entitiesService;
         this.projectsService = projectsService;
+        this.renderedContexts = renderedContexts;
+        this.fragments = fragments;
+    }
+
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService, PureModelContexts renderedContexts)
+    {
+        this(entitiesService, projectsService, renderedContexts, PureModelContextFragments.disabled());
+    }
+
+    public PureModelContextServiceImpl(EntitiesService entitiesService, ProjectsService projectsService)
+    {
+        this(entitiesService, projectsService, null);
     }
 
     @Override
@@ -76,11 +122,136 @@ public class PureModelContextServiceImpl implements PureModelContextService
         return tracer.executeWithTrace(CALCULATE_COMBINED_PMCD, () ->
         {
             PureModelContextData dependenciesPMCD = buildPureModelContextData(dependenciesEntities.stream().flatMap(dep -> dep.getEntities().stream()), groupId, artifactId, version, resolvedClientVersion, convertToNewProtocol);
-            //TODO: fix combining of pure model context data for not converting new tds protocol
             return combinePureModelContextData(pureModelContextData, dependenciesPMCD);
         });
     }
 
+    @Override
+    public PureModelContextDataWriter streamPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, boolean convertToNewProtocol)
+    {
+        String resolvedClientVersion = resolveAndValidateClientVersion(clientVersion);
+        String version = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        List<ProjectVersion> dependencies = transitive ? this.projectsService.resolveAliasesAndCheckVersionsExist(this.projectsService.getDependencies(groupId, artifactId, version, true)) : Collections.emptyList();
+        return streamPureModelContextData(groupId, artifactId, version, resolvedClientVersion, transitive, dependencies, convertToNewProtocol);
+    }
+
+    private PureModelContextDataWriter streamPureModelContextData(String groupId, String artifactId, String version, String resolvedClientVersion, boolean transitive, List<ProjectVersion> dependencies, boolean convertToNewProtocol)
+    {
+        PureModelContextData header = buildPureModelContextData(Stream.empty(), groupId, artifactId, version, resolvedClientVersion, convertToNewProtocol);
+        EntityToPureConverter converter = convertToNewProtocol ? this.entityToPureConverter : this.entityToRawPureConverter;
+        if (!transitive)
+        {
+            return new PureModelContextDataStreamWriter(this.pmcdMapper, converter, header, this.entitiesService.getEntities(groupId, artifactId, version), false);
+        }
+
+        // the transitive context is composed from per version fragments, only versions not seen before need sorting
+        List<PureModelContextFragment> fragments = new ArrayList<>();
+        fragments.add(this.fragments.get(new ProjectVersion(groupId, artifactId, version), raw -> this.entitiesService.forEachRawEntity(groupId, artifactId, version, raw)));
+        dependencies.forEach(dep -> fragments.add(this.fragments.get(dep, raw -> this.entitiesService.forEachRawEntity(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId(), raw))));
+        return new PureModelContextDataStreamWriter(this.pmcdMapper, converter, header, PureModelContextFragment.merge(fragments), true);
+    }
+
+    @Override
+    public Optional<PureModelContextDataWriter> getRenderedPureModelContextData(String groupId, String artifactId, String versionId, String clientVersion, boolean transitive, boolean convertToNewProtocol)
+    {
+        String resolvedClientVersion = resolveAndValidateClientVersion(clientVersion);
+        if (this.renderedContexts == null || HEAD_PROTOCOL_VERSION.equals(resolvedClientVersion))
+        {
+            return Optional.empty();
+        }
+        String version = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        Optional<StoreProjectVersionData> versionData = this.projectsService.find(groupId, artifactId, version);
+        if (!VersionValidator.isValidReleaseVersion(version) || !versionData.isPresent() || versionData.get().isEvicted())
+        {
+            return Optional.empty();
+        }
+
+        // a rendering is only valid for the version documents it was rendered from, refreshing the version or any of its dependencies supersedes it
+        List<StoreProjectVersionData> dependenciesData = transitive ? this.projectsService.resolveAliasesAndFindVersions(this.projectsService.getDependencies(groupId, artifactId, version, true)) : Collections.emptyList();
+        List<ProjectVersion> dependencies = dependenciesData.stream().map(PureModelContextServiceImpl::projectVersion).collect(Collectors.toList());
+        String validity = validity(versionData.get(), dependenciesData);
+        String rendering = String.join(GA_SEPARATOR, resolvedClientVersion, transitive ? "transitive" : "direct", convertToNewProtocol ? "converted" : "raw");
+        Optional<InputStream> stored = this.renderedContexts.find(groupId, artifactId, version, rendering, validity);
+        if (stored.isPresent())
+        {
+            PrometheusMetricsFactory.getInstance().incrementCount(RENDERED_PMCD_HITS);
+            return Optional.of(outputStream ->
+            {
+                try (InputStream inputStream = stored.get())
+                {
+                    inputStream.transferTo(outputStream);
+                }
+            });
+        }
+        PrometheusMetricsFactory.getInstance().incrementCount(RENDERED_PMCD_MISSES);
+        if (System.currentTimeMillis() < this.storeDisabledUntil)
+        {
+            return Optional.empty();
+        }
+        PureModelContextDataWriter writer = streamPureModelContextData(groupId, artifactId, version, resolvedClientVersion, transitive, dependencies, convertToNewProtocol);
+        String description = String.join(GA_SEPARATOR, groupId, artifactId, version, rendering);
+        return Optional.of(outputStream -> render(writer, outputStream, description, () -> this.renderedContexts.store(groupId, artifactId, version, rendering, validity)));
+    }
+
+    private static String validity(StoreProjectVersionData versionData, List<StoreProjectVersionData> dependencies)
+    {
+        StringBuilder validity = new StringBuilder(projectVersion(versionData).getGav()).append('@').append(updated(versionData));
+        dependencies.forEach(dep -> validity.append(',').append(projectVersion(dep).getGav()).append('@').append(updated(dep)));
+        try
+        {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(validity.toString().getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ProjectVersion projectVersion(StoreProjectVersionData versionData)
+    {
+        return new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId());
+    }
+
+    private static long updated(StoreProjectVersionData versionData)
+    {
+        return versionData.getUpdated() == null ? 0L : versionData.getUpdated().getTime();
+    }
+
+    private void render(PureModelContextDataWriter writer, OutputStream outputStream, String description, Supplier<PureModelContexts.Upload> store) throws IOException
+    {
+        PureModelContexts.Upload upload;
+        try
+        {
+            upload = store.get();
+        }
+        catch (Exception e)
+        {
+            storeFailed(description, e);
+            writer.writeTo(outputStream);
+            return;
+        }
+        // the rendering is stored while it is streamed, a failing store never fails the response
+        RenderingOutputStream renderingOutputStream = new RenderingOutputStream(outputStream, upload, description);
+        try
+        {
+            writer.writeTo(renderingOutputStream);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            renderingOutputStream.abort();
+            throw e;
+        }
+        renderingOutputStream.commit();
+    }
+
+    private void storeFailed(String description, Exception e)
+    {
+        // a store that cannot be written to (e.g. a read only replica) is not retried on every request
+        this.storeDisabledUntil = System.currentTimeMillis() + STORE_RETRY_INTERVAL;
+        LOGGER.warn("could not store rendered PMCD {}, renderings are not stored for the next {} ms: {}", description, STORE_RETRY_INTERVAL, e.getMessage());
+    }
+
     @Override
     public PureModelContextData getPureModelContextData(List<ProjectVersion> projectDependencies, String clientVersion, boolean transitive, boolean convertToNewProtocol)
     {
@@ -131,6 +302,97 @@ public class PureModelContextServiceImpl implements PureModelContextService
         return sdlc;
     }
 
+    private class RenderingOutputStream extends OutputStream
+    {
+        private final OutputStream outputStream;
+        private final String description;
+        private PureModelContexts.Upload upload;
+
+        private RenderingOutputStream(OutputStream outputStream, PureModelContexts.Upload upload, String description)
+        {
+            this.outputStream = outputStream;
+            this.upload = upload;
+            this.description = description;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            this.outputStream.write(b);
+            if (this.upload != null)
+            {
+                try
+                {
+                    this.upload.getOutputStream().write(b);
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    uploadFailed(e);
+                }
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            this.outputStream.write(b, off, len);
+            if (this.upload != null)
+            {
+                try
+                {
+                    this.upload.getOutputStream().write(b, off, len);
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    uploadFailed(e);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            this.outputStream.flush();
+        }
+
+        private void commit()
+        {
+            if (this.upload != null)
+            {
+                try
+                {
+                    this.upload.close();
+                }
+                catch (IOException | RuntimeException e)
+                {
+                    uploadFailed(e);
+                }
+            }
+        }
+
+        private void uploadFailed(Exception e)
+        {
+            abort();
+            storeFailed(this.description, e);
+        }
+
+        private void abort()
+        {
+            if (this.upload != null)
+            {
+                try
+                {
+                    this.upload.abort();
+                }
+                catch (RuntimeException e)
+                {
+                    LOGGER.warn("could not abort storing rendered PMCD {}: {}", this.description, e.getMessage());
+                }
+                this.upload = null;
+            }
+        }
+    }
+
     private static class EntityToRawPureConverter extends EntityToPureConverter
     {
         @Override
@@ -152,6 +414,9 @@ public class PureModelContextServiceImpl implements PureModelContextService
             public EntityPackageableElement(Entity entity)
             {
                 this.entity = entity;
+                // the path is what combined contexts de-duplicate and sort on
+                this._package = PureModelContextFragment.packageOf(entity.getPath());
+                this.name = PureModelContextFragment.nameOf(entity.getPath());
             }
 
             @Override
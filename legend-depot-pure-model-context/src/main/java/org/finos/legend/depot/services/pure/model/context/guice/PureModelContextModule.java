@@ -16,6 +16,11 @@
 package org.finos.legend.depot.services.pure.model.context.guice;
 
 import com.google.inject.PrivateModule;
+import com.google.inject.Provides;
+import javax.inject.Singleton;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
+import org.finos.legend.depot.services.pure.model.context.PureModelContextFragments;
 import org.finos.legend.depot.services.pure.model.context.PureModelContextServiceImpl;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
 
@@ -27,4 +32,16 @@ public class PureModelContextModule extends PrivateModule
         bind(PureModelContextService.class).to(PureModelContextServiceImpl.class);
         expose(PureModelContextService.class);
     }
+
+    @Provides
+    @Singleton
+    PureModelContextFragments getPureModelContextFragments(EntitiesConfiguration configuration, UpdatedVersionsPoller poller)
+    {
+        PureModelContextFragments fragments = new PureModelContextFragments("pmcd_fragments_cache", configuration.getPureModelContextFragmentsCacheMaximumBytes());
+        if (fragments.isEnabled())
+        {
+            poller.register(fragments);
+        }
+        return fragments;
+    }
 }
@@ -19,6 +19,7 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.server.resources.pure.model.context.PureModelContextResource;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.projects.ManageProjectsServiceImpl;
@@ -33,12 +34,16 @@ import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
 import org.finos.legend.engine.protocol.pure.m3.type.Class;
+import org.finos.legend.engine.shared.core.ObjectMapperFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -74,6 +79,17 @@ public class TestPureModelContextDataResource extends TestBaseServices
 
     }
 
+    @Test
+    public void canStreamPMCD() throws IOException
+    {
+        PureModelContextResource streamingResource = new PureModelContextResource(new PureModelContextServiceImpl(entitiesService, projectsService), new EntitiesConfiguration(true));
+        Response data = streamingResource.getPureModelContextData("test.legend", "blank-prod", "2.0.0", null, false, true, null);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ((StreamingOutput) data.getEntity()).write(outputStream);
+        PureModelContextData streamed = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports().readValue(outputStream.toByteArray(), PureModelContextData.class);
+        Assertions.assertEquals(2, streamed.getElements().size());
+    }
+
     @Test
     public void loadDependenciesPMCD()
     {
@@ -0,0 +1,86 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.pure.model.context;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.finos.legend.depot.store.model.entities.EntityDefinition;
+import org.finos.legend.engine.protocol.pure.m3.PackageableElement;
+import org.finos.legend.engine.protocol.pure.v1.model.context.PureModelContextData;
+import org.finos.legend.sdlc.domain.model.entity.Entity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPureModelContextFragment
+{
+    private static final String[] PATHS = {"Top", "a::B", "a::b::C", "a::B", "b::A", "a::b::A", "ab::A", "a::b::C", "Another"};
+
+    @Test
+    public void canMergeFragmentsInProtocolOrder()
+    {
+        Random random = new Random(42);
+        List<List<Entity>> projects = new ArrayList<>();
+        for (int project = 0; project < 4; project++)
+        {
+            List<Entity> entities = new ArrayList<>();
+            for (String path : PATHS)
+            {
+                entities.add(new EntityDefinition(path, "project" + project, Collections.emptyMap()));
+            }
+            Collections.shuffle(entities, random);
+            projects.add(entities);
+        }
+
+        List<PureModelContextFragment> fragments = projects.stream().map(PureModelContextFragment::of).collect(Collectors.toList());
+        List<Entity> merged = new ArrayList<>();
+        PureModelContextFragment.merge(fragments).forEach(merged::add);
+
+        List<PathElement> expected = new ArrayList<>();
+        projects.forEach(entities -> entities.forEach(entity -> expected.add(new PathElement(entity))));
+        List<PackageableElement> sorted = PureModelContextData.newBuilder().withElements(expected).sorted().build().getElements();
+
+        Assertions.assertEquals(PATHS.length * projects.size(), merged.size());
+        for (int i = 0; i < merged.size(); i++)
+        {
+            Assertions.assertSame(((PathElement) sorted.get(i)).entity, merged.get(i));
+        }
+        Assertions.assertEquals(Arrays.asList("Another", "Another", "Another", "Another", "Top", "Top", "Top", "Top", "a::B"), merged.subList(0, 9).stream().map(Entity::getPath).collect(Collectors.toList()));
+        Assertions.assertEquals(Arrays.asList("project0", "project0", "project1"), merged.subList(8, 11).stream().map(Entity::getClassifierPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void canMergeNoFragments()
+    {
+        Assertions.assertFalse(PureModelContextFragment.merge(Collections.emptyList()).iterator().hasNext());
+        Assertions.assertFalse(PureModelContextFragment.merge(List.of(PureModelContextFragment.of(Collections.emptyList()))).iterator().hasNext());
+    }
+
+    private static class PathElement extends PackageableElement
+    {
+        private final Entity entity;
+
+        private PathElement(Entity entity)
+        {
+            this.entity = entity;
+            this._package = PureModelContextFragment.packageOf(entity.getPath());
+            this.name = PureModelContextFragment.nameOf(entity.getPath());
+        }
+    }
+}
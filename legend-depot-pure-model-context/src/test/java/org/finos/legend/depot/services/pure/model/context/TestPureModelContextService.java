@@ -18,26 +18,38 @@ package org.finos.legend.depot.services.pure.model.context;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.gridfs.GridFSBuckets;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Optional;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.TestBaseServices;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.projects.UpdatedVersionsPoller;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
+import org.finos.legend.depot.services.api.pure.model.context.PureModelContextDataWriter;
 import org.finos.legend.depot.services.api.pure.model.context.PureModelContextService;
 import org.finos.legend.depot.services.entities.EntitiesServiceImpl;
 import org.finos.legend.depot.services.metrics.query.InMemoryQueryMetricsRegistry;
 import org.finos.legend.depot.services.metrics.query.QueryMetricsServiceImpl;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.UpdatedVersionsPollerImpl;
+import org.finos.legend.depot.store.api.entities.PureModelContexts;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
 import org.finos.legend.depot.store.api.metrics.query.QueryMetrics;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.entities.PureModelContextsMongo;
 import org.finos.legend.depot.store.mongo.entities.test.EntitiesMongoTestUtils;
 import org.finos.legend.depot.store.mongo.metrics.query.QueryMetricsMongo;
 import org.finos.legend.engine.protocol.pure.v1.model.context.AlloySDLC;
@@ -47,6 +59,7 @@ import org.finos.legend.sdlc.domain.model.entity.Entity;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.mock;
 
@@ -218,4 +231,189 @@ public class TestPureModelContextService extends TestBaseServices
     {
         Assertions.assertThrows(IllegalArgumentException.class, () -> getPureModelContextDataAsString("examples.metadata", "test", "lastest", "dummy_version", false, true));
     }
+
+    @Test
+    public void canStreamPureModelContextDataWithTheSameOutput() throws IOException
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test-dependencies", "2.0.0"));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "3.0.0"));
+        ObjectMapper mapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+        for (boolean transitive : new boolean[]{true, false})
+        {
+            for (boolean convertToNewProtocol : new boolean[]{true, false})
+            {
+                Assertions.assertEquals(mapper.writeValueAsString(service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, transitive, convertToNewProtocol)), stream("test.legend", "blank-prod", "2.0.0", transitive, convertToNewProtocol));
+                Assertions.assertEquals(mapper.writeValueAsString(service.getPureModelContextData(TEST_GROUP_ID, "test", BRANCH_SNAPSHOT("master"), CLIENT_VERSION, transitive, convertToNewProtocol)), stream(TEST_GROUP_ID, "test", BRANCH_SNAPSHOT("master"), transitive, convertToNewProtocol));
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.streamPureModelContextData("non.existent.project", "test", "2.0.0", CLIENT_VERSION, true, true));
+    }
+
+    @Test
+    public void canComposeTransitivePureModelContextDataFromCachedFragments() throws IOException
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test-dependencies", "2.0.0"));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "3.0.0"));
+        PureModelContextFragments fragments = new PureModelContextFragments("test_fragments", 10_000_000);
+        PureModelContextService fragmentsService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, null, fragments);
+        ObjectMapper mapper = ObjectMapperFactory.getNewStandardObjectMapperWithPureProtocolExtensionSupports();
+        String expected = mapper.writeValueAsString(service.getPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true, true));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        fragmentsService.streamPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true, true).writeTo(outputStream);
+        Assertions.assertEquals(expected, outputStream.toString(StandardCharsets.UTF_8));
+        long cachedFragments = fragments.size();
+        Assertions.assertTrue(cachedFragments > 1);
+
+        outputStream = new ByteArrayOutputStream();
+        fragmentsService.streamPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true, true).writeTo(outputStream);
+        Assertions.assertEquals(expected, outputStream.toString(StandardCharsets.UTF_8));
+        Assertions.assertEquals(cachedFragments, fragments.size());
+
+        fragments.invalidate("test.legend", "blank-prod", "2.0.0");
+        Assertions.assertEquals(cachedFragments - 1, fragments.size());
+    }
+
+    @Test
+    public void cachedFragmentsAreWeighedByTheirStoredPayloadAndDropWhenUpdated() throws IOException
+    {
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test-dependencies", "2.0.0"));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", "3.0.0"));
+        PureModelContextFragments fragments = new PureModelContextFragments("test_fragments", 10_000_000);
+        PureModelContextService fragmentsService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, null, fragments);
+
+        fragmentsService.streamPureModelContextData("test.legend", "blank-prod", "2.0.0", CLIENT_VERSION, true, true).writeTo(new ByteArrayOutputStream());
+        long payloadBytes = payloadBytes("test.legend", "blank-prod", "2.0.0");
+        Assertions.assertTrue(fragments.size() > 1);
+        Assertions.assertTrue(payloadBytes > 0);
+        Assertions.assertTrue(fragments.weight() > payloadBytes);
+
+        fragments.invalidate("test.legend", "blank-prod", "2.0.0");
+        long dependenciesPayloadBytes = 0;
+        for (ProjectVersion dependency : projectsService.getDependencies("test.legend", "blank-prod", "2.0.0", true))
+        {
+            dependenciesPayloadBytes += payloadBytes(dependency.getGroupId(), dependency.getArtifactId(), dependency.getVersionId());
+        }
+        Assertions.assertEquals(dependenciesPayloadBytes, fragments.weight());
+
+        // refreshing, evicting or purging a version only leaves its mark on the project version
+        StoreProjectVersionData projectVersion = projectsVersionsStore.find("examples.metadata", "test", "3.0.0").get();
+        projectVersion.setEvicted(true);
+        projectsVersionsStore.createOrUpdate(projectVersion);
+        UpdatedVersionsPoller poller = new UpdatedVersionsPollerImpl(projectsVersionsStore);
+        poller.register(fragments);
+        Assertions.assertTrue(poller.poll() > 0);
+        Assertions.assertEquals(0, fragments.size());
+        Assertions.assertEquals(0, fragments.weight());
+    }
+
+    private long payloadBytes(String groupId, String artifactId, String versionId)
+    {
+        long[] payloadBytes = {0};
+        entitiesStore.forEachRawEntity(groupId, artifactId, versionId, rawEntity -> payloadBytes[0] += ((String) rawEntity).length());
+        return payloadBytes[0];
+    }
+
+    private String stream(String groupId, String artifactId, String versionId, boolean transitive, boolean convertToNewProtocol) throws IOException
+    {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.streamPureModelContextData(groupId, artifactId, versionId, CLIENT_VERSION, transitive, convertToNewProtocol).writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void canServeRenderedPureModelContextDataForReleasedVersions() throws IOException
+    {
+        PureModelContextService renderingService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, new PureModelContextsMongo(mongoProvider));
+        String expected = objectMapper.writeValueAsString(service.getPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true));
+
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true)));
+        Assertions.assertEquals(1, renderings());
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "latest", null, true, true)));
+        Assertions.assertEquals(1, renderings());
+
+        read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, false, true));
+        Assertions.assertEquals(2, renderings());
+
+        // the superseded revision is left in place for readers still streaming it
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find(TEST_GROUP_ID, "test", "2.3.1").get());
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true)));
+        Assertions.assertEquals(3, renderings());
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true)));
+        Assertions.assertEquals(3, renderings());
+
+        Assertions.assertFalse(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", BRANCH_SNAPSHOT("master"), null, true, true).isPresent());
+        Assertions.assertFalse(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", CLIENT_VERSION, true, true).isPresent());
+        Assertions.assertFalse(service.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true).isPresent());
+    }
+
+    @Test
+    public void refreshingADependencySupersedesTransitiveRenderings() throws IOException
+    {
+        PureModelContextService renderingService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, new PureModelContextsMongo(mongoProvider));
+        read(renderingService.getRenderedPureModelContextData("org.finos.legend", "second-project", "1.0.1", null, true, true));
+        read(renderingService.getRenderedPureModelContextData("org.finos.legend", "second-project", "1.0.1", null, false, true));
+        Assertions.assertEquals(2, renderings());
+
+        projectsVersionsStore.createOrUpdate(projectsVersionsStore.find("org.finos.legend", "first-project", "1.0.0").get());
+        read(renderingService.getRenderedPureModelContextData("org.finos.legend", "second-project", "1.0.1", null, false, true));
+        Assertions.assertEquals(2, renderings());
+        read(renderingService.getRenderedPureModelContextData("org.finos.legend", "second-project", "1.0.1", null, true, true));
+        Assertions.assertEquals(3, renderings());
+    }
+
+    @Test
+    public void renderingsAreValidatedFromOneBatchAndStoredAsWritten() throws IOException
+    {
+        ProjectsService spiedProjectsService = Mockito.spy(projectsService);
+        PureModelContextsMongo renderedContexts = new PureModelContextsMongo(mongoProvider);
+        PureModelContextService renderingService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, spiedProjectsService), spiedProjectsService, renderedContexts);
+        String expected = read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true));
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true)));
+
+        // the version itself is looked up on its own, its dependencies only ever through the batch
+        ArgumentCaptor<String> artifactIds = ArgumentCaptor.forClass(String.class);
+        Mockito.verify(spiedProjectsService, Mockito.atLeastOnce()).find(Mockito.anyString(), artifactIds.capture(), Mockito.anyString());
+        Assertions.assertTrue(artifactIds.getAllValues().stream().allMatch("test"::equals));
+        Mockito.verify(spiedProjectsService, Mockito.times(2)).resolveAliasesAndFindVersions(Mockito.any());
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        GridFSBuckets.create(mongoProvider, PureModelContextsMongo.BUCKET).downloadToStream(GridFSBuckets.create(mongoProvider, PureModelContextsMongo.BUCKET).find().first().getObjectId(), stored);
+        Assertions.assertEquals(expected, objectMapper.writeValueAsString(objectMapper.readValue(stored.toByteArray(), PureModelContextData.class)));
+    }
+
+    @Test
+    public void renderingIsDisabledByDefault()
+    {
+        PureModelContextService disabledService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, new PureModelContextsMongo(mongoProvider), PureModelContextFragments.disabled(), new EntitiesConfiguration());
+        Assertions.assertFalse(disabledService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true).isPresent());
+    }
+
+    @Test
+    public void failingStoreIsNotRetriedOnEveryRequest() throws IOException
+    {
+        PureModelContexts failingStore = mock(PureModelContexts.class);
+        Mockito.when(failingStore.find(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(failingStore.store(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString())).thenThrow(new IllegalStateException("read only"));
+        PureModelContextService renderingService = new PureModelContextServiceImpl(new EntitiesServiceImpl<>(entitiesStore, projectsService), projectsService, failingStore);
+        String expected = objectMapper.writeValueAsString(service.getPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true));
+
+        // the failed rendering is still streamed to the caller
+        Assertions.assertEquals(expected, read(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true)));
+        Assertions.assertFalse(renderingService.getRenderedPureModelContextData(TEST_GROUP_ID, "test", "2.3.1", null, true, true).isPresent());
+        Mockito.verify(failingStore, Mockito.times(1)).store(Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString(), Mockito.anyString());
+    }
+
+    private long renderings()
+    {
+        return mongoProvider.getCollection(PureModelContextsMongo.BUCKET + ".files").countDocuments();
+    }
+
+    private String read(Optional<PureModelContextDataWriter> rendered) throws IOException
+    {
+        Assertions.assertTrue(rendered.isPresent());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        rendered.get().writeTo(outputStream);
+        return objectMapper.writeValueAsString(objectMapper.readValue(outputStream.toByteArray(), PureModelContextData.class));
+    }
 }
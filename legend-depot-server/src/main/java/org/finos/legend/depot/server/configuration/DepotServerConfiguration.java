@@ -16,9 +16,23 @@
 package org.finos.legend.depot.server.configuration;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import org.finos.legend.depot.core.server.ServerConfiguration;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class DepotServerConfiguration extends ServerConfiguration
 {
+    @JsonProperty("entities")
+    private EntitiesConfiguration entitiesConfiguration;
+
+    public EntitiesConfiguration getEntitiesConfiguration()
+    {
+        return entitiesConfiguration;
+    }
+
+    public void setEntitiesConfiguration(EntitiesConfiguration entitiesConfiguration)
+    {
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
 }
@@ -15,9 +15,23 @@
 
 package org.finos.legend.depot.server.guice;
 
+import com.google.inject.Binder;
 import org.finos.legend.depot.core.server.guice.BaseServerModule;
 import org.finos.legend.depot.server.configuration.DepotServerConfiguration;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 
 public class DepotServerModule extends BaseServerModule<DepotServerConfiguration>
 {
+
+    @Override
+    public void configure(Binder binder)
+    {
+        super.configure(binder);
+        binder.bind(EntitiesConfiguration.class).toProvider(this::getEntitiesConfiguration);
+    }
+
+    private EntitiesConfiguration getEntitiesConfiguration()
+    {
+        return getConfiguration().getEntitiesConfiguration() != null ? getConfiguration().getEntitiesConfiguration() : new EntitiesConfiguration();
+    }
 }
@@ -34,6 +34,8 @@ import io.prometheus.client.exporter.MetricsServlet;
 import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlets.CrossOriginFilter;
 import org.eclipse.jetty.util.component.LifeCycle;
+import org.finos.legend.depot.core.server.compression.CompressedResponseCache;
+import org.finos.legend.depot.core.server.compression.PrecompressedResponseInterceptor;
 import org.finos.legend.depot.core.server.error.CatchAllExceptionMapper;
 import org.finos.legend.depot.core.server.error.DepotServerExceptionMapper;
 import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusMetricsProviderConfiguration;
@@ -122,6 +124,10 @@ public abstract class BaseServer<T extends ServerConfiguration> extends Applicat
         environment.jersey().register(new JsonProcessingExceptionMapper(true));
         environment.jersey().register(new CatchAllExceptionMapper(configuration.getExceptionMapperConfiguration().includeStackTrace()));
         registerJacksonJsonProvider(environment.jersey());
+        if (configuration.getResponseCompressionConfiguration().isEnabled())
+        {
+            environment.jersey().register(new PrecompressedResponseInterceptor(new CompressedResponseCache("compressed_responses_cache", configuration.getResponseCompressionConfiguration().getCacheMaximumBytes(), configuration.getResponseCompressionConfiguration().getCacheMaximumEntryBytes())));
+        }
 
         environment.healthChecks().register("HealthCheck", new HealthCheck()
         {
@@ -20,6 +20,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import io.dropwizard.Configuration;
 import io.federecio.dropwizard.swagger.SwaggerBundleConfiguration;
 
+import org.finos.legend.depot.core.server.compression.configuration.ResponseCompressionConfiguration;
 import org.finos.legend.depot.core.server.error.configuration.ExceptionMapperConfiguration;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.core.services.api.tracing.configuration.OpenTracingConfiguration;
@@ -77,6 +78,9 @@ public class ServerConfiguration extends Configuration
     @JsonProperty("exceptionMapper")
     private ExceptionMapperConfiguration exceptionMapperConfiguration;
 
+    @JsonProperty("responseCompression")
+    private ResponseCompressionConfiguration responseCompressionConfiguration;
+
     public String getDeployment()
     {
         return deployment;
@@ -117,6 +121,16 @@ public class ServerConfiguration extends Configuration
         this.exceptionMapperConfiguration = exceptionMapperConfiguration;
     }
 
+    public ResponseCompressionConfiguration getResponseCompressionConfiguration()
+    {
+        return responseCompressionConfiguration != null ? responseCompressionConfiguration : new ResponseCompressionConfiguration();
+    }
+
+    public void setResponseCompressionConfiguration(ResponseCompressionConfiguration responseCompressionConfiguration)
+    {
+        this.responseCompressionConfiguration = responseCompressionConfiguration;
+    }
+
     public String getSessionCookie()
     {
         return sessionCookie;
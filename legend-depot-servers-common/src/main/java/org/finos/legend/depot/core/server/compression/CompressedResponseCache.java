@@ -0,0 +1,61 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.server.compression;
+
+import org.finos.legend.depot.core.services.cache.WeightedCache;
+
+public class CompressedResponseCache
+{
+    private final long maximumEntryBytes;
+    private final WeightedCache<String, byte[]> cache;
+
+    public CompressedResponseCache(String name, long maximumBytes, long maximumEntryBytes)
+    {
+        this.maximumEntryBytes = Math.min(maximumBytes, maximumEntryBytes);
+        this.cache = new WeightedCache<>(name, maximumEntryBytes > 0 ? maximumBytes : 0, compressed -> compressed.length);
+    }
+
+    public boolean isEnabled()
+    {
+        return cache.isEnabled();
+    }
+
+    /**
+     * Compressed responses larger than this are streamed and never cached.
+     */
+    public long getMaximumEntryBytes()
+    {
+        return maximumEntryBytes;
+    }
+
+    public byte[] getIfPresent(String key)
+    {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, byte[] compressed)
+    {
+        if (compressed.length <= maximumEntryBytes)
+        {
+            cache.put(key, compressed);
+        }
+    }
+
+    long size()
+    {
+        return cache.size();
+    }
+}
@@ -0,0 +1,212 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.server.compression;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips responses carrying an etag, which are only issued for immutable content, once and serves them from a byte cache
+ * keyed by request, etag and encoding. Misses stream through gzip while a copy is kept, up to the cache's entry limit, so
+ * large bodies are never held back. Responses without an etag, or any response when the cache is disabled, are left to
+ * any on the fly compression.
+ */
+@Provider
+public class PrecompressedResponseInterceptor implements WriterInterceptor
+{
+    static final String GZIP = "gzip";
+    private static final String ANY_ENCODING = "*";
+    private static final String VARY = "Vary";
+    private static final String KEY_SEPARATOR = "|";
+
+    private final CompressedResponseCache cache;
+
+    @Context
+    private HttpHeaders requestHeaders;
+
+    @Context
+    private UriInfo uriInfo;
+
+    public PrecompressedResponseInterceptor(CompressedResponseCache cache)
+    {
+        this.cache = cache;
+    }
+
+    PrecompressedResponseInterceptor(CompressedResponseCache cache, HttpHeaders requestHeaders, UriInfo uriInfo)
+    {
+        this(cache);
+        this.requestHeaders = requestHeaders;
+        this.uriInfo = uriInfo;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException, WebApplicationException
+    {
+        // without a cache buffering gains nothing, so the response streams through any on the fly compression
+        Object etag = context.getHeaders().getFirst(HttpHeaders.ETAG);
+        if (!cache.isEnabled() || etag == null || context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING))
+        {
+            context.proceed();
+            return;
+        }
+        addVary(context.getHeaders());
+        if (!accepts(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING), GZIP))
+        {
+            context.proceed();
+            return;
+        }
+        String key = String.join(KEY_SEPARATOR, uriInfo.getRequestUri().toString(), etag.toString(), GZIP);
+        byte[] cached = cache.getIfPresent(key);
+        context.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, GZIP);
+        if (cached != null)
+        {
+            context.getOutputStream().write(cached);
+            return;
+        }
+        byte[] compressed = compress(context, cache.getMaximumEntryBytes());
+        if (compressed != null)
+        {
+            cache.put(key, compressed);
+        }
+    }
+
+    private static void addVary(MultivaluedMap<String, Object> headers)
+    {
+        List<Object> vary = headers.get(VARY);
+        if (vary == null || vary.stream().noneMatch(value -> value.toString().toLowerCase().contains(HttpHeaders.ACCEPT_ENCODING.toLowerCase())))
+        {
+            headers.add(VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+    }
+
+    private static byte[] compress(WriterInterceptorContext context, long maximumCopyBytes) throws IOException
+    {
+        OutputStream outputStream = context.getOutputStream();
+        CopyingOutputStream copying = new CopyingOutputStream(outputStream, maximumCopyBytes);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(copying))
+        {
+            context.setOutputStream(gzip);
+            context.proceed();
+        }
+        finally
+        {
+            context.setOutputStream(outputStream);
+        }
+        return copying.getCopy();
+    }
+
+    static boolean accepts(String acceptEncoding, String encoding)
+    {
+        if (acceptEncoding == null)
+        {
+            return false;
+        }
+        for (String accepted : acceptEncoding.split(","))
+        {
+            String[] parameters = accepted.trim().split(";");
+            String coding = parameters[0].trim();
+            if ((coding.equalsIgnoreCase(encoding) || coding.equals(ANY_ENCODING)) && !isRefused(parameters))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isRefused(String[] parameters)
+    {
+        for (int i = 1; i < parameters.length; i++)
+        {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q="))
+            {
+                try
+                {
+                    return Double.parseDouble(parameter.substring(2)) <= 0;
+                }
+                catch (NumberFormatException e)
+                {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Passes everything through while keeping a copy until it grows past the limit; leaves closing the response to the container.
+     */
+    private static final class CopyingOutputStream extends OutputStream
+    {
+        private final OutputStream delegate;
+        private final long maximumCopyBytes;
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        private CopyingOutputStream(OutputStream delegate, long maximumCopyBytes)
+        {
+            this.delegate = delegate;
+            this.maximumCopyBytes = maximumCopyBytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            delegate.write(b, off, len);
+            if (copy != null && copy.size() + (long) len > maximumCopyBytes)
+            {
+                copy = null;
+            }
+            if (copy != null)
+            {
+                copy.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException
+        {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            delegate.flush();
+        }
+
+        private byte[] getCopy()
+        {
+            return copy != null ? copy.toByteArray() : null;
+        }
+    }
+}
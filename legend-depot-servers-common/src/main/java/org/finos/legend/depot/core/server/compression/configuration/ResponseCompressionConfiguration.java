@@ -0,0 +1,60 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.server.compression.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ResponseCompressionConfiguration
+{
+    @JsonProperty
+    private boolean enabled = false;
+
+    @JsonProperty
+    private long cacheMaximumBytes = 0;
+
+    @JsonProperty
+    private long cacheMaximumEntryBytes = 64L * 1024 * 1024;
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public long getCacheMaximumBytes()
+    {
+        return cacheMaximumBytes;
+    }
+
+    public void setCacheMaximumBytes(long cacheMaximumBytes)
+    {
+        this.cacheMaximumBytes = cacheMaximumBytes;
+    }
+
+    public long getCacheMaximumEntryBytes()
+    {
+        return cacheMaximumEntryBytes;
+    }
+
+    public void setCacheMaximumEntryBytes(long cacheMaximumEntryBytes)
+    {
+        this.cacheMaximumEntryBytes = cacheMaximumEntryBytes;
+    }
+}
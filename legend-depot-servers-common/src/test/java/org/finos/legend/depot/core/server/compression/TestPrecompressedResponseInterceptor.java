@@ -0,0 +1,259 @@
+//  Copyright 2026 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.server.compression;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+public class TestPrecompressedResponseInterceptor
+{
+    private static final String GZIP = PrecompressedResponseInterceptor.GZIP;
+    private static final String BODY = "[{\"path\":\"examples::metadata::test::TestProfile\"}]";
+
+    @Test
+    public void canNegotiateGzipEncoding()
+    {
+        Assertions.assertTrue(PrecompressedResponseInterceptor.accepts("gzip", GZIP));
+        Assertions.assertTrue(PrecompressedResponseInterceptor.accepts("deflate, gzip;q=0.8, br", GZIP));
+        Assertions.assertTrue(PrecompressedResponseInterceptor.accepts("GZIP", GZIP));
+        Assertions.assertTrue(PrecompressedResponseInterceptor.accepts("*", GZIP));
+        Assertions.assertFalse(PrecompressedResponseInterceptor.accepts(null, GZIP));
+        Assertions.assertFalse(PrecompressedResponseInterceptor.accepts("identity", GZIP));
+        Assertions.assertFalse(PrecompressedResponseInterceptor.accepts("br, gzip;q=0", GZIP));
+        Assertions.assertFalse(PrecompressedResponseInterceptor.accepts("gzip;q=invalid", GZIP));
+    }
+
+    @Test
+    public void canCacheCompressedResponses()
+    {
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 10, 4);
+        Assertions.assertNull(cache.getIfPresent("a"));
+        cache.put("a", new byte[]{1, 2, 3, 4});
+        Assertions.assertArrayEquals(new byte[]{1, 2, 3, 4}, cache.getIfPresent("a"));
+
+        cache.put("tooLarge", new byte[5]);
+        Assertions.assertNull(cache.getIfPresent("tooLarge"));
+
+        cache.put("b", new byte[]{1, 2, 3, 4});
+        cache.put("c", new byte[]{1, 2, 3, 4});
+        Assertions.assertTrue(cache.size() <= 2);
+
+        CompressedResponseCache disabled = new CompressedResponseCache("test_uncached_responses", 0, 4);
+        disabled.put("a", new byte[]{1, 2, 3, 4});
+        Assertions.assertNull(disabled.getIfPresent("a"));
+        Assertions.assertEquals(0, disabled.size());
+    }
+
+    @Test
+    public void servesCompressedResponsesFromTheCache() throws Exception
+    {
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 10_000, 10_000);
+        PrecompressedResponseInterceptor interceptor = interceptor(cache, "gzip, deflate");
+        AtomicInteger writes = new AtomicInteger();
+
+        ResponseContext miss = new ResponseContext("\"etag\"", writes);
+        interceptor.aroundWriteTo(miss.context);
+        Assertions.assertEquals(1, writes.get());
+        Assertions.assertEquals(GZIP, miss.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING), miss.headers.get("Vary"));
+        Assertions.assertEquals(BODY, gunzip(miss.body.toByteArray()));
+
+        ResponseContext hit = new ResponseContext("\"etag\"", writes);
+        interceptor.aroundWriteTo(hit.context);
+        Assertions.assertEquals(1, writes.get());
+        Assertions.assertEquals(GZIP, hit.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING), hit.headers.get("Vary"));
+        Assertions.assertArrayEquals(miss.body.toByteArray(), hit.body.toByteArray());
+
+        ResponseContext otherVersion = new ResponseContext("\"other\"", writes);
+        interceptor.aroundWriteTo(otherVersion.context);
+        Assertions.assertEquals(2, writes.get());
+        Assertions.assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void uncompressedResponsesStillVaryOnAcceptEncoding() throws Exception
+    {
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 10_000, 10_000);
+        ResponseContext response = new ResponseContext("\"etag\"", new AtomicInteger());
+        response.headers.add("Vary", HttpHeaders.ACCEPT_ENCODING);
+        interceptor(cache, "identity").aroundWriteTo(response.context);
+        Assertions.assertFalse(response.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(Collections.singletonList(HttpHeaders.ACCEPT_ENCODING), response.headers.get("Vary"));
+        Assertions.assertEquals(BODY, response.body.toString(StandardCharsets.UTF_8.name()));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void ineligibleResponsesPassThrough() throws Exception
+    {
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 10_000, 10_000);
+        AtomicInteger writes = new AtomicInteger();
+
+        ResponseContext withoutEtag = new ResponseContext(null, writes);
+        interceptor(cache, GZIP).aroundWriteTo(withoutEtag.context);
+        assertPassedThrough(withoutEtag);
+
+        ResponseContext alreadyEncoded = new ResponseContext("\"etag\"", writes);
+        alreadyEncoded.headers.putSingle(HttpHeaders.CONTENT_ENCODING, "br");
+        interceptor(cache, GZIP).aroundWriteTo(alreadyEncoded.context);
+        Assertions.assertEquals("br", alreadyEncoded.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertEquals(BODY, alreadyEncoded.body.toString(StandardCharsets.UTF_8.name()));
+
+        ResponseContext uncached = new ResponseContext("\"etag\"", writes);
+        interceptor(new CompressedResponseCache("test_uncached_responses", 0, 10_000), GZIP).aroundWriteTo(uncached.context);
+        assertPassedThrough(uncached);
+
+        Assertions.assertEquals(3, writes.get());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void largeResponsesWithinTheEntryLimitAreCached() throws Exception
+    {
+        // larger than a quarter of the cache, which a segmented cache would evict as soon as it was put
+        byte[] body = hexBody(12 * 1024 * 1024);
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 8 * 1024 * 1024, 8 * 1024 * 1024);
+        AtomicInteger writes = new AtomicInteger();
+
+        ResponseContext miss = new ResponseContext("\"etag\"", writes, body);
+        interceptor(cache, GZIP).aroundWriteTo(miss.context);
+        Assertions.assertTrue(miss.body.size() > 2 * 1024 * 1024);
+        Assertions.assertArrayEquals(body, gunzipBytes(miss.body.toByteArray()));
+
+        ResponseContext hit = new ResponseContext("\"etag\"", writes, body);
+        interceptor(cache, GZIP).aroundWriteTo(hit.context);
+        Assertions.assertEquals(1, writes.get());
+        Assertions.assertEquals(1, cache.size());
+        Assertions.assertArrayEquals(miss.body.toByteArray(), hit.body.toByteArray());
+    }
+
+    @Test
+    public void responsesOverTheEntryLimitStreamWithoutBeingCached() throws Exception
+    {
+        byte[] body = hexBody(4 * 1024 * 1024);
+        CompressedResponseCache cache = new CompressedResponseCache("test_compressed_responses", 64 * 1024 * 1024, 1024 * 1024);
+        AtomicInteger writes = new AtomicInteger();
+
+        for (int i = 1; i <= 2; i++)
+        {
+            ResponseContext response = new ResponseContext("\"etag\"", writes, body);
+            interceptor(cache, GZIP).aroundWriteTo(response.context);
+            Assertions.assertEquals(i, writes.get());
+            Assertions.assertEquals(GZIP, response.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            Assertions.assertArrayEquals(body, gunzipBytes(response.body.toByteArray()));
+        }
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    private static byte[] hexBody(int length)
+    {
+        Random random = new Random(42);
+        byte[] body = new byte[length];
+        for (int i = 0; i < length; i++)
+        {
+            body[i] = (byte) Character.forDigit(random.nextInt(16), 16);
+        }
+        return body;
+    }
+
+    private static void assertPassedThrough(ResponseContext response) throws IOException
+    {
+        Assertions.assertFalse(response.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        Assertions.assertFalse(response.headers.containsKey("Vary"));
+        Assertions.assertEquals(BODY, response.body.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    private static PrecompressedResponseInterceptor interceptor(CompressedResponseCache cache, String acceptEncoding)
+    {
+        HttpHeaders requestHeaders = Mockito.mock(HttpHeaders.class);
+        Mockito.when(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING)).thenReturn(acceptEncoding);
+        UriInfo uriInfo = Mockito.mock(UriInfo.class);
+        Mockito.when(uriInfo.getRequestUri()).thenReturn(URI.create("http://localhost/depot/api/projects/examples.metadata/test/versions/2.3.0"));
+        return new PrecompressedResponseInterceptor(cache, requestHeaders, uriInfo);
+    }
+
+    private static String gunzip(byte[] compressed) throws IOException
+    {
+        return new String(gunzipBytes(compressed), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzipBytes(byte[] compressed) throws IOException
+    {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed)))
+        {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = gzip.read(buffer)) != -1)
+            {
+                output.write(buffer, 0, read);
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static final class ResponseContext
+    {
+        private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final WriterInterceptorContext context = Mockito.mock(WriterInterceptorContext.class);
+        private OutputStream outputStream = body;
+
+        private ResponseContext(String etag, AtomicInteger writes) throws IOException
+        {
+            this(etag, writes, BODY.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private ResponseContext(String etag, AtomicInteger writes, byte[] content) throws IOException
+        {
+            if (etag != null)
+            {
+                headers.putSingle(HttpHeaders.ETAG, etag);
+            }
+            Mockito.when(context.getHeaders()).thenReturn(headers);
+            Mockito.when(context.getOutputStream()).thenAnswer(invocation -> outputStream);
+            Mockito.doAnswer(invocation ->
+            {
+                outputStream = invocation.getArgument(0);
+                return null;
+            }).when(context).setOutputStream(Mockito.any());
+            Mockito.doAnswer(invocation ->
+            {
+                writes.incrementAndGet();
+                outputStream.write(content);
+                return null;
+            }).when(context).proceed();
+        }
+    }
+}
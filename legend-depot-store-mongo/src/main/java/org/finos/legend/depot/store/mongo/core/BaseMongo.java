@@ -215,6 +215,11 @@ public abstract class BaseMongo<T extends HasIdentifier>
         }
     }
 
+    protected T convert(Document document)
+    {
+        return convert(document, documentClass);
+    }
+
     protected List<T> convert(FindIterable iterable)
     {
         List<T> result = new ArrayList<>();
@@ -248,6 +253,11 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return convert(getCollection().find(filter));
     }
 
+    protected void find(Bson filter, Consumer<T> consumer)
+    {
+        getCollection().find(filter).forEach((Consumer<Document>)doc -> consumer.accept(convert(doc, documentClass)));
+    }
+
     protected Optional<T> findOne(Bson filter)
     {
         List<T> result = convert(getCollection().find(filter));
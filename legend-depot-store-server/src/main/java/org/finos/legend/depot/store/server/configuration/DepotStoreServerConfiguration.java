@@ -21,6 +21,7 @@ import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRefr
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryProviderConfiguration;
 import org.finos.legend.depot.core.server.ServerConfiguration;
 import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.notifications.queue.QueueManagerConfiguration;
 
 
@@ -40,6 +41,9 @@ public class DepotStoreServerConfiguration extends ServerConfiguration
     @JsonProperty("artifactsRetentionPolicyConfiguration")
     private ArtifactsRetentionPolicyConfiguration artifactsRetentionPolicyConfiguration;
 
+    @JsonProperty("entities")
+    private EntitiesConfiguration entitiesConfiguration;
+
     public QueueManagerConfiguration getQueueManagerConfiguration()
     {
         return queueManagerConfiguration;
@@ -79,4 +83,14 @@ public class DepotStoreServerConfiguration extends ServerConfiguration
     {
         this.artifactsRetentionPolicyConfiguration = artifactsRetentionPolicyConfiguration;
     }
+
+    public EntitiesConfiguration getEntitiesConfiguration()
+    {
+        return entitiesConfiguration;
+    }
+
+    public void setEntitiesConfiguration(EntitiesConfiguration entitiesConfiguration)
+    {
+        this.entitiesConfiguration = entitiesConfiguration;
+    }
 }
@@ -21,6 +21,7 @@ import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRefr
 import org.finos.legend.depot.services.api.artifacts.configuration.ArtifactsRetentionPolicyConfiguration;
 import org.finos.legend.depot.services.api.artifacts.configuration.IncludeProjectPropertiesConfiguration;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryProviderConfiguration;
+import org.finos.legend.depot.services.api.entities.configuration.EntitiesConfiguration;
 import org.finos.legend.depot.services.api.notifications.queue.QueueManagerConfiguration;
 import org.finos.legend.depot.store.server.configuration.DepotStoreServerConfiguration;
 
@@ -36,6 +37,12 @@ public class DepotStoreServerModule extends BaseServerModule<DepotStoreServerCon
         binder.bind(IncludeProjectPropertiesConfiguration.class).toProvider(this::getIncludePropertiesConfiguration);
         binder.bind(ArtifactsRetentionPolicyConfiguration.class).toProvider(this::getRetentionPolicyConfiguration);
         binder.bind(QueueManagerConfiguration.class).toProvider(this::getQueueManagerConfiguration);
+        binder.bind(EntitiesConfiguration.class).toProvider(this::getEntitiesConfiguration);
+    }
+
+    private EntitiesConfiguration getEntitiesConfiguration()
+    {
+        return getConfiguration().getEntitiesConfiguration() != null ? getConfiguration().getEntitiesConfiguration() : new EntitiesConfiguration();
     }
 
     private QueueManagerConfiguration getQueueManagerConfiguration()